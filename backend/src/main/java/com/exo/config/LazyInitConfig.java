@@ -0,0 +1,48 @@
+package com.exo.config;
+
+import com.exo.controller.AuthController;
+import com.exo.controller.TestController;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Set;
+
+/**
+ * Decides what {@code spring.main.lazy-initialization=true} (the prod
+ * profile) may defer. Only subsystems a visitor never needs are created on
+ * first use: springdoc, the seed sets (resolved by {@link SeedRunner} on its
+ * own thread), the auth and test controllers, and any type marked
+ * {@link AdminOnly}. Everything else stays eager, so the first public request
+ * does not pay for wiring it.
+ * <p>
+ * springdoc pins most of its configuration beans with {@code @Lazy(false)};
+ * its expensive part, scanning every controller into the OpenAPI model, is
+ * deferred to the first {@code /api-docs} request by
+ * {@code springdoc.pre-loading-enabled=false}.
+ */
+@Configuration
+public class LazyInitConfig {
+
+    private static final Set<String> DEFERRED_PACKAGES = Set.of("org.springdoc.", "io.swagger.");
+
+    private static final Set<Class<?>> DEFERRED_TYPES = Set.of(
+            OpenApiConfig.class, SeedSet.class, AuthController.class, TestController.class);
+
+    // Static: consulted by a bean factory post-processor before regular beans exist
+    @Bean
+    public static LazyInitializationExcludeFilter eagerUnlessDeferrable() {
+        return (beanName, beanDefinition, beanType) -> beanType == null || !isDeferrable(beanType);
+    }
+
+    private static boolean isDeferrable(Class<?> type) {
+        String name = type.getName();
+        if (DEFERRED_PACKAGES.stream().anyMatch(name::startsWith)) {
+            return true;
+        }
+        if (type.isAnnotationPresent(AdminOnly.class)) {
+            return true;
+        }
+        return DEFERRED_TYPES.stream().anyMatch(deferred -> deferred.isAssignableFrom(type));
+    }
+}
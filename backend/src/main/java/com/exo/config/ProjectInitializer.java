@@ -1,12 +1,18 @@
 package com.exo.config;
 
+import com.exo.model.OrderedLists;
 import com.exo.model.Project;
 import com.exo.repository.ProjectRepository;
-import jakarta.annotation.PostConstruct;
+import com.exo.service.MediaService;
+import com.exo.service.ProjectService;
+import com.exo.service.SeedStateService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
 
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
@@ -14,65 +20,64 @@ import java.util.stream.Collectors;
 import java.util.Objects;
 
 @Component
-public class ProjectInitializer {
+@Order(2)
+public class ProjectInitializer implements SeedSet {
     
+    private static final String DEFAULT_HEADER = "/assets/defaultProjectHeader.png";
+    private static final String DEFAULT_ICON = "/assets/defaultProjectIcon.png";
+
     @Autowired
     private ProjectRepository projectRepository;
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private MediaService mediaService;
+
+    @Autowired
+    private SeedStateService seedStateService;
     
     @Value("${exo.force.project.init:false}")
     private boolean forceInit;
     
-    @PostConstruct
-    public void init() {
+    @Override
+    public String name() {
+        return "projects";
+    }
+
+    @Override
+    public boolean forced() {
+        return forceInit;
+    }
+
+    @Override
+    public void describe(SeedStateService.Manifest manifest) throws IOException {
+        for (Project project : expectedProjects()) {
+            manifest.add(project.getTitle(), project.getDescription(), project.isFinished(), project.getTechnologies(),
+                    project.getLiveDemoUrl(), project.getProjectWebsiteUrl(), project.getGithub(), project.getInstagram(),
+                    project.getFacebook(), project.getXUsername(), project.getMastodon(), project.getBluesky(),
+                    project.getTiktok(), project.getGalleryImagePaths());
+            manifest.asset(project.getHeaderPictureString(), DEFAULT_HEADER);
+            manifest.asset(project.getIconString(), DEFAULT_ICON);
+            for (String path : project.getGalleryImagePaths()) {
+                manifest.asset(path, DEFAULT_HEADER);
+            }
+        }
+    }
+
+    @Override
+    public void apply() throws IOException {
         // Force reinitialization if environment variable is set
         if (forceInit) {
             System.out.println("Force initialization enabled. Clearing all projects...");
             projectRepository.deleteAll();
         }
         
-        // Define the expected projects with their data
-        List<Project> expectedProjects = Arrays.asList(
-            createProject("EXO", "Project EXO", 
-                "This website: The ✨Etheko Xperience Online✨.",
-                false,
-                "/assets/projects/project-exo-header.png",
-                "/assets/projects/project-exo-logo.png",
-                Arrays.asList("React", "TypeScript", "Spring Boot", "PostgreSQL", "Tailwind CSS"),
-                null,
-                "https://etheko.dev",
-                "https://github.com/Etheko/EXO", null, null, null, null, null, null,
-                Arrays.asList(
-                    "/assets/projects/project-exo-gallery1.png",
-                    "/assets/projects/project-exo-gallery2.png",
-                    "/assets/projects/project-exo-gallery3.png"
-                )),
-
-        createProject("bookmarks-forums", "Bookmarks Forums",
-            "2024 Bookmarks Forums project extends a book-tracking platform into a social web application, letting users not only log their reading habits but also connect around them. Its main purpose is to foster community engagement through posts and chats. Users can follow each other, join book-related communities, and interact in real time.",
-            true,
-            "/assets/projects/bookmarks-forums-header.png",
-            "/assets/projects/bookmarks-forums-logo.png",
-            Arrays.asList("Java", "Spring Boot", "Angular", "Docker", "MySQL", "WebSockets"),
-            null,
-            null,
-            "codeurjc-students/2024-Bookmarks-Forums", null, null, null, null, null, null,
-            Arrays.asList(
-                    "/assets/projects/bookmarks-forums-gallery1.png",
-                    "/assets/projects/bookmarks-forums-gallery2.png",
-                    "/assets/projects/bookmarks-forums-gallery3.png",
-                    "/assets/projects/bookmarks-forums-gallery4.png",
-                    "/assets/projects/bookmarks-forums-gallery5.png",
-                    "/assets/projects/bookmarks-forums-gallery6.png",
-                    "/assets/projects/bookmarks-forums-gallery7.png",
-                    "/assets/projects/bookmarks-forums-gallery8.png",
-                    "/assets/projects/bookmarks-forums-gallery9.png",
-                    "/assets/projects/bookmarks-forums-gallery10.png",
-                    "/assets/projects/bookmarks-forums-gallery11.png"
-            ))
-        );
+        List<Project> expectedProjects = expectedProjects();
         
         // Get existing projects by title for easy lookup
-        Map<String, Project> existingProjects = projectRepository.findAll().stream()
+        Map<String, Project> existingProjects = projectRepository.findAllWithTechnologies().stream()
             .collect(Collectors.toMap(Project::getTitle, project -> project));
         
         // Process each expected project
@@ -99,10 +104,6 @@ public class ProjectInitializer {
                                     existingProject.isFinished() != expectedProject.isFinished();
                 
                 if (needsUpdate) {
-                    // Capture old image paths before modifying them
-                    String oldHeaderPath = existingProject.getHeaderPictureString();
-                    String oldIconPath = existingProject.getIconString();
-
                     existingProject.setDescription(expectedProject.getDescription());
                     existingProject.setHeaderPictureString(expectedProject.getHeaderPictureString());
                     existingProject.setTechnologies(expectedProject.getTechnologies());
@@ -117,32 +118,19 @@ public class ProjectInitializer {
                     existingProject.setTiktok(expectedProject.getTiktok());
                     existingProject.setIconString(expectedProject.getIconString());
                     existingProject.setFinished(expectedProject.isFinished());
+                    OrderedLists.replace(existingProject.getGalleryImagePaths(), expectedProject.getGalleryImagePaths());
                     
-                    try {
-                        // Update blobs only if the path has actually changed
-                        if (!Objects.equals(oldHeaderPath, expectedProject.getHeaderPictureString())) {
-                            existingProject.setHeaderPicture(existingProject.localImageToBlob(expectedProject.getHeaderPictureString()));
-                        }
-
-                        if (!Objects.equals(oldIconPath, expectedProject.getIconString())) {
-                            existingProject.setIcon(existingProject.localImageToBlob(expectedProject.getIconString()));
-                        }
-                    } catch (Exception e) {
-                        System.err.println("Warning: Could not update images for project: " + title + " - " + e.getMessage());
-                    }
+                    // Identical assets resolve to the same hash, so unchanged images are no-ops
+                    attachMedia(existingProject);
                     
-                    projectRepository.save(existingProject);
+                    projectService.save(existingProject);
                     System.out.println("Updated project: " + title);
                 }
             } else {
                 // Create new project
-                try {
-                    projectRepository.save(expectedProject);
-                    System.out.println("Created new project: " + title);
-                } catch (Exception e) {
-                    System.err.println("Error creating project: " + title + " - " + e.getMessage());
-                    e.printStackTrace();
-                }
+                attachMedia(expectedProject);
+                projectService.save(expectedProject);
+                System.out.println("Created new project: " + title);
             }
         }
         
@@ -164,34 +152,77 @@ public class ProjectInitializer {
         System.out.println("Project initialization completed. Total projects: " + projectRepository.count());
     }
     
+    // The projects to seed, with their data
+    private List<Project> expectedProjects() {
+        return Arrays.asList(
+            createProject("EXO", "Project EXO", 
+                "This website: The ✨Etheko Xperience Online✨.",
+                false,
+                "/assets/projects/project-exo-header.png",
+                "/assets/projects/project-exo-logo.png",
+                Arrays.asList("React", "TypeScript", "Spring Boot", "PostgreSQL", "Tailwind CSS"),
+                null,
+                "https://etheko.dev",
+                "https://github.com/Etheko/EXO", null, null, null, null, null, null,
+                Arrays.asList(
+                    "/assets/projects/project-exo-gallery1.png",
+                    "/assets/projects/project-exo-gallery2.png",
+                    "/assets/projects/project-exo-gallery3.png"
+                )),
+
+        createProject("bookmarks-forums", "Bookmarks Forums",
+            "2024 Bookmarks Forums project extends a book-tracking platform into a social web application, letting users not only log their reading habits but also connect around them. Its main purpose is to foster community engagement through posts and chats. Users can follow each other, join book-related communities, and interact in real time.",
+            true,
+            "/assets/projects/bookmarks-forums-header.png",
+            "/assets/projects/bookmarks-forums-logo.png",
+            Arrays.asList("Java", "Spring Boot", "Angular", "Docker", "MySQL", "WebSockets"),
+            null,
+            null,
+            "codeurjc-students/2024-Bookmarks-Forums", null, null, null, null, null, null,
+            Arrays.asList(
+                    "/assets/projects/bookmarks-forums-gallery1.png",
+                    "/assets/projects/bookmarks-forums-gallery2.png",
+                    "/assets/projects/bookmarks-forums-gallery3.png",
+                    "/assets/projects/bookmarks-forums-gallery4.png",
+                    "/assets/projects/bookmarks-forums-gallery5.png",
+                    "/assets/projects/bookmarks-forums-gallery6.png",
+                    "/assets/projects/bookmarks-forums-gallery7.png",
+                    "/assets/projects/bookmarks-forums-gallery8.png",
+                    "/assets/projects/bookmarks-forums-gallery9.png",
+                    "/assets/projects/bookmarks-forums-gallery10.png",
+                    "/assets/projects/bookmarks-forums-gallery11.png"
+            ))
+        );
+    }
+
     private Project createProject(String slug, String title, String description, boolean finished, String headerPicturePath, String iconPath,
                                 List<String> technologies, String liveDemoUrl, String projectWebsiteUrl,
                                 String github, String instagram, String facebook, String xUsername,
                                 String mastodon, String bluesky, String tiktok, List<String> galleryImagePaths) {
-        try {
-            return new Project(title, description, finished, headerPicturePath, technologies, liveDemoUrl, 
-                             projectWebsiteUrl, github, instagram, facebook, xUsername, 
-                             mastodon, bluesky, tiktok, iconPath, galleryImagePaths);
-        } catch (Exception e) {
-            System.err.println("Error creating project object for: " + title + " - " + e.getMessage());
-            // Return a basic project without blob operations if there's an error
-            Project project = new Project();
-            project.setTitle(title);
-            project.setDescription(description);
-            project.setFinished(finished);
-            project.setHeaderPictureString(headerPicturePath);
-            project.setIconString(iconPath);
-            project.setTechnologies(technologies);
-            project.setLiveDemoUrl(liveDemoUrl);
-            project.setProjectWebsiteUrl(projectWebsiteUrl);
-            project.setGithub(github);
-            project.setInstagram(instagram);
-            project.setFacebook(facebook);
-            project.setXUsername(xUsername);
-            project.setMastodon(mastodon);
-            project.setBluesky(bluesky);
-            project.setTiktok(tiktok);
-            return project;
+        return new Project(title, description, finished, headerPicturePath, technologies, liveDemoUrl,
+                         projectWebsiteUrl, github, instagram, facebook, xUsername,
+                         mastodon, bluesky, tiktok, iconPath, galleryImagePaths);
+    }
+
+    /**
+     * Resolves the project's header, icon and gallery paths to media hashes,
+     * importing the bundled assets into the media store only when they changed
+     * since the last seed.
+     */
+    private void attachMedia(Project project) throws IOException {
+        String headerHash = seedStateService.importAsset(project.getHeaderPictureString(), DEFAULT_HEADER);
+        project.setHeaderPictureHash(mediaService.replace(project.getHeaderPictureHash(), headerHash));
+
+        String iconHash = seedStateService.importAsset(project.getIconString(), DEFAULT_ICON);
+        project.setIconHash(mediaService.replace(project.getIconHash(), iconHash));
+
+        List<String> galleryHashes = new ArrayList<>();
+        for (String path : project.getGalleryImagePaths()) {
+            String hash = seedStateService.importAsset(path, DEFAULT_HEADER);
+            mediaService.retain(hash);
+            galleryHashes.add(hash);
         }
+        project.getGalleryHashes().forEach(mediaService::release);
+        OrderedLists.replace(project.getGalleryHashes(), galleryHashes);
     }
 } 
\ No newline at end of file
@@ -0,0 +1,77 @@
+package com.exo.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Replays the public read endpoints against the local server once it is up
+ * ({@code exo.warmup.enabled}), so the filter chain, MVC, Jackson and the
+ * repositories behind them are class-loaded and JIT-compiled before real
+ * visitors arrive. Runs sequentially on one virtual thread to stay out of
+ * their way.
+ */
+@Component
+public class RequestWarmup {
+
+    private static final Logger logger = LoggerFactory.getLogger(RequestWarmup.class);
+
+    @Value("${exo.warmup.enabled:false}")
+    private boolean enabled;
+
+    @Value("${exo.warmup.iterations:200}")
+    private int iterations;
+
+    @Value("${exo.warmup.paths:/api/portfolio,/api/projects,/api/technologies,/api/sections/published,/api/posts/published}")
+    private List<String> paths;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady(ApplicationReadyEvent event) {
+        if (!enabled || !(event.getApplicationContext() instanceof WebServerApplicationContext context)) {
+            return;
+        }
+        int port = context.getWebServer().getPort();
+        Thread.ofVirtual().name("request-warmup").start(() -> warmUp(port));
+    }
+
+    private void warmUp(int port) {
+        HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(2)).build();
+        List<HttpRequest> requests = paths.stream()
+                .map(path -> HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                        .timeout(Duration.ofSeconds(10))
+                        .build())
+                .toList();
+
+        long started = System.nanoTime();
+        int failed = 0;
+        for (int i = 0; i < iterations; i++) {
+            for (HttpRequest request : requests) {
+                try {
+                    int status = http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                    if (status >= 400) {
+                        failed++;
+                    }
+                } catch (IOException e) {
+                    failed++;
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+        logger.info("Warmed up {} endpoints with {} requests ({} failed) in {} ms", requests.size(),
+                iterations * requests.size(), failed, (System.nanoTime() - started) / 1_000_000);
+    }
+}
@@ -0,0 +1,46 @@
+package com.exo.config;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Logs one in {@code exo.sql-log.sample-rate} SQL statements to the
+ * {@code com.exo.sql} logger at DEBUG, in place of {@code spring.jpa.show-sql},
+ * which prints every statement synchronously to stdout. The prod profile
+ * sends that logger through an asynchronous appender (logback-spring.xml).
+ * A rate of 0 leaves Hibernate without an inspector.
+ */
+@Component
+public class SampledStatementLogger implements StatementInspector, HibernatePropertiesCustomizer {
+
+    private static final Logger logger = LoggerFactory.getLogger("com.exo.sql");
+
+    private final int sampleRate;
+
+    public SampledStatementLogger(@Value("${exo.sql-log.sample-rate:0}") int sampleRate) {
+        this.sampleRate = sampleRate;
+    }
+
+    @Override
+    public void customize(Map<String, Object> hibernateProperties) {
+        if (sampleRate > 0) {
+            hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR, this);
+        }
+    }
+
+    @Override
+    public String inspect(String sql) {
+        if (logger.isDebugEnabled() && ThreadLocalRandom.current().nextInt(sampleRate) == 0) {
+            logger.debug(sql);
+        }
+        return sql;
+    }
+}
@@ -2,9 +2,10 @@ package com.exo.config;
 
 import com.exo.model.Section;
 import com.exo.repository.SectionRepository;
-import jakarta.annotation.PostConstruct;
+import com.exo.service.SeedStateService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
 
 import java.util.Arrays;
@@ -14,7 +15,8 @@ import java.util.stream.Collectors;
 import java.util.Objects;
 
 @Component
-public class SectionInitializer {
+@Order(3)
+public class SectionInitializer implements SeedSet {
     
     @Autowired
     private SectionRepository sectionRepository;
@@ -22,24 +24,33 @@ public class SectionInitializer {
     @Value("${exo.force.section.init:false}")
     private boolean forceInit;
     
-    @PostConstruct
-    public void init() {
+    @Override
+    public String name() {
+        return "sections";
+    }
+
+    @Override
+    public boolean forced() {
+        return forceInit;
+    }
+
+    @Override
+    public void describe(SeedStateService.Manifest manifest) {
+        for (Section section : expectedSections()) {
+            manifest.add(section.getSlug(), section.getTitle(), section.getDescription(), section.getContent(),
+                    section.getDisplayOrder(), section.getPublished(), section.getComponentType());
+        }
+    }
+
+    @Override
+    public void apply() {
         // Force reinitialization if environment variable is set
         if (forceInit) {
             System.out.println("Force initialization enabled. Clearing all sections...");
             sectionRepository.deleteAll();
         }
         
-        // Define the expected sections with their data
-        List<Section> expectedSections = Arrays.asList(
-            createSection("init-etheko", "EXEC::Etheko()", "// who am I?", "", 0, true, "about"),
-            createSection("projects", "IMPORT::Projects.log", "// my projects", "", 1, true, "projects"),
-            createSection("modules-loaded", "NODE_MODULES_LOADED", "// what I use", "", 2, true, "tech-stack"),
-            createSection("skills-loaded", "UPGRADE.SKILLS_LOADED", "// my skills and certs  (Agile, DevOps, Cyber, Certs...)", "", 3, true, "skills-certs"),
-            createSection("ux-lab", "KERNEL.UX.LAB{👾}", "// cool thingies", "", 4, false, "design-zone"),
-            createSection("blog", "ECHO.blog.txt", "// blog", "", 6, false, "blog"),
-            createSection("contact", ".CONTACT.txt", "// CV & Links", "", 7, false, "contact")
-        );
+        List<Section> expectedSections = expectedSections();
         
         // Get existing sections by slug for easy lookup
         Map<String, Section> existingSections = sectionRepository.findAll().stream()
@@ -94,6 +105,19 @@ public class SectionInitializer {
         System.out.println("Section initialization completed. Total sections: " + sectionRepository.count());
     }
     
+    // The sections to seed, with their data
+    private List<Section> expectedSections() {
+        return Arrays.asList(
+            createSection("init-etheko", "EXEC::Etheko()", "// who am I?", "", 0, true, "about"),
+            createSection("projects", "IMPORT::Projects.log", "// my projects", "", 1, true, "projects"),
+            createSection("modules-loaded", "NODE_MODULES_LOADED", "// what I use", "", 2, true, "tech-stack"),
+            createSection("skills-loaded", "UPGRADE.SKILLS_LOADED", "// my skills and certs  (Agile, DevOps, Cyber, Certs...)", "", 3, true, "skills-certs"),
+            createSection("ux-lab", "KERNEL.UX.LAB{👾}", "// cool thingies", "", 4, false, "design-zone"),
+            createSection("blog", "ECHO.blog.txt", "// blog", "", 6, false, "blog"),
+            createSection("contact", ".CONTACT.txt", "// CV & Links", "", 7, false, "contact")
+        );
+    }
+    
     private Section createSection(String slug, String title, String description, String content, int displayOrder, boolean published, String componentType) {
         Section section = new Section();
         section.setSlug(slug);
@@ -79,8 +79,14 @@ public class SecurityConfig {
                 .requestMatchers(HttpMethod.PUT, "/api/posts/**").hasRole("ADMIN")
                 .requestMatchers(HttpMethod.DELETE, "/api/posts/**").hasRole("ADMIN")
                 
+                // Search endpoints
+                .requestMatchers(HttpMethod.GET, "/api/search/**").permitAll()
+                .requestMatchers(HttpMethod.GET, "/api/autocomplete/**").permitAll()
+                .requestMatchers(HttpMethod.GET, "/api/portfolio").permitAll()
+
                 // Documentation and monitoring
                 .requestMatchers("/swagger-ui/**", "/v3/api-docs/**").permitAll()
+                .requestMatchers("/actuator/metrics/**").hasRole("ADMIN")
                 .requestMatchers("/actuator/**").permitAll()
                 
                 // Static resources
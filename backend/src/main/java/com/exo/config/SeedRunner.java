@@ -0,0 +1,108 @@
+package com.exo.config;
+
+import com.exo.service.SeedStateService;
+import com.exo.service.TechnologyStatistics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Applies the {@link SeedSet}s once the application is up. Each set's
+ * manifest is checksummed from its definitions and asset metadata; unchanged
+ * sets are skipped, and the changed ones are applied together in a single
+ * transaction that also records their new checksums. A failure rolls every
+ * set back, so the next boot retries them all.
+ * <p>
+ * By default this runs on a background virtual thread, so startup time no
+ * longer depends on the size of the bundled assets.
+ */
+@Component
+public class SeedRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(SeedRunner.class);
+
+    // Resolved in run(), so with lazy initialization the seed sets are created off the startup thread
+    @Autowired
+    private ObjectProvider<SeedSet> seedSets;
+
+    @Autowired
+    private SeedStateService seedStateService;
+
+    @Autowired
+    private TechnologyStatistics technologyStatistics;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${exo.seed.async:true}")
+    private boolean async;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+        if (async) {
+            Thread.ofVirtual().name("seed-runner").start(this::run);
+        } else {
+            run();
+        }
+    }
+
+    public void run() {
+        long started = System.nanoTime();
+        try {
+            List<SeedSet> seedSets = this.seedSets.orderedStream().toList();
+            Map<SeedSet, String> pending = new LinkedHashMap<>();
+            List<SeedStateService.Asset> assets = new ArrayList<>();
+            for (SeedSet seedSet : seedSets) {
+                SeedStateService.Manifest manifest = seedStateService.manifest();
+                seedSet.describe(manifest);
+                String checksum = manifest.checksum();
+                if (seedSet.forced() || !seedStateService.isCurrent(seedSet.name(), checksum)) {
+                    pending.put(seedSet, checksum);
+                    assets.addAll(manifest.assets());
+                }
+            }
+
+            if (pending.isEmpty()) {
+                logger.info("All {} seed sets up to date ({} ms)", seedSets.size(), elapsedMillis(started));
+                return;
+            }
+
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                try {
+                    // Changed assets are ingested up front in parallel; apply() then finds them imported
+                    seedStateService.prefetch(assets);
+                    for (Map.Entry<SeedSet, String> entry : pending.entrySet()) {
+                        entry.getKey().apply();
+                        seedStateService.record(entry.getKey().name(), entry.getValue());
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            // Seeders write through repositories that do not report to the statistics
+            technologyStatistics.reconcile();
+            logger.info("Applied seed sets {} ({} ms)",
+                    pending.keySet().stream().map(SeedSet::name).toList(), elapsedMillis(started));
+        } catch (Exception e) {
+            logger.error("Seeding failed; no seed set was recorded and all will be retried on the next start", e);
+        }
+    }
+
+    private static long elapsedMillis(long started) {
+        return (System.nanoTime() - started) / 1_000_000;
+    }
+}
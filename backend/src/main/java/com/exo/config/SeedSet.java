@@ -0,0 +1,32 @@
+package com.exo.config;
+
+import com.exo.service.SeedStateService;
+
+import java.io.IOException;
+
+/**
+ * Data the application seeds on startup. {@link SeedRunner} applies a set
+ * only when its manifest checksum differs from the last applied one, or when
+ * the set is forced; sets run in {@link org.springframework.core.annotation.Order} order.
+ */
+public interface SeedSet {
+
+    String name();
+
+    /**
+     * Whether to clear and reapply the set even if it is unchanged.
+     */
+    boolean forced();
+
+    /**
+     * Adds everything {@link #apply()} would write, including the bundled
+     * assets it references, to {@code manifest}. Must not touch the database.
+     */
+    void describe(SeedStateService.Manifest manifest) throws IOException;
+
+    /**
+     * Brings the database in line with the seed data. Runs inside the
+     * runner's transaction.
+     */
+    void apply() throws IOException;
+}
@@ -1,12 +1,16 @@
 package com.exo.config;
 
 import com.exo.model.Technology;
+import com.exo.repository.ProjectRepository;
 import com.exo.repository.TechnologyRepository;
-import jakarta.annotation.PostConstruct;
+import com.exo.service.MediaService;
+import com.exo.service.SeedStateService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
 
+import java.io.IOException;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
@@ -14,22 +18,103 @@ import java.util.Objects;
 import java.util.stream.Collectors;
 
 @Component
-public class TechnologyInitializer {
+@Order(1) // Seeded technologies must exist before projects link to them
+public class TechnologyInitializer implements SeedSet {
+
+    private static final String DEFAULT_ICON = "/assets/defaultProjectIcon.png";
 
     @Autowired
     private TechnologyRepository technologyRepository;
 
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private MediaService mediaService;
+
+    @Autowired
+    private SeedStateService seedStateService;
+
     @Value("${exo.force.technology.init:false}")
     private boolean forceInit;
 
-    @PostConstruct
-    public void init() {
+    @Override
+    public String name() {
+        return "technologies";
+    }
+
+    @Override
+    public boolean forced() {
+        return forceInit;
+    }
+
+    @Override
+    public void describe(SeedStateService.Manifest manifest) throws IOException {
+        for (Technology technology : expectedTechnologies()) {
+            manifest.add(technology.getName(), technology.getDescription(), technology.getLink(),
+                    technology.getIconString(), technology.getCategory());
+            manifest.asset(technology.getIconString(), DEFAULT_ICON);
+        }
+    }
+
+    @Override
+    public void apply() throws IOException {
         if (forceInit) {
-            System.out.println("Forcing technology initialization. Deleting all technologies...");
-            technologyRepository.deleteAll();
+            System.out.println("Forcing technology initialization. Deleting all technologies not linked to projects...");
+            technologyRepository.deleteAll(technologyRepository.findAll().stream()
+                    .filter(t -> !projectRepository.existsByTechnologyLinksId(t.getId()))
+                    .collect(Collectors.toList()));
+        }
+
+        List<Technology> expectedTechnologies = expectedTechnologies();
+
+        Map<String, Technology> existingTechnologies = technologyRepository.findAll().stream()
+                .collect(Collectors.toMap(Technology::getName, t -> t));
+
+        for (Technology expected : expectedTechnologies) {
+            Technology existing = existingTechnologies.get(expected.getName());
+            if (existing != null) {
+                boolean needsUpdate = !Objects.equals(existing.getDescription(), expected.getDescription()) ||
+                        !Objects.equals(existing.getLink(), expected.getLink()) ||
+                        !Objects.equals(existing.getIconString(), expected.getIconString()) ||
+                        !Objects.equals(existing.getCategory(), expected.getCategory());
+
+                if (needsUpdate) {
+                    existing.setDescription(expected.getDescription());
+                    existing.setLink(expected.getLink());
+                    existing.setIconString(expected.getIconString());
+                    existing.setCategory(expected.getCategory());
+                    String iconHash = seedStateService.importAsset(expected.getIconString(), DEFAULT_ICON);
+                    existing.setIconHash(mediaService.replace(existing.getIconHash(), iconHash));
+                    technologyRepository.save(existing);
+                    System.out.println("Updated technology: " + existing.getName());
+                }
+            } else {
+                expected.setIconHash(mediaService.replace(null, seedStateService.importAsset(expected.getIconString(), DEFAULT_ICON)));
+                technologyRepository.save(expected);
+                System.out.println("Created new technology: " + expected.getName());
+            }
+        }
+
+        List<String> expectedNames = expectedTechnologies.stream()
+                .map(Technology::getName)
+                .collect(Collectors.toList());
+        
+        List<Technology> toDelete = existingTechnologies.values().stream()
+                .filter(t -> !expectedNames.contains(t.getName()))
+                .filter(t -> !projectRepository.existsByTechnologyLinksId(t.getId())) // Still linked to a project
+                .collect(Collectors.toList());
+
+        if (!toDelete.isEmpty()) {
+            technologyRepository.deleteAll(toDelete);
+            System.out.println("Deleted " + toDelete.size() + " obsolete technologies.");
         }
 
-        List<Technology> expectedTechnologies = Arrays.asList(
+        System.out.println("Technology initialization completed. Total technologies: " + technologyRepository.count());
+    }
+
+    private List<Technology> expectedTechnologies() {
+        return Arrays.asList(
                 createTechnology("Java", "The powerhouse of enterprise software, used for building robust, large-scale applications.\nIt's the language I'm most familiar with and the one I've used the most.\nHowever, as you will be able to guess by the wide range of other tools I use, it's not the only one I use.", "https://www.java.com", "/assets/technologies/java.png", "Dev"),
                  
                 createTechnology("Spring Boot", "My go-to framework for making web apps' backends.\nI've used this for making the backends of Bookmarks Forums, my final degree project, Bookmarks and this website.", "https://spring.io/projects/spring-boot", "/assets/technologies/spring-boot.png", "Dev"),
@@ -88,67 +173,9 @@ public class TechnologyInitializer {
 
                 createTechnology("Microsoft 365", "who tf doesn't know how to use office?", "https://www.microsoft.com/en-us/microsoft-365", "/assets/technologies/microsoft-365.png", "Other")
         );
-
-        Map<String, Technology> existingTechnologies = technologyRepository.findAll().stream()
-                .collect(Collectors.toMap(Technology::getName, t -> t));
-
-        for (Technology expected : expectedTechnologies) {
-            Technology existing = existingTechnologies.get(expected.getName());
-            if (existing != null) {
-                boolean needsUpdate = !Objects.equals(existing.getDescription(), expected.getDescription()) ||
-                        !Objects.equals(existing.getLink(), expected.getLink()) ||
-                        !Objects.equals(existing.getIconString(), expected.getIconString());
-
-                if (needsUpdate) {
-                    existing.setDescription(expected.getDescription());
-                    existing.setLink(expected.getLink());
-                    existing.setIconString(expected.getIconString());
-                    try {
-                        existing.setIcon(existing.localImageToBlob(expected.getIconString()));
-                    } catch (Exception e) {
-                        System.err.println("Warning: Could not update icon for technology: " + existing.getName() + " - " + e.getMessage());
-                    }
-                    technologyRepository.save(existing);
-                    System.out.println("Updated technology: " + existing.getName());
-                }
-            } else {
-                try {
-                    technologyRepository.save(expected);
-                    System.out.println("Created new technology: " + expected.getName());
-                } catch (Exception e) {
-                    System.err.println("Error creating technology: " + expected.getName() + " - " + e.getMessage());
-                }
-            }
-        }
-
-        List<String> expectedNames = expectedTechnologies.stream()
-                .map(Technology::getName)
-                .collect(Collectors.toList());
-        
-        List<Technology> toDelete = existingTechnologies.values().stream()
-                .filter(t -> !expectedNames.contains(t.getName()))
-                .collect(Collectors.toList());
-
-        if (!toDelete.isEmpty()) {
-            technologyRepository.deleteAll(toDelete);
-            System.out.println("Deleted " + toDelete.size() + " obsolete technologies.");
-        }
-
-        System.out.println("Technology initialization completed. Total technologies: " + technologyRepository.count());
     }
 
     private Technology createTechnology(String name, String description, String link, String iconPath, String category) {
-        try {
-            return new Technology(name, description, link, iconPath, category);
-        } catch (Exception e) {
-            System.err.println("Error creating technology object for: " + name + " - " + e.getMessage());
-            Technology tech = new Technology();
-            tech.setName(name);
-            tech.setDescription(description);
-            tech.setLink(link);
-            tech.setIconString(iconPath);
-            tech.setCategory(category);
-            return tech;
-        }
+        return new Technology(name, description, link, iconPath, category);
     }
 }
@@ -0,0 +1,35 @@
+package com.exo.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Ends a class-data-sharing training run ({@code exo.startup.training-run=true})
+ * as soon as the context has started. Every class needed to wire the
+ * application and start Tomcat is loaded by then, and stopping before
+ * {@code ApplicationReadyEvent} keeps the run away from the database
+ * (seeding, index rebuilds), so the image build needs none.
+ * <p>
+ * A property rather than a profile: with AOT, profile conditions are fixed at build time.
+ */
+@Component
+public class TrainingRunExit implements ApplicationListener<ApplicationStartedEvent> {
+
+    private static final Logger logger = LoggerFactory.getLogger(TrainingRunExit.class);
+
+    @Value("${exo.startup.training-run:false}")
+    private boolean trainingRun;
+
+    @Override
+    public void onApplicationEvent(ApplicationStartedEvent event) {
+        if (trainingRun) {
+            logger.info("Training run complete after {} ms; exiting", event.getTimeTaken().toMillis());
+            System.exit(SpringApplication.exit(event.getApplicationContext()));
+        }
+    }
+}
@@ -1,8 +1,11 @@
 package com.exo.config;
 
+import com.exo.model.OrderedLists;
 import com.exo.model.Role;
 import com.exo.model.User;
 import com.exo.repository.UserRepository;
+import com.exo.service.SeedStateService;
+import com.exo.service.UserService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -14,92 +17,113 @@ import java.util.Objects;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
 
 @Component
+@Order(0)
 @RequiredArgsConstructor
 @Slf4j
-public class UserInitializer {
+public class UserInitializer implements SeedSet {
+
+    // IMPORTANT: Use a strong password in production and store it securely
+    private static final String DEFAULT_PASSWORD = "admin";
 
     private final UserRepository userRepository;
+    private final UserService userService;
     private final PasswordEncoder passwordEncoder;
     
     @Value("${exo.force.user.init:false}")
     private boolean forceInit;
 
-    @jakarta.annotation.PostConstruct
-    public void init() {
-        try {
-            // Force reinitialization if environment variable is set
-            if (forceInit) {
-                log.info("Force initialization enabled. Clearing all users...");
-                userRepository.deleteAll();
-            }
-            
-            // Define the expected user data
-            User expectedUser = createExpectedUser();
-            
-            // Check if user exists
-            User existingUser = userRepository.findByUsername("etheko");
+    @Override
+    public String name() {
+        return "users";
+    }
+
+    @Override
+    public boolean forced() {
+        return forceInit;
+    }
+
+    @Override
+    public void describe(SeedStateService.Manifest manifest) {
+        User user = createExpectedUser();
+        manifest.add(user.getUsername(), user.getNick(), user.getEmail(), user.getRole(), user.getDateOfBirth(),
+                user.getRealName(), user.getFirstSurname(), user.getSecondSurname(), user.getGenderIdentity(),
+                user.getDistinctivePhrase(), user.getDescription(), user.getGithub(), user.getLinkedIn(),
+                user.getLikes(), user.getDislikes());
+    }
+
+    @Override
+    public void apply() {
+        // Force reinitialization if environment variable is set
+        if (forceInit) {
+            log.info("Force initialization enabled. Clearing all users...");
+            userRepository.deleteAll();
+        }
+        
+        // Define the expected user data
+        User expectedUser = createExpectedUser();
+        
+        // Check if user exists
+        // Loaded with its collections: likes/dislikes are compared below
+        User existingUser = userService.findByUsername("etheko").orElse(null);
+        
+        if (existingUser != null) {
+            // Update existing user if data has changed
+            boolean needsUpdate = !Objects.equals(existingUser.getNick(), expectedUser.getNick()) ||
+                                !Objects.equals(existingUser.getEmail(), expectedUser.getEmail()) ||
+                                !Objects.equals(existingUser.getRealName(), expectedUser.getRealName()) ||
+                                !Objects.equals(existingUser.getFirstSurname(), expectedUser.getFirstSurname()) ||
+                                !Objects.equals(existingUser.getSecondSurname(), expectedUser.getSecondSurname()) ||
+                                !Objects.equals(existingUser.getGenderIdentity(), expectedUser.getGenderIdentity()) ||
+                                !Objects.equals(existingUser.getDateOfBirth(), expectedUser.getDateOfBirth()) ||
+                                !Objects.equals(existingUser.getDistinctivePhrase(), expectedUser.getDistinctivePhrase()) ||
+                                !Objects.equals(existingUser.getDescription(), expectedUser.getDescription()) ||
+                                !Objects.equals(existingUser.getGithub(), expectedUser.getGithub()) ||
+                                !Objects.equals(existingUser.getLinkedIn(), expectedUser.getLinkedIn()) ||
+                                !Objects.equals(existingUser.getLikes(), expectedUser.getLikes()) ||
+                                !Objects.equals(existingUser.getDislikes(), expectedUser.getDislikes());
             
-            if (existingUser != null) {
-                // Update existing user if data has changed
-                boolean needsUpdate = !Objects.equals(existingUser.getNick(), expectedUser.getNick()) ||
-                                    !Objects.equals(existingUser.getEmail(), expectedUser.getEmail()) ||
-                                    !Objects.equals(existingUser.getRealName(), expectedUser.getRealName()) ||
-                                    !Objects.equals(existingUser.getFirstSurname(), expectedUser.getFirstSurname()) ||
-                                    !Objects.equals(existingUser.getSecondSurname(), expectedUser.getSecondSurname()) ||
-                                    !Objects.equals(existingUser.getGenderIdentity(), expectedUser.getGenderIdentity()) ||
-                                    !Objects.equals(existingUser.getDateOfBirth(), expectedUser.getDateOfBirth()) ||
-                                    !Objects.equals(existingUser.getDistinctivePhrase(), expectedUser.getDistinctivePhrase()) ||
-                                    !Objects.equals(existingUser.getDescription(), expectedUser.getDescription()) ||
-                                    !Objects.equals(existingUser.getGithub(), expectedUser.getGithub()) ||
-                                    !Objects.equals(existingUser.getLinkedIn(), expectedUser.getLinkedIn()) ||
-                                    !Objects.equals(existingUser.getLikes(), expectedUser.getLikes()) ||
-                                    !Objects.equals(existingUser.getDislikes(), expectedUser.getDislikes());
+            if (needsUpdate) {
+                log.info("Updating existing user 'etheko' with new data");
+                
+                // Update basic info
+                existingUser.setNick(expectedUser.getNick());
+                existingUser.setEmail(expectedUser.getEmail());
+                existingUser.setRealName(expectedUser.getRealName());
+                existingUser.setFirstSurname(expectedUser.getFirstSurname());
+                existingUser.setSecondSurname(expectedUser.getSecondSurname());
+                existingUser.setGenderIdentity(expectedUser.getGenderIdentity());
+                existingUser.setDateOfBirth(expectedUser.getDateOfBirth());
+                existingUser.setDistinctivePhrase(expectedUser.getDistinctivePhrase());
+                existingUser.setDescription(expectedUser.getDescription());
                 
-                if (needsUpdate) {
-                    log.info("Updating existing user 'etheko' with new data");
-                    
-                    // Update basic info
-                    existingUser.setNick(expectedUser.getNick());
-                    existingUser.setEmail(expectedUser.getEmail());
-                    existingUser.setRealName(expectedUser.getRealName());
-                    existingUser.setFirstSurname(expectedUser.getFirstSurname());
-                    existingUser.setSecondSurname(expectedUser.getSecondSurname());
-                    existingUser.setGenderIdentity(expectedUser.getGenderIdentity());
-                    existingUser.setDateOfBirth(expectedUser.getDateOfBirth());
-                    existingUser.setDistinctivePhrase(expectedUser.getDistinctivePhrase());
-                    existingUser.setDescription(expectedUser.getDescription());
-                    
-                    // Update social links
-                    existingUser.setGithub(expectedUser.getGithub());
-                    existingUser.setLinkedIn(expectedUser.getLinkedIn());
-                    
-                    // Clear and update likes/dislikes
-                    existingUser.getLikes().clear();
-                    existingUser.getDislikes().clear();
-                    existingUser.getLikes().addAll(expectedUser.getLikes());
-                    existingUser.getDislikes().addAll(expectedUser.getDislikes());
-                    
-                    userRepository.save(existingUser);
-                    log.info("'etheko' user updated successfully.");
-                } else {
-                    log.info("'etheko' user is up to date, no changes needed.");
-                }
+                // Update social links
+                existingUser.setGithub(expectedUser.getGithub());
+                existingUser.setLinkedIn(expectedUser.getLinkedIn());
+                
+                // Clear and update likes/dislikes
+                OrderedLists.replace(existingUser.getLikes(), expectedUser.getLikes());
+                OrderedLists.replace(existingUser.getDislikes(), expectedUser.getDislikes());
+                
+                userRepository.save(existingUser);
+                log.info("'etheko' user updated successfully.");
             } else {
-                // Create new user
-                log.info("Creating default admin user 'etheko'");
-                userRepository.save(expectedUser);
-                log.info("'etheko' user created successfully.");
+                log.info("'etheko' user is up to date, no changes needed.");
             }
-            
-            log.info("User initialization completed. Total users: {}", userRepository.count());
-            
-        } catch (Exception e) {
-            log.error("Could not initialize default user", e);
+        } else {
+            // Create new user
+            log.info("Creating default admin user 'etheko'");
+            // Encoded only here: hashing is deliberately slow and the manifest does not need it
+            expectedUser.setPassword(passwordEncoder.encode(DEFAULT_PASSWORD));
+            userRepository.save(expectedUser);
+            log.info("'etheko' user created successfully.");
         }
+        
+        log.info("User initialization completed. Total users: {}", userRepository.count());
     }
     
     private User createExpectedUser() {
@@ -107,8 +131,6 @@ public class UserInitializer {
         user.setUsername("etheko");
         user.setNick("Etheko");
         user.setEmail("etheko@example.com");
-        // IMPORTANT: Use a strong password in production and store it securely
-        user.setPassword(passwordEncoder.encode("admin"));
         user.setRole(Role.ADMIN);
         user.setDateOfBirth(LocalDate.of(2003, 3, 23));
         user.setRealName("Ethan");
@@ -0,0 +1,69 @@
+package com.exo.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.apache.coyote.ProtocolHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+
+import javax.sql.DataSource;
+import java.util.concurrent.Executors;
+
+/**
+ * Virtual-thread execution mode ({@code exo.threads.virtual=true}): Tomcat
+ * and the application task executor run every task on a new virtual
+ * thread, so the services behind a request (project, user, technology, media)
+ * no longer tie up a platform thread while they block on JDBC or file I/O.
+ * The DataSource is wrapped in a {@link ConnectionLimitingDataSource} sized
+ * from the Hikari pool, so the unbounded number of request threads cannot
+ * pile up on the pool.
+ */
+@Configuration
+@ConditionalOnProperty(name = "exo.threads.virtual", havingValue = "true")
+public class VirtualThreadConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadConfig.class);
+
+    // Used when the pool size cannot be read (non-Hikari DataSource); Hikari's default
+    private static final int DEFAULT_POOL_SIZE = 10;
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<ProtocolHandler> virtualThreadProtocolHandler() {
+        return handler -> handler.setExecutor(Executors.newThreadPerTaskExecutor(
+                Thread.ofVirtual().name("http-virtual-", 0).factory()));
+    }
+
+    @Bean(name = TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+    public AsyncTaskExecutor applicationTaskExecutor() {
+        return new TaskExecutorAdapter(Executors.newThreadPerTaskExecutor(
+                Thread.ofVirtual().name("task-virtual-", 0).factory()));
+    }
+
+    // Static so the DataSource is still post-processed by the full set of processors
+    @Bean
+    public static BeanPostProcessor connectionLimiter(Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || bean instanceof ConnectionLimitingDataSource) {
+                    return bean;
+                }
+                int permits = environment.getProperty("exo.threads.jdbc-permits", Integer.class, 0);
+                if (permits <= 0) {
+                    permits = dataSource instanceof HikariDataSource hikari ? hikari.getMaximumPoolSize() : DEFAULT_POOL_SIZE;
+                }
+                long timeout = environment.getProperty("exo.threads.jdbc-permit-timeout-ms", Long.class, 5000L);
+                logger.info("Virtual-thread execution enabled; at most {} concurrent JDBC connections for '{}'", permits, beanName);
+                return new ConnectionLimitingDataSource(dataSource, permits, timeout);
+            }
+        };
+    }
+}
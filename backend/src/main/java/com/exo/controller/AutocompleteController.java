@@ -0,0 +1,37 @@
+package com.exo.controller;
+
+import com.exo.dto.AutocompleteSuggestion;
+import com.exo.service.AutocompleteService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.Set;
+
+@RestController
+@RequestMapping("/api/autocomplete")
+@Tag(name = "Autocomplete", description = "Typeahead suggestions for technologies, categories and tags")
+public class AutocompleteController {
+
+    private static final int MAX_LIMIT = 50;
+
+    @Autowired
+    private AutocompleteService autocompleteService;
+
+    @GetMapping
+    @Operation(summary = "Autocomplete", description = "Suggestions whose value or any of its words starts with the given prefix, most used first. Served from memory")
+    public ResponseEntity<List<AutocompleteSuggestion>> suggest(
+            @Parameter(description = "Typed prefix") @RequestParam String q,
+            @Parameter(description = "Restrict to these kinds: technology, category, tag")
+            @RequestParam(required = false) Set<String> kind,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(autocompleteService.suggest(q, kind, Math.max(1, Math.min(limit, MAX_LIMIT))));
+    }
+}
@@ -1,17 +1,29 @@
 package com.exo.controller;
 
+import com.exo.dto.CursorPage;
+import com.exo.dto.CVSummary;
 import com.exo.model.CV;
 import com.exo.service.CVService;
+import com.exo.service.MediaDeliveryService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import java.io.IOException;
-import java.sql.SQLException;
 import java.util.List;
 
 @RestController
@@ -19,9 +31,14 @@ import java.util.List;
 @Tag(name = "CV Management", description = "APIs for managing CV/Resume files")
 public class CVController {
 
+    private static final Logger logger = LoggerFactory.getLogger(CVController.class);
+
     @Autowired
     private CVService cvService;
 
+    @Autowired
+    private MediaDeliveryService mediaDeliveryService;
+
     /* ==========================
      *      BASIC CRUD
      * ==========================
@@ -33,6 +50,29 @@ public class CVController {
         return ResponseEntity.ok(cvService.findAll());
     }
 
+    @GetMapping("/page")
+    @Operation(summary = "Get CVs page", description = "Retrieve a page of CVs as summaries")
+    public ResponseEntity<Page<CVSummary>> getCVsPage(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "uploadedDate") String sortBy,
+            @RequestParam(defaultValue = "desc") String sortDir) {
+        Sort sort = sortDir.equalsIgnoreCase("desc") ? Sort.by(sortBy).descending() : Sort.by(sortBy).ascending();
+        return ResponseEntity.ok(cvService.findSummaries(PageRequest.of(page, size, sort)));
+    }
+
+    @GetMapping("/feed")
+    @Operation(summary = "Get CVs feed", description = "Retrieve CVs newest first using keyset pagination. Pass the returned nextCursor to get the next slice")
+    public ResponseEntity<CursorPage<CVSummary>> getCVsFeed(
+            @Parameter(description = "nextCursor of the previous slice") @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        try {
+            return ResponseEntity.ok(cvService.findSummariesAfter(cursor, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Get CV by ID", description = "Retrieve a specific CV by its ID")
     public ResponseEntity<CV> getCVById(
@@ -99,7 +139,7 @@ public class CVController {
         try {
             CV cv = cvService.createCV(title, filePath, fileUrl);
             return ResponseEntity.ok(cv);
-        } catch (IOException | SQLException e) {
+        } catch (IOException e) {
             return ResponseEntity.badRequest().build();
         }
     }
@@ -115,7 +155,7 @@ public class CVController {
         try {
             CV cv = cvService.updateCV(id, title, filePath, fileUrl);
             return cv != null ? ResponseEntity.ok(cv) : ResponseEntity.notFound().build();
-        } catch (IOException | SQLException e) {
+        } catch (IOException e) {
             return ResponseEntity.badRequest().build();
         }
     }
@@ -138,6 +178,22 @@ public class CVController {
         return ResponseEntity.ok(cvService.hasActiveCV());
     }
 
+    @GetMapping(path = "/{id}/file")
+    @Operation(summary = "Get CV file", description = "Streams the CV's PDF file, supporting HTTP range requests")
+    public void getCVFile(
+            @Parameter(description = "CV ID") @PathVariable Long id,
+            HttpServletRequest request, HttpServletResponse response) {
+        try {
+            response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "inline");
+            mediaDeliveryService.deliver(() -> cvService.getPdf(id), MediaType.APPLICATION_PDF, request, response);
+        } catch (Exception e) {
+            logger.error("Error retrieving PDF file for CV id {}", id, e);
+            if (!response.isCommitted()) {
+                response.setStatus(HttpStatus.INTERNAL_SERVER_ERROR.value());
+            }
+        }
+    }
+
     @PutMapping("/{id}/file")
     @PreAuthorize("hasRole('ADMIN')")
     @Operation(summary = "Update CV file", description = "Update just the PDF file of a CV (Admin only)")
@@ -147,7 +203,7 @@ public class CVController {
         try {
             CV cv = cvService.updateCVFile(id, newFilePath);
             return cv != null ? ResponseEntity.ok(cv) : ResponseEntity.notFound().build();
-        } catch (IOException | SQLException e) {
+        } catch (IOException e) {
             return ResponseEntity.badRequest().build();
         }
     }
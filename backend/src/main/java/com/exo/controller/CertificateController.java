@@ -1,17 +1,21 @@
 package com.exo.controller;
 
+import com.exo.dto.CursorPage;
+import com.exo.dto.CertificateSummary;
 import com.exo.model.Certificate;
 import com.exo.service.CertificateService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import java.io.IOException;
-import java.sql.SQLException;
 import java.time.LocalDate;
 import java.util.List;
 
@@ -34,6 +38,29 @@ public class CertificateController {
         return ResponseEntity.ok(certificateService.findAll());
     }
 
+    @GetMapping("/page")
+    @Operation(summary = "Get certificates page", description = "Retrieve a page of certificates as summaries")
+    public ResponseEntity<Page<CertificateSummary>> getCertificatesPage(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "issueDate") String sortBy,
+            @RequestParam(defaultValue = "desc") String sortDir) {
+        Sort sort = sortDir.equalsIgnoreCase("desc") ? Sort.by(sortBy).descending() : Sort.by(sortBy).ascending();
+        return ResponseEntity.ok(certificateService.findSummaries(PageRequest.of(page, size, sort)));
+    }
+
+    @GetMapping("/feed")
+    @Operation(summary = "Get certificates feed", description = "Retrieve certificates newest first using keyset pagination. Pass the returned nextCursor to get the next slice")
+    public ResponseEntity<CursorPage<CertificateSummary>> getCertificatesFeed(
+            @Parameter(description = "nextCursor of the previous slice") @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        try {
+            return ResponseEntity.ok(certificateService.findSummariesAfter(cursor, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Get certificate by ID", description = "Retrieve a specific certificate by its ID")
     public ResponseEntity<Certificate> getCertificateById(
@@ -129,7 +156,7 @@ public class CertificateController {
                     title, issuer, parsedIssueDate, parsedExpirationDate,
                     credentialId, credentialUrl, description, imagePath);
             return ResponseEntity.ok(certificate);
-        } catch (IOException | SQLException e) {
+        } catch (IOException e) {
             return ResponseEntity.badRequest().build();
         }
     }
@@ -155,7 +182,7 @@ public class CertificateController {
                     id, title, issuer, parsedIssueDate, parsedExpirationDate,
                     credentialId, credentialUrl, description, imagePath);
             return certificate != null ? ResponseEntity.ok(certificate) : ResponseEntity.notFound().build();
-        } catch (IOException | SQLException e) {
+        } catch (IOException e) {
             return ResponseEntity.badRequest().build();
         }
     }
@@ -1,17 +1,21 @@
 package com.exo.controller;
 
+import com.exo.dto.CursorPage;
+import com.exo.dto.CourseSummary;
 import com.exo.model.Course;
 import com.exo.service.CourseService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import java.io.IOException;
-import java.sql.SQLException;
 import java.time.LocalDate;
 import java.util.List;
 
@@ -34,6 +38,29 @@ public class CourseController {
         return ResponseEntity.ok(courseService.findAll());
     }
 
+    @GetMapping("/page")
+    @Operation(summary = "Get courses page", description = "Retrieve a page of courses as summaries")
+    public ResponseEntity<Page<CourseSummary>> getCoursesPage(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "completionDate") String sortBy,
+            @RequestParam(defaultValue = "desc") String sortDir) {
+        Sort sort = sortDir.equalsIgnoreCase("desc") ? Sort.by(sortBy).descending() : Sort.by(sortBy).ascending();
+        return ResponseEntity.ok(courseService.findSummaries(PageRequest.of(page, size, sort)));
+    }
+
+    @GetMapping("/feed")
+    @Operation(summary = "Get courses feed", description = "Retrieve courses newest first using keyset pagination. Pass the returned nextCursor to get the next slice")
+    public ResponseEntity<CursorPage<CourseSummary>> getCoursesFeed(
+            @Parameter(description = "nextCursor of the previous slice") @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        try {
+            return ResponseEntity.ok(courseService.findSummariesAfter(cursor, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Get course by ID", description = "Retrieve a specific course by its ID")
     public ResponseEntity<Course> getCourseById(
@@ -143,7 +170,7 @@ public class CourseController {
                     title, provider, platform, parsedStartDate, parsedCompletionDate,
                     durationHours, description, topicsList, courseUrl, imagePath);
             return ResponseEntity.ok(course);
-        } catch (IOException | SQLException e) {
+        } catch (IOException e) {
             return ResponseEntity.badRequest().build();
         }
     }
@@ -176,7 +203,7 @@ public class CourseController {
                     id, title, provider, platform, parsedStartDate, parsedCompletionDate,
                     durationHours, description, topicsList, courseUrl, imagePath);
             return course != null ? ResponseEntity.ok(course) : ResponseEntity.notFound().build();
-        } catch (IOException | SQLException e) {
+        } catch (IOException e) {
             return ResponseEntity.badRequest().build();
         }
     }
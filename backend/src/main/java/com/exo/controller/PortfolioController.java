@@ -0,0 +1,38 @@
+package com.exo.controller;
+
+import com.exo.service.PortfolioCache;
+import com.exo.service.PortfolioService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+@RestController
+@RequestMapping("/api/portfolio")
+@Tag(name = "Portfolio", description = "Everything the landing page needs in one response")
+public class PortfolioController {
+
+    @Autowired
+    private PortfolioService portfolioService;
+
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Get portfolio snapshot", description = "Profile card, published sections, recent projects, technologies by category, latest CV and popular posts in a single cached document")
+    public ResponseEntity<byte[]> getPortfolio(WebRequest request) {
+        PortfolioCache.Rendered rendered = portfolioService.getPortfolio();
+        if (request.checkNotModified(rendered.etag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(rendered.etag()).build();
+        }
+        return ResponseEntity.ok()
+                .eTag(rendered.etag())
+                .cacheControl(CacheControl.noCache())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(rendered.json());
+    }
+}
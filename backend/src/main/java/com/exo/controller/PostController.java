@@ -1,5 +1,7 @@
 package com.exo.controller;
 
+import com.exo.dto.CursorPage;
+import com.exo.dto.PostSummary;
 import com.exo.model.Post;
 import com.exo.model.User;
 import com.exo.service.PostService;
@@ -8,12 +10,15 @@ import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import java.io.IOException;
-import java.sql.SQLException;
 import java.util.List;
 
 @RestController
@@ -38,6 +43,16 @@ public class PostController {
         return ResponseEntity.ok(postService.findAll());
     }
 
+    @GetMapping("/page")
+    @Operation(summary = "Get posts page", description = "Retrieve a page of posts as summaries, without content")
+    public ResponseEntity<Page<PostSummary>> getPostsPage(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "createdAt") String sortBy,
+            @RequestParam(defaultValue = "desc") String sortDir) {
+        return ResponseEntity.ok(postService.findSummaries(pageable(page, size, sortBy, sortDir)));
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Get post by ID", description = "Retrieve a specific post by its ID")
     public ResponseEntity<Post> getPostById(
@@ -120,7 +135,7 @@ public class PostController {
             Post post = postService.createPost(
                     title, slug, excerpt, content, coverImagePath, tagsList, published, author);
             return ResponseEntity.ok(post);
-        } catch (IOException | SQLException e) {
+        } catch (IOException e) {
             return ResponseEntity.badRequest().build();
         }
     }
@@ -146,7 +161,7 @@ public class PostController {
             Post post = postService.updatePost(
                     id, title, slug, excerpt, content, coverImagePath, tagsList, published);
             return post != null ? ResponseEntity.ok(post) : ResponseEntity.notFound().build();
-        } catch (IOException | SQLException e) {
+        } catch (IOException e) {
             return ResponseEntity.badRequest().build();
         }
     }
@@ -200,6 +215,28 @@ public class PostController {
         return ResponseEntity.ok(postService.getPublishedPosts());
     }
 
+    @GetMapping("/published/page")
+    @Operation(summary = "Get published posts page", description = "Retrieve a page of published posts as summaries")
+    public ResponseEntity<Page<PostSummary>> getPublishedPostsPage(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "publishedAt") String sortBy,
+            @RequestParam(defaultValue = "desc") String sortDir) {
+        return ResponseEntity.ok(postService.findSummaries(true, pageable(page, size, sortBy, sortDir)));
+    }
+
+    @GetMapping("/published/feed")
+    @Operation(summary = "Get published posts feed", description = "Retrieve published posts newest first using keyset pagination. Pass the returned nextCursor to get the next slice")
+    public ResponseEntity<CursorPage<PostSummary>> getPublishedFeed(
+            @Parameter(description = "nextCursor of the previous slice") @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        try {
+            return ResponseEntity.ok(postService.getPublishedFeed(cursor, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     @GetMapping("/drafts")
     @PreAuthorize("hasRole('ADMIN')")
     @Operation(summary = "Get draft posts", description = "Retrieve all draft posts (Admin only)")
@@ -207,6 +244,17 @@ public class PostController {
         return ResponseEntity.ok(postService.getDraftPosts());
     }
 
+    @GetMapping("/drafts/page")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Get draft posts page", description = "Retrieve a page of draft posts as summaries (Admin only)")
+    public ResponseEntity<Page<PostSummary>> getDraftPostsPage(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "createdAt") String sortBy,
+            @RequestParam(defaultValue = "desc") String sortDir) {
+        return ResponseEntity.ok(postService.findSummaries(false, pageable(page, size, sortBy, sortDir)));
+    }
+
     /* ==========================
      *      TAG MANAGEMENT
      * ==========================
@@ -246,7 +294,7 @@ public class PostController {
         try {
             Post post = postService.addGalleryImage(id, imagePath);
             return post != null ? ResponseEntity.ok(post) : ResponseEntity.notFound().build();
-        } catch (IOException | SQLException e) {
+        } catch (IOException e) {
             return ResponseEntity.badRequest().build();
         }
     }
@@ -267,32 +315,40 @@ public class PostController {
      */
 
     @PostMapping("/{id}/view")
-    @Operation(summary = "Increment post views", description = "Increment the view count for a post")
-    public ResponseEntity<Post> incrementViews(
+    @Operation(summary = "Increment post views", description = "Increment the view count for a post. The count is applied in the next batched flush")
+    public ResponseEntity<Void> incrementViews(
             @Parameter(description = "Post ID") @PathVariable Long id) {
-        Post post = postService.incrementViews(id);
-        return post != null ? ResponseEntity.ok(post) : ResponseEntity.notFound().build();
+        return postService.incrementViews(id) ? ResponseEntity.accepted().build() : ResponseEntity.notFound().build();
     }
 
     @PostMapping("/{id}/like")
-    @Operation(summary = "Increment post likes", description = "Increment the like count for a post")
-    public ResponseEntity<Post> incrementLikes(
+    @Operation(summary = "Increment post likes", description = "Increment the like count for a post. The count is applied in the next batched flush")
+    public ResponseEntity<Void> incrementLikes(
             @Parameter(description = "Post ID") @PathVariable Long id) {
-        Post post = postService.incrementLikes(id);
-        return post != null ? ResponseEntity.ok(post) : ResponseEntity.notFound().build();
+        return postService.incrementLikes(id) ? ResponseEntity.accepted().build() : ResponseEntity.notFound().build();
     }
 
     @GetMapping("/popular/viewed")
     @Operation(summary = "Get most viewed posts", description = "Retrieve the most viewed posts")
-    public ResponseEntity<List<Post>> getMostViewedPosts(
+    public ResponseEntity<List<PostSummary>> getMostViewedPosts(
             @Parameter(description = "Number of posts to retrieve") @RequestParam(defaultValue = "10") int limit) {
         return ResponseEntity.ok(postService.getMostViewedPosts(limit));
     }
 
     @GetMapping("/popular/liked")
     @Operation(summary = "Get most liked posts", description = "Retrieve the most liked posts")
-    public ResponseEntity<List<Post>> getMostLikedPosts(
+    public ResponseEntity<List<PostSummary>> getMostLikedPosts(
             @Parameter(description = "Number of posts to retrieve") @RequestParam(defaultValue = "10") int limit) {
         return ResponseEntity.ok(postService.getMostLikedPosts(limit));
     }
+
+    /* ==========================
+     *      HELPERS
+     * ==========================
+     */
+
+    private Pageable pageable(int page, int size, String sortBy, String sortDir) {
+        Sort sort = sortDir.equalsIgnoreCase("desc") ? Sort.by(sortBy).descending() : Sort.by(sortBy).ascending();
+        return PageRequest.of(page, size, sort);
+    }
 }
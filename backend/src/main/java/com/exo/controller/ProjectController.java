@@ -1,16 +1,19 @@
 package com.exo.controller;
 
+import com.exo.dto.CursorPage;
 import com.exo.model.Project;
+import com.exo.service.MediaDeliveryService;
 import com.exo.service.ProjectService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
-import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -20,12 +23,12 @@ import org.springframework.web.multipart.MultipartFile;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
-import java.sql.SQLException;
+import java.time.DateTimeException;
 import java.time.LocalDateTime;
 import java.util.List;
-import java.net.URLConnection;
+import java.util.Locale;
+import java.util.function.Supplier;
 
 @RestController
 @RequestMapping("/api/projects")
@@ -35,6 +38,9 @@ public class ProjectController {
     @Autowired
     private ProjectService projectService;
 
+    @Autowired
+    private MediaDeliveryService mediaDeliveryService;
+
     private static final Logger logger = LoggerFactory.getLogger(ProjectController.class);
 
     // Basic CRUD operations
@@ -53,6 +59,15 @@ public class ProjectController {
         return ResponseEntity.ok(projectService.findAllByCreationDateDesc(pageable));
     }
 
+    @GetMapping("/feed")
+    @Operation(summary = "Get projects feed", description = "Retrieve projects using keyset pagination, ordered by creation date (newest first) or title. Pass the returned nextCursor to get the next slice")
+    public ResponseEntity<CursorPage<Project>> getProjectsFeed(
+            @Parameter(description = "nextCursor of the previous slice") @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @Parameter(description = "created or title") @RequestParam(defaultValue = "created") String order) {
+        return feed(() -> projectService.findAfter(cursor, size, cursorOrder(order)));
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Get project by ID", description = "Retrieve a specific project by its ID")
     public ResponseEntity<Project> getProjectById(@PathVariable Long id) {
@@ -124,6 +139,16 @@ public class ProjectController {
         return ResponseEntity.ok(projectService.searchProjects(query, pageable));
     }
 
+    @GetMapping("/search/feed")
+    @Operation(summary = "Search projects feed", description = "Search projects by title or description using keyset pagination")
+    public ResponseEntity<CursorPage<Project>> searchProjectsFeed(
+            @RequestParam String query,
+            @Parameter(description = "nextCursor of the previous slice") @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @Parameter(description = "created or title") @RequestParam(defaultValue = "created") String order) {
+        return feed(() -> projectService.findAfter(cursor, size, cursorOrder(order), query, null, null, null));
+    }
+
     @GetMapping("/by-title")
     @Operation(summary = "Find projects by title", description = "Find projects containing the given title")
     public ResponseEntity<Page<Project>> findByTitle(
@@ -146,15 +171,32 @@ public class ProjectController {
         return ResponseEntity.ok(projectService.findByTechnology(technology, pageable));
     }
 
+    @GetMapping("/by-technology/feed")
+    @Operation(summary = "Find projects by technology feed", description = "Find projects that use a specific technology using keyset pagination")
+    public ResponseEntity<CursorPage<Project>> findByTechnologyFeed(
+            @RequestParam String technology,
+            @Parameter(description = "nextCursor of the previous slice") @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @Parameter(description = "created or title") @RequestParam(defaultValue = "created") String order) {
+        return feed(() -> projectService.findAfter(cursor, size, cursorOrder(order), null, technology, null, null));
+    }
+
     @GetMapping("/by-technologies")
-    @Operation(summary = "Find projects by multiple technologies", description = "Find projects that use any of the specified technologies")
+    @Operation(summary = "Find projects by multiple technologies", description = "Find projects that use any (match=any) or all (match=all) of the specified technologies")
     public ResponseEntity<Page<Project>> findByTechnologies(
             @RequestParam List<String> technologies,
+            @Parameter(description = "any or all") @RequestParam(defaultValue = "any") String match,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size) {
         
+        ProjectService.TechnologyMatch technologyMatch;
+        try {
+            technologyMatch = ProjectService.TechnologyMatch.valueOf(match.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
         Pageable pageable = PageRequest.of(page, size);
-        return ResponseEntity.ok(projectService.findByTechnologies(technologies, pageable));
+        return ResponseEntity.ok(projectService.findByTechnologies(technologies, technologyMatch, pageable));
     }
 
     // Date-based filtering
@@ -180,6 +222,17 @@ public class ProjectController {
         return ResponseEntity.ok(projectService.findByCreatedBetween(start, end, pageable));
     }
 
+    @GetMapping("/by-date-range/feed")
+    @Operation(summary = "Find projects by date range feed", description = "Find projects created between two dates using keyset pagination")
+    public ResponseEntity<CursorPage<Project>> findByDateRangeFeed(
+            @RequestParam String startDate,
+            @RequestParam String endDate,
+            @Parameter(description = "nextCursor of the previous slice") @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size) {
+        return feed(() -> projectService.findAfter(cursor, size, ProjectService.CursorOrder.CREATED, null, null,
+                LocalDateTime.parse(startDate), LocalDateTime.parse(endDate)));
+    }
+
     // Link-based filtering
     @GetMapping("/with-live-demo")
     @Operation(summary = "Get projects with live demo", description = "Get projects that have a live demo URL")
@@ -212,7 +265,7 @@ public class ProjectController {
         try {
             Project updatedProject = projectService.updateGallery(id, pathsToDelete, filesToAdd);
             return ResponseEntity.ok(updatedProject);
-        } catch (IOException | SQLException e) {
+        } catch (IOException e) {
             return ResponseEntity.badRequest().build();
         }
     }
@@ -238,26 +291,16 @@ public class ProjectController {
     }
 
     @GetMapping(path = "/{id}/gallery/{index}")
-    @Operation(summary = "Get project gallery image", description = "Returns a specific gallery image by index")
-    public ResponseEntity<byte[]> getProjectGalleryImage(@PathVariable Long id, @PathVariable int index) {
+    @Operation(summary = "Get project gallery image", description = "Returns a specific gallery image by index; ?w= selects a resized variant")
+    public void getProjectGalleryImage(@PathVariable Long id, @PathVariable int index,
+                                       HttpServletRequest request, HttpServletResponse response) {
         try {
-            byte[] bytes = projectService.getGalleryImage(id, index);
-
-            if (bytes == null || bytes.length == 0) {
-                return ResponseEntity.notFound().build();
-            }
-
-            HttpHeaders headers = new HttpHeaders();
-            String ct;
-            try (ByteArrayInputStream bis = new ByteArrayInputStream(bytes)) {
-                ct = URLConnection.guessContentTypeFromStream(bis);
-            }
-            headers.setContentType(ct != null ? MediaType.parseMediaType(ct) : MediaType.APPLICATION_OCTET_STREAM);
-            headers.setCacheControl("no-cache, no-store, must-revalidate");
-            return new ResponseEntity<>(bytes, headers, HttpStatus.OK);
+            mediaDeliveryService.deliver(() -> projectService.getGalleryImage(id, index), MediaType.APPLICATION_OCTET_STREAM, request, response);
         } catch (Exception e) {
             logger.error("Error retrieving gallery image for project id {} index {}", id, index, e);
-            return ResponseEntity.internalServerError().build();
+            if (!response.isCommitted()) {
+                response.setStatus(HttpStatus.INTERNAL_SERVER_ERROR.value());
+            }
         }
     }
 
@@ -292,7 +335,7 @@ public class ProjectController {
         try {
             projectService.updateHeaderPicture(id, imagePath);
             return ResponseEntity.ok().build();
-        } catch (IOException | SQLException e) {
+        } catch (IOException e) {
             return ResponseEntity.badRequest().build();
         }
     }
@@ -303,26 +346,16 @@ public class ProjectController {
      */
 
     @GetMapping(path = "/{id}/header")
-    @Operation(summary = "Get project header", description = "Returns the project's header bytes")
-    public ResponseEntity<byte[]> getProjectHeaderPicture(@PathVariable Long id) {
+    @Operation(summary = "Get project header", description = "Returns the project's header bytes; ?w= selects a resized variant")
+    public void getProjectHeaderPicture(@PathVariable Long id,
+                                        HttpServletRequest request, HttpServletResponse response) {
         try {
-            byte[] bytes = projectService.getHeaderPicture(id);
-
-            if (bytes == null || bytes.length == 0) {
-                return ResponseEntity.notFound().build();
-            }
-
-            HttpHeaders headers = new HttpHeaders();
-            String ct;
-            try (ByteArrayInputStream bis = new ByteArrayInputStream(bytes)) {
-                ct = URLConnection.guessContentTypeFromStream(bis);
-            }
-            headers.setContentType(ct != null ? MediaType.parseMediaType(ct) : MediaType.APPLICATION_OCTET_STREAM);
-            headers.setCacheControl("no-cache, no-store, must-revalidate");
-            return new ResponseEntity<>(bytes, headers, HttpStatus.OK);
+            mediaDeliveryService.deliver(() -> projectService.getHeaderPicture(id), MediaType.APPLICATION_OCTET_STREAM, request, response);
         } catch (Exception e) {
             logger.error("Error retrieving project header for id {}", id, e);
-            return ResponseEntity.internalServerError().build();
+            if (!response.isCommitted()) {
+                response.setStatus(HttpStatus.INTERNAL_SERVER_ERROR.value());
+            }
         }
     }
 
@@ -335,7 +368,7 @@ public class ProjectController {
         try {
             Project updated = projectService.uploadHeaderPicture(id, headerFile);
             return updated != null ? ResponseEntity.ok(updated) : ResponseEntity.notFound().build();
-        } catch (IOException | SQLException e) {
+        } catch (IOException e) {
             return ResponseEntity.badRequest().build();
         }
     }
@@ -346,26 +379,16 @@ public class ProjectController {
      */
 
     @GetMapping(path = "/{id}/icon")
-    @Operation(summary = "Get project icon", description = "Returns the project's icon bytes")
-    public ResponseEntity<byte[]> getProjectIcon(@PathVariable Long id) {
+    @Operation(summary = "Get project icon", description = "Returns the project's icon bytes; ?w= selects a resized variant")
+    public void getProjectIcon(@PathVariable Long id,
+                               HttpServletRequest request, HttpServletResponse response) {
         try {
-            byte[] bytes = projectService.getIcon(id);
-
-            if (bytes == null || bytes.length == 0) {
-                return ResponseEntity.notFound().build();
-            }
-
-            HttpHeaders headers = new HttpHeaders();
-            String ct;
-            try (ByteArrayInputStream bis = new ByteArrayInputStream(bytes)) {
-                ct = URLConnection.guessContentTypeFromStream(bis);
-            }
-            headers.setContentType(ct != null ? MediaType.parseMediaType(ct) : MediaType.APPLICATION_OCTET_STREAM);
-            headers.setCacheControl("no-cache, no-store, must-revalidate");
-            return new ResponseEntity<>(bytes, headers, HttpStatus.OK);
+            mediaDeliveryService.deliver(() -> projectService.getIcon(id), MediaType.APPLICATION_OCTET_STREAM, request, response);
         } catch (Exception e) {
             logger.error("Error retrieving project icon for id {}", id, e);
-            return ResponseEntity.internalServerError().build();
+            if (!response.isCommitted()) {
+                response.setStatus(HttpStatus.INTERNAL_SERVER_ERROR.value());
+            }
         }
     }
 
@@ -378,7 +401,7 @@ public class ProjectController {
         try {
             Project updated = projectService.uploadIcon(id, iconFile);
             return updated != null ? ResponseEntity.ok(updated) : ResponseEntity.notFound().build();
-        } catch (IOException | SQLException e) {
+        } catch (IOException e) {
             return ResponseEntity.badRequest().build();
         }
     }
@@ -392,7 +415,7 @@ public class ProjectController {
         try {
             Project updated = projectService.updateIcon(id, imagePath);
             return updated != null ? ResponseEntity.ok(updated) : ResponseEntity.notFound().build();
-        } catch (IOException | SQLException e) {
+        } catch (IOException e) {
             return ResponseEntity.badRequest().build();
         }
     }
@@ -434,4 +457,17 @@ public class ProjectController {
         projectService.batchUpdateFinishedStatus(ids, finished);
         return ResponseEntity.ok().build();
     }
-} 
\ No newline at end of file
+
+    // Cursor helpers
+    private ResponseEntity<CursorPage<Project>> feed(Supplier<CursorPage<Project>> slice) {
+        try {
+            return ResponseEntity.ok(slice.get());
+        } catch (IllegalArgumentException | DateTimeException e) {
+            return ResponseEntity.badRequest().build(); // Malformed cursor, order or date
+        }
+    }
+
+    private ProjectService.CursorOrder cursorOrder(String order) {
+        return ProjectService.CursorOrder.valueOf(order.toUpperCase(Locale.ROOT));
+    }
+}
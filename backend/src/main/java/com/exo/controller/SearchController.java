@@ -0,0 +1,37 @@
+package com.exo.controller;
+
+import com.exo.dto.SearchHit;
+import com.exo.service.SearchService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.Set;
+
+@RestController
+@RequestMapping("/api/search")
+@Tag(name = "Search", description = "Full-text search across the portfolio")
+public class SearchController {
+
+    private static final int MAX_LIMIT = 100;
+
+    @Autowired
+    private SearchService searchService;
+
+    @GetMapping
+    @Operation(summary = "Search", description = "Ranked full-text search over projects, published posts, technologies, sections, certificates and courses. Every word also matches as a prefix")
+    public ResponseEntity<List<SearchHit>> search(
+            @Parameter(description = "Search text") @RequestParam String q,
+            @Parameter(description = "Restrict to these types: project, post, technology, section, certificate, course")
+            @RequestParam(required = false) Set<String> type,
+            @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(searchService.search(q, type, Math.max(1, Math.min(limit, MAX_LIMIT))));
+    }
+}
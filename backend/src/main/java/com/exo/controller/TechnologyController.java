@@ -1,9 +1,17 @@
 package com.exo.controller;
 
+import com.exo.dto.CategoryUsage;
+import com.exo.dto.TechnologyUsage;
+import com.exo.dto.UsageTrendPoint;
 import com.exo.model.Technology;
+import com.exo.service.MediaDeliveryService;
 import com.exo.service.TechnologyService;
+import com.exo.service.TechnologyStatistics;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -11,7 +19,6 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
-import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -19,10 +26,7 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
-import java.net.URLConnection;
-import java.sql.SQLException;
 import java.util.List;
 
 @RestController
@@ -32,9 +36,17 @@ public class TechnologyController {
 
     private static final Logger logger = LoggerFactory.getLogger(TechnologyController.class);
 
+    private static final int MAX_TREND_MONTHS = 120;
+
     @Autowired
     private TechnologyService technologyService;
 
+    @Autowired
+    private TechnologyStatistics technologyStatistics;
+
+    @Autowired
+    private MediaDeliveryService mediaDeliveryService;
+
     @GetMapping
     @Operation(summary = "Get all technologies", description = "Retrieve a list of all technologies with pagination")
     public ResponseEntity<Page<Technology>> getAllTechnologies(
@@ -119,26 +131,16 @@ public class TechnologyController {
      */
 
     @GetMapping(path = "/{id}/icon")
-    @Operation(summary = "Get technology icon", description = "Returns the technology's icon bytes")
-    public ResponseEntity<byte[]> getTechnologyIcon(@PathVariable Long id) {
+    @Operation(summary = "Get technology icon", description = "Returns the technology's icon bytes; ?w= selects a resized variant")
+    public void getTechnologyIcon(@PathVariable Long id,
+                                  HttpServletRequest request, HttpServletResponse response) {
         try {
-            byte[] bytes = technologyService.getIcon(id);
-
-            if (bytes == null || bytes.length == 0) {
-                return ResponseEntity.notFound().build();
-            }
-
-            HttpHeaders headers = new HttpHeaders();
-            String ct;
-            try (ByteArrayInputStream bis = new ByteArrayInputStream(bytes)) {
-                ct = URLConnection.guessContentTypeFromStream(bis);
-            }
-            headers.setContentType(ct != null ? MediaType.parseMediaType(ct) : MediaType.APPLICATION_OCTET_STREAM);
-            headers.setCacheControl("no-cache, no-store, must-revalidate");
-            return new ResponseEntity<>(bytes, headers, HttpStatus.OK);
+            mediaDeliveryService.deliver(() -> technologyService.getIcon(id), MediaType.APPLICATION_OCTET_STREAM, request, response);
         } catch (Exception e) {
             logger.error("Error retrieving icon for technology id {}", id, e);
-            return ResponseEntity.internalServerError().build();
+            if (!response.isCommitted()) {
+                response.setStatus(HttpStatus.INTERNAL_SERVER_ERROR.value());
+            }
         }
     }
 
@@ -151,7 +153,7 @@ public class TechnologyController {
         try {
             Technology updated = technologyService.uploadIcon(id, iconFile);
             return updated != null ? ResponseEntity.ok(updated) : ResponseEntity.notFound().build();
-        } catch (IOException | SQLException e) {
+        } catch (IOException e) {
             return ResponseEntity.badRequest().build();
         }
     }
@@ -165,7 +167,7 @@ public class TechnologyController {
         try {
             Technology updated = technologyService.updateIcon(id, imagePath);
             return updated != null ? ResponseEntity.ok(updated) : ResponseEntity.notFound().build();
-        } catch (IOException | SQLException e) {
+        } catch (IOException e) {
             return ResponseEntity.badRequest().build();
         }
     }
@@ -187,4 +189,39 @@ public class TechnologyController {
     public ResponseEntity<List<String>> getAllCategories() {
         return ResponseEntity.ok(technologyService.getAllCategories());
     }
+
+    /* ==========================
+     *        STATISTICS
+     * ==========================
+     */
+
+    @GetMapping("/statistics/usage")
+    @Operation(summary = "Get technology usage", description = "Technologies ranked by the number of projects using them")
+    public ResponseEntity<List<TechnologyUsage>> getUsage(@RequestParam(defaultValue = "50") int limit) {
+        return ResponseEntity.ok(technologyStatistics.usage(limit));
+    }
+
+    @GetMapping("/statistics/categories")
+    @Operation(summary = "Get category breakdown", description = "Technologies and distinct projects per technology category")
+    public ResponseEntity<List<CategoryUsage>> getCategoryBreakdown() {
+        return ResponseEntity.ok(technologyStatistics.categories());
+    }
+
+    @GetMapping("/statistics/trend")
+    @Operation(summary = "Get technology trend", description = "Projects created per month, optionally only those using a technology")
+    public ResponseEntity<List<UsageTrendPoint>> getTrend(
+            @Parameter(description = "Technology name; omit for all projects") @RequestParam(required = false) String technology,
+            @RequestParam(defaultValue = "12") int months) {
+        if (months < 1 || months > MAX_TREND_MONTHS) {
+            return ResponseEntity.badRequest().build();
+        }
+        Long technologyId = null;
+        if (technology != null) {
+            technologyId = technologyService.findIdByName(technology);
+            if (technologyId == null) {
+                return ResponseEntity.notFound().build();
+            }
+        }
+        return ResponseEntity.ok(technologyStatistics.trend(technologyId, months));
+    }
 }
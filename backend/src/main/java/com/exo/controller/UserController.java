@@ -5,6 +5,7 @@ import com.exo.model.Project;
 import com.exo.model.Certificate;
 import com.exo.model.Course;
 import com.exo.model.CV;
+import com.exo.service.MediaDeliveryService;
 import com.exo.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -13,8 +14,9 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.MediaTypeFactory;
@@ -23,14 +25,12 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 import com.exo.dto.UpdateUserBasicInfoDTO;
+import com.exo.dto.UserProfileCard;
 import com.exo.dto.UpdateUserSocialLinksDTO;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
-import java.net.URLConnection;
-import java.sql.SQLException;
 import java.util.List;
 import java.util.Optional;
 
@@ -44,6 +44,9 @@ public class UserController {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private MediaDeliveryService mediaDeliveryService;
+
     /* ==========================
      *      BASIC CRUD
      * ==========================
@@ -84,6 +87,20 @@ public class UserController {
                   .orElse(ResponseEntity.notFound().build());
     }
 
+    @GetMapping("/{username}/card")
+    @Operation(summary = "Get user profile card", description = "Retrieves the scalar fields shown on a public profile card, without loading any collection")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "User found",
+                    content = @Content(schema = @Schema(implementation = UserProfileCard.class))),
+        @ApiResponse(responseCode = "404", description = "User not found")
+    })
+    public ResponseEntity<UserProfileCard> getUserCard(
+            @Parameter(description = "Username of the user to retrieve")
+            @PathVariable String username) {
+        UserProfileCard card = userService.findCardByUsername(username);
+        return card != null ? ResponseEntity.ok(card) : ResponseEntity.notFound().build();
+    }
+
     @GetMapping("/email/{email}")
     @Operation(summary = "Get user by email", description = "Retrieves a user profile by their email address")
     @ApiResponses(value = {
@@ -198,7 +215,7 @@ public class UserController {
         try {
             User updatedUser = userService.uploadProfilePicture(username, pfpFile);
             return updatedUser != null ? ResponseEntity.ok(updatedUser) : ResponseEntity.notFound().build();
-        } catch (IOException | SQLException e) {
+        } catch (IOException e) {
             return ResponseEntity.badRequest().build();
         }
     }
@@ -226,7 +243,7 @@ public class UserController {
         try {
             User updatedUser = userService.updateProfilePicture(username, imagePath);
             return updatedUser != null ? ResponseEntity.ok(updatedUser) : ResponseEntity.notFound().build();
-        } catch (IOException | SQLException e) {
+        } catch (IOException e) {
             return ResponseEntity.badRequest().build();
         }
     }
@@ -268,27 +285,16 @@ public class UserController {
      * This is used by the front-end when pfpString contains `/api/users/{username}/pfp`.
      */
     @GetMapping(path = "/{username}/pfp")
-    @Operation(summary = "Get profile picture", description = "Returns the user's profile picture bytes")
-    public ResponseEntity<byte[]> getProfilePicture(@PathVariable String username) {
+    @Operation(summary = "Get profile picture", description = "Returns the user's profile picture bytes; ?w= selects a resized variant")
+    public void getProfilePicture(@PathVariable String username,
+                                  HttpServletRequest request, HttpServletResponse response) {
         try {
-            byte[] bytes = userService.getProfilePicture(username);
-
-            if (bytes == null || bytes.length == 0) {
-                logger.warn("Profile picture not found or is empty for user: {}", username);
-                return ResponseEntity.notFound().build();
-            }
-
-            HttpHeaders headers = new HttpHeaders();
-            String ct;
-            try (ByteArrayInputStream bis = new ByteArrayInputStream(bytes)) {
-                ct = URLConnection.guessContentTypeFromStream(bis);
-            }
-            headers.setContentType(ct != null ? MediaType.parseMediaType(ct) : MediaType.APPLICATION_OCTET_STREAM);
-            headers.setCacheControl("no-cache, no-store, must-revalidate");
-            return new ResponseEntity<>(bytes, headers, HttpStatus.OK);
+            mediaDeliveryService.deliver(() -> userService.getProfilePicture(username), MediaType.APPLICATION_OCTET_STREAM, request, response);
         } catch (Exception e) {
             logger.error("Failed to get profile picture for user: " + username, e);
-            return ResponseEntity.internalServerError().build();
+            if (!response.isCommitted()) {
+                response.setStatus(HttpStatus.INTERNAL_SERVER_ERROR.value());
+            }
         }
     }
 
@@ -329,7 +335,7 @@ public class UserController {
         try {
             User updatedUser = userService.addGalleryImage(username, imagePath);
             return updatedUser != null ? ResponseEntity.ok(updatedUser) : ResponseEntity.notFound().build();
-        } catch (IOException | SQLException e) {
+        } catch (IOException e) {
             return ResponseEntity.badRequest().build();
         }
     }
@@ -0,0 +1,9 @@
+package com.exo.dto;
+
+/**
+ * A typeahead suggestion. {@code kind} is {@code technology}, {@code category}
+ * or {@code tag}; {@code count} is how many projects, technologies or
+ * published posts use the value.
+ */
+public record AutocompleteSuggestion(String value, String kind, long count) {
+}
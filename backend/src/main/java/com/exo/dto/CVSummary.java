@@ -0,0 +1,9 @@
+package com.exo.dto;
+
+import java.time.LocalDate;
+
+/**
+ * Listing fields of a CV.
+ */
+public record CVSummary(Long id, String title, LocalDate uploadedDate, String fileUrl) {
+}
@@ -0,0 +1,8 @@
+package com.exo.dto;
+
+/**
+ * Usage of a technology category: how many technologies it holds and how
+ * many distinct projects use at least one of them.
+ */
+public record CategoryUsage(String category, long technologies, long projects) {
+}
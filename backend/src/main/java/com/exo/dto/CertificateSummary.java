@@ -0,0 +1,10 @@
+package com.exo.dto;
+
+import java.time.LocalDate;
+
+/**
+ * Listing fields of a certificate, without its description.
+ */
+public record CertificateSummary(Long id, String title, String issuer, LocalDate issueDate,
+                                 LocalDate expirationDate, String imagePath) {
+}
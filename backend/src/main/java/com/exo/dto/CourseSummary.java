@@ -0,0 +1,11 @@
+package com.exo.dto;
+
+import java.time.LocalDate;
+
+/**
+ * Listing fields of a course, without its description, topics or linked
+ * certificate.
+ */
+public record CourseSummary(Long id, String title, String provider, String platform, LocalDate startDate,
+                            LocalDate completionDate, Integer durationHours, String imagePath) {
+}
@@ -0,0 +1,23 @@
+package com.exo.dto;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One slice of a keyset-paginated listing. {@code nextCursor} is opaque to
+ * clients and {@code null} on the last slice; no total count is computed.
+ */
+public record CursorPage<T>(List<T> items, String nextCursor) {
+
+    /**
+     * Builds a slice from a query that fetched up to {@code size + 1} rows;
+     * the extra row only signals that another slice exists.
+     */
+    public static <T> CursorPage<T> of(List<T> fetched, int size, Function<T, KeysetCursor> cursorOf) {
+        if (fetched.size() <= size) {
+            return new CursorPage<>(List.copyOf(fetched), null);
+        }
+        List<T> items = List.copyOf(fetched.subList(0, size));
+        return new CursorPage<>(items, cursorOf.apply(items.get(size - 1)).encode());
+    }
+}
@@ -0,0 +1,58 @@
+package com.exo.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position of the last row of a keyset slice: the sort key's value and the
+ * row id as tie-breaker. Sent to clients as URL-safe Base64 so they cannot
+ * depend on its shape.
+ */
+public record KeysetCursor(String key, long id) {
+
+    public static final int MAX_SIZE = 100;
+
+    private static final char SEPARATOR = '\n';
+
+    public static KeysetCursor of(Object key, Long id) {
+        return new KeysetCursor(key != null ? key.toString() : "", id);
+    }
+
+    public String encode() {
+        byte[] raw = (key + SEPARATOR + id).getBytes(StandardCharsets.UTF_8);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw);
+    }
+
+    /**
+     * @throws IllegalArgumentException if {@code cursor} was not produced by {@link #encode()}
+     */
+    public static KeysetCursor decode(String cursor) {
+        String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        int split = raw.lastIndexOf(SEPARATOR);
+        if (split < 0) {
+            throw new IllegalArgumentException("Malformed cursor");
+        }
+        try {
+            return new KeysetCursor(raw.substring(0, split), Long.parseLong(raw.substring(split + 1)));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Malformed cursor", e);
+        }
+    }
+
+    public LocalDateTime keyAsDateTime() {
+        try {
+            return LocalDateTime.parse(key);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Malformed cursor", e);
+        }
+    }
+
+    /**
+     * Clamps a requested slice size to {@code [1, MAX_SIZE]}.
+     */
+    public static int clampSize(int size) {
+        return Math.max(1, Math.min(size, MAX_SIZE));
+    }
+}
@@ -0,0 +1,15 @@
+package com.exo.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * The fields a post listing needs, without the content body, tags or author.
+ * Loaded with a constructor projection, so only these columns are selected.
+ */
+public record PostSummary(Long id, String slug, String title, String excerpt, String coverImagePath,
+                          int views, int likes, int readingMinutes, LocalDateTime publishedAt, boolean published) {
+
+    public PostSummary withCounters(int views, int likes) {
+        return new PostSummary(id, slug, title, excerpt, coverImagePath, views, likes, readingMinutes, publishedAt, published);
+    }
+}
@@ -0,0 +1,21 @@
+package com.exo.dto;
+
+import java.util.List;
+
+/**
+ * The searchable text of one entity, captured when it is written. Each
+ * field carries a weight so matches in titles rank above matches in bodies.
+ */
+public record SearchDocument(String type, Long id, String title, String summary, List<Field> fields) {
+
+    public record Field(String text, float weight) {
+    }
+
+    public String key() {
+        return key(type, id);
+    }
+
+    public static String key(String type, Object id) {
+        return type + ":" + id;
+    }
+}
@@ -0,0 +1,7 @@
+package com.exo.dto;
+
+/**
+ * One ranked search result; {@code type} and {@code id} identify the entity.
+ */
+public record SearchHit(String type, Long id, String title, String summary, double score) {
+}
@@ -0,0 +1,7 @@
+package com.exo.dto;
+
+/**
+ * How many projects are linked to a technology.
+ */
+public record TechnologyUsage(Long id, String name, String category, long projects) {
+}
@@ -0,0 +1,7 @@
+package com.exo.dto;
+
+/**
+ * Projects created in one month ({@code yyyy-MM}).
+ */
+public record UsageTrendPoint(String period, long projects) {
+}
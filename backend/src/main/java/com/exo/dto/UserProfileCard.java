@@ -0,0 +1,26 @@
+package com.exo.dto;
+
+/**
+ * Closed projection of the scalar fields shown on a public profile card.
+ * Spring Data selects only these columns; no collection is touched.
+ */
+public interface UserProfileCard {
+
+    String getUsername();
+
+    String getNick();
+
+    String getRealName();
+
+    String getFirstSurname();
+
+    String getPfpString();
+
+    String getDistinctivePhrase();
+
+    String getDescription();
+
+    String getGithub();
+
+    String getLinkedIn();
+}
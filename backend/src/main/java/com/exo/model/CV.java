@@ -1,24 +1,21 @@
 package com.exo.model;
 
+import com.exo.service.PortfolioCacheListener;
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
 
-import javax.sql.rowset.serial.SerialBlob;
-import java.io.File;
-import java.io.IOException;
-import java.io.InputStream;
-import java.nio.file.Files;
-import java.sql.Blob;
-import java.sql.SQLException;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Setter
 @Getter
 @Entity
+@EntityListeners(PortfolioCacheListener.class)
 @Table(name = "cvs")
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"}) // Serializable as a lazy proxy from User.cv
 public class CV {
 
     /* ==========================
@@ -37,10 +34,10 @@ public class CV {
     @Column(name = "file_path")
     private String filePath;
 
-    // PDF file stored as a blob for convenient database storage
+    // Media store key (SHA-256) of the PDF file
     @JsonIgnore
-    @Lob
-    private Blob pdfBlob;
+    @Column(name = "pdf_hash", length = 64)
+    private String pdfHash;
 
     // Date the CV was uploaded
     private LocalDate uploadedDate = LocalDate.now();
@@ -62,11 +59,10 @@ public class CV {
     public CV() {
     }
 
-    public CV(String title, String filePath, String fileUrl) throws IOException, SQLException {
+    public CV(String title, String filePath, String fileUrl) {
         this.title = title;
         this.filePath = (filePath == null || filePath.isEmpty()) ? "/assets/defaultCV.pdf" : filePath;
         this.fileUrl = fileUrl;
-        this.pdfBlob = localFileToBlob(this.filePath);
     }
 
     /* ==========================
@@ -84,33 +80,4 @@ public class CV {
     protected void onUpdate() {
         updatedAt = LocalDateTime.now();
     }
-
-    /* ==========================
-     *      HELPER METHODS
-     * ==========================
-     */
-
-    public Blob localFileToBlob(String pdfPath) throws IOException, SQLException {
-        pdfPath = pdfPath.replace("/assets", "backend/src/main/resources/static/assets");
-        String onDocker = System.getenv("RUNNING_IN_DOCKER");
-        Blob fileBlob;
-
-        if (onDocker != null && onDocker.equals("true")) {
-            try (InputStream fileStream = getClass()
-                    .getResourceAsStream(pdfPath.replace("backend/src/main/resources/static", "/static"))) {
-                if (fileStream == null) {
-                    throw new IOException("PDF not found");
-                }
-                fileBlob = new SerialBlob(fileStream.readAllBytes());
-            }
-        } else {
-            String baseDir = System.getProperty("user.dir").replace("\\", "/").replace("/backend", "");
-            File pdfFile = new File(baseDir + "/" + pdfPath);
-            if (!pdfFile.exists() || !pdfFile.canRead()) {
-                throw new IOException("Cannot access PDF file: " + pdfFile.getAbsolutePath());
-            }
-            fileBlob = new SerialBlob(Files.readAllBytes(pdfFile.toPath()));
-        }
-        return fileBlob;
-    }
 }
@@ -1,17 +1,11 @@
 package com.exo.model;
 
+import com.exo.service.SearchIndexListener;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
 
-import javax.sql.rowset.serial.SerialBlob;
-import java.io.File;
-import java.io.IOException;
-import java.io.InputStream;
-import java.nio.file.Files;
-import java.sql.Blob;
-import java.sql.SQLException;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.Objects;
@@ -19,6 +13,7 @@ import java.util.Objects;
 @Setter
 @Getter
 @Entity
+@EntityListeners(SearchIndexListener.class)
 @Table(name = "certificates")
 public class Certificate {
 
@@ -52,8 +47,8 @@ public class Certificate {
     private String imagePath; // Relative path to certificate image
 
     @JsonIgnore
-    @Lob
-    private Blob imageBlob; // Stored blob of the certificate image
+    @Column(name = "image_hash", length = 64)
+    private String imageHash; // Media store key (SHA-256) of the certificate image
 
     @Column(name = "created_at")
     private LocalDateTime createdAt;
@@ -70,8 +65,7 @@ public class Certificate {
     }
 
     public Certificate(String title, String issuer, LocalDate issueDate, LocalDate expirationDate,
-                        String credentialId, String credentialUrl, String description, String imagePath)
-            throws IOException, SQLException {
+                        String credentialId, String credentialUrl, String description, String imagePath) {
         this.title = title;
         this.issuer = issuer;
         this.issueDate = issueDate;
@@ -80,7 +74,6 @@ public class Certificate {
         this.credentialUrl = credentialUrl;
         this.description = description;
         this.imagePath = (imagePath == null || imagePath.isEmpty()) ? "/assets/defaultCertificate.png" : imagePath;
-        this.imageBlob = localImageToBlob(this.imagePath);
     }
 
     /* ==========================
@@ -104,28 +97,6 @@ public class Certificate {
      * ==========================
      */
 
-    public Blob localImageToBlob(String imgPath) throws IOException, SQLException {
-        // This path should start with a "/" to be read from the root of the classpath.
-        // e.g., /static/assets/my-image.png
-        String resourcePath = imgPath.replaceFirst("/assets", "/static/assets");
-        if (!resourcePath.startsWith("/")) {
-            resourcePath = "/" + resourcePath;
-        }
-
-        try (InputStream imgStream = getClass().getResourceAsStream(resourcePath)) {
-            if (imgStream == null) {
-                // If the primary path fails, try to load a default image as a fallback.
-                try (InputStream defaultStream = getClass().getResourceAsStream("/static/assets/defaultCertificateImage.png")) {
-                    if (defaultStream == null) {
-                        throw new IOException("Default certificate image not found at /static/assets/defaultCertificateImage.png");
-                    }
-                    return new SerialBlob(defaultStream.readAllBytes());
-                }
-            }
-            return new SerialBlob(imgStream.readAllBytes());
-        }
-    }
-
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
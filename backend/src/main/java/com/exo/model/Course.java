@@ -1,17 +1,11 @@
 package com.exo.model;
 
+import com.exo.service.SearchIndexListener;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
 
-import javax.sql.rowset.serial.SerialBlob;
-import java.io.File;
-import java.io.IOException;
-import java.io.InputStream;
-import java.nio.file.Files;
-import java.sql.Blob;
-import java.sql.SQLException;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -21,6 +15,7 @@ import java.util.Objects;
 @Setter
 @Getter
 @Entity
+@EntityListeners(SearchIndexListener.class)
 @Table(name = "courses")
 public class Course {
 
@@ -64,8 +59,8 @@ public class Course {
     private String imagePath;
 
     @JsonIgnore
-    @Lob
-    private Blob imageBlob;
+    @Column(name = "image_hash", length = 64)
+    private String imageHash; // Media store key (SHA-256)
 
     // Optional relation to a dedicated Certificate entity when completion yields one
     @OneToOne(cascade = CascadeType.ALL)
@@ -86,8 +81,7 @@ public class Course {
     }
 
     public Course(String title, String provider, String platform, LocalDate startDate, LocalDate completionDate,
-                  Integer durationHours, String description, List<String> topics, String courseUrl, String imagePath)
-            throws IOException, SQLException {
+                  Integer durationHours, String description, List<String> topics, String courseUrl, String imagePath) {
         this.title = title;
         this.provider = provider;
         this.platform = platform;
@@ -98,7 +92,6 @@ public class Course {
         if (topics != null) this.topics = topics;
         this.courseUrl = courseUrl;
         this.imagePath = (imagePath == null || imagePath.isEmpty()) ? "/assets/defaultCourse.png" : imagePath;
-        this.imageBlob = localImageToBlob(this.imagePath);
     }
 
     /* ==========================
@@ -122,29 +115,24 @@ public class Course {
      * ==========================
      */
 
+    // Topics are indexed for search; touching updatedAt makes a topic-only edit an entity update
     public void addTopic(String topic) {
         this.topics.add(topic);
+        updatedAt = LocalDateTime.now();
     }
 
-    public Blob localImageToBlob(String imgPath) throws IOException, SQLException {
-        // This path should start with a "/" to be read from the root of the classpath.
-        // e.g., /static/assets/my-image.png
-        String resourcePath = imgPath.replaceFirst("/assets", "/static/assets");
-        if (!resourcePath.startsWith("/")) {
-            resourcePath = "/" + resourcePath;
+    public void removeTopic(String topic) {
+        if (this.topics.remove(topic)) {
+            updatedAt = LocalDateTime.now();
         }
+    }
 
-        try (InputStream imgStream = getClass().getResourceAsStream(resourcePath)) {
-            if (imgStream == null) {
-                // If the primary path fails, try to load a default image as a fallback.
-                try (InputStream defaultStream = getClass().getResourceAsStream("/static/assets/defaultCourseImage.png")) {
-                    if (defaultStream == null) {
-                        throw new IOException("Default course image not found at /static/assets/defaultCourseImage.png");
-                    }
-                    return new SerialBlob(defaultStream.readAllBytes());
-                }
-            }
-            return new SerialBlob(imgStream.readAllBytes());
+    public void setTopics(List<String> topics) {
+        List<String> next = topics != null ? topics : List.of();
+        if (!this.topics.equals(next)) {
+            this.topics.clear();
+            this.topics.addAll(next);
+            updatedAt = LocalDateTime.now();
         }
     }
 
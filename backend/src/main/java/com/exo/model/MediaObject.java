@@ -0,0 +1,69 @@
+package com.exo.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * A stored binary keyed by the SHA-256 of its contents. Entities reference
+ * media by hash only; identical files are stored once and shared.
+ */
+@Setter
+@Getter
+@Entity
+@Table(name = "media_objects")
+@NoArgsConstructor
+public class MediaObject {
+
+    /* ==========================
+     *          FIELDS
+     * ==========================
+     */
+
+    // Lower-case hex SHA-256 of the content
+    @Id
+    @Column(length = 64)
+    private String hash;
+
+    @Column(nullable = false)
+    private long size;
+
+    @Column(name = "content_type", length = 100)
+    private String contentType;
+
+    // Number of entity slots currently pointing at this object
+    @Column(name = "ref_count", nullable = false)
+    private int refCount = 0;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    // Last store or release; the garbage-collection grace period runs from here
+    @Column(name = "last_touched")
+    private LocalDateTime lastTouched;
+
+    /* ==========================
+     *       CONSTRUCTORS
+     * ==========================
+     */
+
+    public MediaObject(String hash, long size, String contentType) {
+        this.hash = hash;
+        this.size = size;
+        this.contentType = contentType;
+    }
+
+    /* ==========================
+     *       LIFECYCLE HOOKS
+     * ==========================
+     */
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        lastTouched = createdAt;
+    }
+}
@@ -0,0 +1,66 @@
+package com.exo.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * A downscaled rendition of a stored image. Both the original and the variant
+ * live in the media store; this row only links them for a given width bucket.
+ */
+@Setter
+@Getter
+@Entity
+@Table(name = "media_variants",
+       uniqueConstraints = @UniqueConstraint(columnNames = {"source_hash", "width"}))
+@NoArgsConstructor
+public class MediaVariant {
+
+    /* ==========================
+     *          FIELDS
+     * ==========================
+     */
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // Hash of the original image
+    @Column(name = "source_hash", length = 64, nullable = false)
+    private String sourceHash;
+
+    // Width bucket in pixels (e.g., 160, 480, 1280)
+    @Column(nullable = false)
+    private int width;
+
+    // Hash of the resized image
+    @Column(name = "variant_hash", length = 64, nullable = false)
+    private String variantHash;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    /* ==========================
+     *       CONSTRUCTORS
+     * ==========================
+     */
+
+    public MediaVariant(String sourceHash, int width, String variantHash) {
+        this.sourceHash = sourceHash;
+        this.width = width;
+        this.variantHash = variantHash;
+    }
+
+    /* ==========================
+     *       LIFECYCLE HOOKS
+     * ==========================
+     */
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+}
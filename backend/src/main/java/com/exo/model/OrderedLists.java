@@ -0,0 +1,34 @@
+package com.exo.model;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Edits for {@code @OrderColumn} element collections. Hibernate diffs such
+ * lists by position at flush, so changing them in place writes one UPDATE
+ * per changed position and INSERTs or DELETEs only past the common length.
+ */
+public final class OrderedLists {
+
+    private OrderedLists() {
+    }
+
+    /**
+     * Makes {@code target} equal to {@code source}, touching only the
+     * positions whose value differs.
+     */
+    public static <T> void replace(List<T> target, List<? extends T> source) {
+        int common = Math.min(target.size(), source.size());
+        for (int i = 0; i < common; i++) {
+            if (!Objects.equals(target.get(i), source.get(i))) {
+                target.set(i, source.get(i));
+            }
+        }
+        while (target.size() > source.size()) {
+            target.remove(target.size() - 1);
+        }
+        for (int i = common; i < source.size(); i++) {
+            target.add(source.get(i));
+        }
+    }
+}
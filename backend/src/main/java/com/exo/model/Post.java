@@ -1,18 +1,13 @@
 package com.exo.model;
 
+import com.exo.service.PortfolioCacheListener;
+import com.exo.service.SearchIndexListener;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonView;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
 
-import javax.sql.rowset.serial.SerialBlob;
-import java.io.File;
-import java.io.IOException;
-import java.io.InputStream;
-import java.nio.file.Files;
-import java.sql.Blob;
-import java.sql.SQLException;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
@@ -20,7 +15,12 @@ import java.util.List;
 @Setter
 @Getter
 @Entity
-@Table(name = "posts")
+@EntityListeners({SearchIndexListener.class, PortfolioCacheListener.class})
+@Table(name = "posts", indexes = {
+        @Index(name = "idx_posts_published_views", columnList = "published, views"),
+        @Index(name = "idx_posts_published_likes", columnList = "published, likes"),
+        @Index(name = "idx_posts_published_at", columnList = "published, published_at")
+})
 public class Post {
 
     /* ==========================
@@ -69,12 +69,14 @@ public class Post {
     private String coverImagePath;
 
     @JsonIgnore
-    @Lob
-    private Blob coverImageBlob;
+    @Column(name = "cover_image_hash", length = 64)
+    private String coverImageHash; // Media store key (SHA-256)
 
     /* ========== TAGS ========== */
+    // Indexed so adding a tag inserts one row instead of rewriting the collection
     @ElementCollection(fetch = FetchType.EAGER)
     @CollectionTable(name = "post_tags", joinColumns = @JoinColumn(name = "post_id"))
+    @OrderColumn(name = "position")
     @Column(name = "tag")
     @JsonView(BasicInfo.class)
     private List<String> tags = new ArrayList<>();
@@ -82,10 +84,10 @@ public class Post {
     /* ========== GALLERY ========== */
     @ElementCollection(fetch = FetchType.LAZY)
     @CollectionTable(name = "post_gallery", joinColumns = @JoinColumn(name = "post_id"))
-    @Column(name = "image_blob")
-    @Lob
+    @OrderColumn(name = "image_index")
+    @Column(name = "image_hash", length = 64)
     @JsonIgnore
-    private List<Blob> gallery = new ArrayList<>();
+    private List<String> galleryHashes = new ArrayList<>();
 
     /* ========== METRICS ========== */
     @JsonView(BasicInfo.class)
@@ -106,6 +108,7 @@ public class Post {
     private LocalDateTime updatedAt;
 
     @JsonView(BasicInfo.class)
+    @Column(name = "published_at")
     private LocalDateTime publishedAt;
 
     @JsonView(BasicInfo.class)
@@ -125,13 +128,12 @@ public class Post {
     }
 
     public Post(String title, String slug, String excerpt, String content, String coverImagePath,
-                List<String> tags, boolean published, User author) throws IOException, SQLException {
+                List<String> tags, boolean published, User author) {
         this.title = title;
         this.slug = slug;
         this.excerpt = excerpt;
         this.content = content;
         this.coverImagePath = (coverImagePath == null || coverImagePath.isEmpty()) ? "/assets/defaultPostCover.png" : coverImagePath;
-        this.coverImageBlob = localImageToBlob(this.coverImagePath);
         if (tags != null) this.tags = tags;
         this.published = published;
         this.author = author;
@@ -152,18 +154,34 @@ public class Post {
     @PreUpdate
     protected void onUpdate() {
         updatedAt = LocalDateTime.now();
+        if (published && publishedAt == null) publishedAt = updatedAt;
     }
 
     /* ==========================
      *      HELPER METHODS
      * ==========================
      */
+    /*
+     * Tag edits touch updatedAt: a change to the tags collection alone does
+     * not dirty the row, so search and autocomplete listeners would miss it.
+     */
     public void addTag(String tag) {
         this.tags.add(tag);
+        updatedAt = LocalDateTime.now();
     }
 
     public void removeTag(String tag) {
-        this.tags.remove(tag);
+        if (this.tags.remove(tag)) {
+            updatedAt = LocalDateTime.now();
+        }
+    }
+
+    public void setTags(List<String> tags) {
+        List<String> next = tags != null ? tags : List.of();
+        if (!this.tags.equals(next)) {
+            OrderedLists.replace(this.tags, next);
+            updatedAt = LocalDateTime.now();
+        }
     }
 
     public void incrementViews() {
@@ -174,36 +192,19 @@ public class Post {
         this.likes++;
     }
 
-    public void addGalleryImage(String imgPath) throws IOException, SQLException {
-        this.gallery.add(localImageToBlob(imgPath));
-    }
-
-    public void removeGalleryImage(int index) {
-        if (index >= 0 && index < this.gallery.size()) {
-            this.gallery.remove(index);
-        }
+    public void addGalleryImage(String imageHash) {
+        this.galleryHashes.add(imageHash);
     }
 
-    public Blob localImageToBlob(String imgPath) throws IOException, SQLException {
-        // This path should start with a "/" to be read from the root of the classpath.
-        // e.g., /static/assets/my-image.png
-        String resourcePath = imgPath.replaceFirst("/assets", "/static/assets");
-        if (!resourcePath.startsWith("/")) {
-            resourcePath = "/" + resourcePath;
-        }
-
-        try (InputStream imgStream = getClass().getResourceAsStream(resourcePath)) {
-            if (imgStream == null) {
-                // If the primary path fails, try to load a default image as a fallback.
-                try (InputStream defaultStream = getClass().getResourceAsStream("/static/assets/defaultPostCover.png")) {
-                    if (defaultStream == null) {
-                        throw new IOException("Default post image not found at /static/assets/defaultPostCover.png");
-                    }
-                    return new SerialBlob(defaultStream.readAllBytes());
-                }
-            }
-            return new SerialBlob(imgStream.readAllBytes());
+    /**
+     * Removes the gallery entry at {@code index} and returns its media hash,
+     * or null when the index is out of range.
+     */
+    public String removeGalleryImage(int index) {
+        if (index >= 0 && index < this.galleryHashes.size()) {
+            return this.galleryHashes.remove(index);
         }
+        return null;
     }
 
     private int estimateReadingMinutes(String text) {
@@ -221,9 +222,9 @@ public class Post {
                 ", excerpt='" + excerpt + '\'' +
                 ", content='" + content + '\'' +
                 ", coverImagePath='" + coverImagePath + '\'' +
-                ", coverImageBlob=" + coverImageBlob +
+                ", coverImageHash='" + coverImageHash + '\'' +
                 ", tags=" + tags +
-                ", gallery=" + gallery +
+                ", galleryHashes=" + galleryHashes +
                 ", likes=" + likes +
                 ", views=" + views +
                 ", readingMinutes=" + readingMinutes +
@@ -1,18 +1,14 @@
 package com.exo.model;
 
+import com.exo.service.PortfolioCacheListener;
+import com.exo.service.SearchIndexListener;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonView;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.BatchSize;
 
-import javax.sql.rowset.serial.SerialBlob;
-import java.io.File;
-import java.io.IOException;
-import java.io.InputStream;
-import java.nio.file.Files;
-import java.sql.Blob;
-import java.sql.SQLException;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
@@ -20,7 +16,11 @@ import java.util.List;
 @Setter
 @Getter
 @Entity
-@Table(name = "projects")
+@EntityListeners({SearchIndexListener.class, PortfolioCacheListener.class})
+@Table(name = "projects", indexes = {
+        @Index(name = "idx_projects_created_at_id", columnList = "created_at, id"),
+        @Index(name = "idx_projects_title_id", columnList = "title, id")
+})
 public class Project {
 
     /*
@@ -62,10 +62,9 @@ public class Project {
      * ==========================
      */
 
-    @Setter
     @JsonIgnore
-    @Lob
-    private Blob headerPicture;
+    @Column(name = "header_picture_hash", length = 64)
+    private String headerPictureHash; // Media store key (SHA-256)
 
     @JsonView(BasicInfo.class)
     private String headerPictureString; // Resource path for quick access
@@ -75,10 +74,9 @@ public class Project {
      * ==========================
      */
 
-    @Setter
     @JsonIgnore
-    @Lob
-    private Blob icon;
+    @Column(name = "icon_hash", length = 64)
+    private String iconHash; // Media store key (SHA-256)
 
     @JsonView(BasicInfo.class)
     private String iconString; // Resource path for quick access
@@ -88,16 +86,18 @@ public class Project {
      * ==========================
      */
 
+    // Positions are persisted so a single image can be read by (project_id, image_index)
     @ElementCollection(fetch = FetchType.LAZY)
     @CollectionTable(name = "project_gallery", joinColumns = @JoinColumn(name = "project_id"))
-    @Column(name = "image_blob")
-    @Lob
-    @JsonIgnore // Blobs are heavy; expose paths separately via DTO if needed
-    private List<Blob> gallery = new ArrayList<>();
+    @OrderColumn(name = "image_index")
+    @Column(name = "image_hash", length = 64)
+    @JsonIgnore // Media store keys; exposed to clients through galleryImagePaths
+    private List<String> galleryHashes = new ArrayList<>();
 
     @JsonView(GalleryInfo.class)
     @ElementCollection(fetch = FetchType.LAZY)
     @CollectionTable(name = "project_gallery_paths", joinColumns = @JoinColumn(name = "project_id"))
+    @OrderColumn(name = "image_index")
     @Column(name = "image_path")
     private List<String> galleryImagePaths = new ArrayList<>();
 
@@ -106,11 +106,21 @@ public class Project {
      * ==========================
      */
 
-    @ElementCollection(fetch = FetchType.EAGER)
-    @CollectionTable(name = "project_technologies", joinColumns = @JoinColumn(name = "project_id"))
-    @Column(name = "technology")
-    @JsonView(BasicInfo.class)
-    private List<String> technologies = new ArrayList<>();
+    // Ordered links to the shared Technology rows; indexed by technology for reverse lookups
+    @JsonIgnore
+    @ManyToMany(fetch = FetchType.LAZY)
+    @JoinTable(name = "project_technology_links",
+            joinColumns = @JoinColumn(name = "project_id"),
+            inverseJoinColumns = @JoinColumn(name = "technology_id"),
+            indexes = @Index(name = "idx_project_technology_links_technology", columnList = "technology_id, project_id"))
+    @OrderColumn(name = "position")
+    @BatchSize(size = 32)
+    private List<Technology> technologyLinks = new ArrayList<>();
+
+    // Names received from a request or initializer, resolved to links by ProjectService
+    @JsonIgnore
+    @Transient
+    private List<String> pendingTechnologies;
 
     /* ==========================
      *        PROJECT LINKS
@@ -173,11 +183,11 @@ public class Project {
     public Project(String title, String description, boolean finished, String headerPicturePath,
                    List<String> technologies, String liveDemoUrl, String projectWebsiteUrl,
                    String github, String instagram, String facebook, String xUsername,
-                   String mastodon, String bluesky, String tiktok, String iconPath, List<String> galleryImagePaths) throws IOException, SQLException {
+                   String mastodon, String bluesky, String tiktok, String iconPath, List<String> galleryImagePaths) {
         this.title = title;
         this.description = description;
         this.finished = finished;
-        this.technologies = technologies != null ? technologies : new ArrayList<>();
+        setTechnologies(technologies);
         this.liveDemoUrl = liveDemoUrl;
         this.projectWebsiteUrl = projectWebsiteUrl;
         this.github = buildGithubUrl(github);
@@ -193,7 +203,6 @@ public class Project {
         } else {
             this.headerPictureString = headerPicturePath;
         }
-        this.headerPicture = localImageToBlob(this.headerPictureString);
 
         // Icon handling
         if (iconPath == null || iconPath.isEmpty()) {
@@ -201,13 +210,10 @@ public class Project {
         } else {
             this.iconString = iconPath;
         }
-        this.icon = localImageToBlob(this.iconString);
 
+        // Media hashes are resolved from these paths by the service layer
         if (galleryImagePaths != null) {
-            for (String path : galleryImagePaths) {
-                this.gallery.add(localImageToBlob(path));
-                this.galleryImagePaths.add(path);
-            }
+            this.galleryImagePaths.addAll(galleryImagePaths);
         }
     }
 
@@ -305,61 +311,72 @@ public class Project {
      * ==========================
      */
 
-    public void addGalleryImage(String imgPath) throws IOException, SQLException {
+    public void addGalleryImage(String imgPath, String imageHash) {
         this.galleryImagePaths.add(imgPath);
-        this.gallery.add(localImageToBlob(imgPath));
+        this.galleryHashes.add(imageHash);
     }
 
-    public void removeGalleryImage(int index) {
-        if (index >= 0 && index < this.gallery.size()) {
-            this.gallery.remove(index);
+    /**
+     * Removes the gallery entry at {@code index} and returns its media hash,
+     * or null when the index is out of range.
+     */
+    public String removeGalleryImage(int index) {
+        if (index >= 0 && index < this.galleryHashes.size()) {
             if (index < this.galleryImagePaths.size()) {
                 this.galleryImagePaths.remove(index);
             }
+            return this.galleryHashes.remove(index);
         }
+        return null;
     }
 
-    public void addTechnology(String technology) {
-        if (technology != null && !technology.trim().isEmpty()) {
-            this.technologies.add(technology.trim());
+    /**
+     * Technology names in display order. Until the service layer resolves
+     * them, names set through {@link #setTechnologies} are returned as given.
+     */
+    @JsonView(BasicInfo.class)
+    public List<String> getTechnologies() {
+        if (pendingTechnologies != null) {
+            return pendingTechnologies;
         }
+        return technologyLinks.stream().map(Technology::getName).toList();
     }
 
-    public void removeTechnology(String technology) {
-        this.technologies.remove(technology);
+    public void setTechnologies(List<String> technologies) {
+        this.pendingTechnologies = technologies != null ? new ArrayList<>(technologies) : new ArrayList<>();
     }
 
-    public void setFinished(boolean finished) {
-        this.finished = finished;
+    /**
+     * Replaces the technology links. Touches {@code updatedAt} when the
+     * links change so the update reaches entity listeners, which do not
+     * fire for collection-only changes.
+     */
+    public void linkTechnologies(List<Technology> technologies) {
+        this.pendingTechnologies = null;
+        if (technologyLinks.equals(technologies)) {
+            return;
+        }
+        technologyLinks.clear();
+        technologyLinks.addAll(technologies);
+        updatedAt = LocalDateTime.now();
     }
 
-    public Blob localImageToBlob(String imgPath) throws IOException, SQLException {
-        // This path should start with a "/" to be read from the root of the classpath.
-        // e.g., /static/assets/my-image.png
-        String resourcePath = imgPath.replaceFirst("/assets", "/static/assets");
-        if (!resourcePath.startsWith("/")) {
-            resourcePath = "/" + resourcePath;
+    public void addTechnology(Technology technology) {
+        if (technology != null && !technologyLinks.contains(technology)) {
+            technologyLinks.add(technology);
+            updatedAt = LocalDateTime.now();
         }
+    }
 
-        try (InputStream imgStream = getClass().getResourceAsStream(resourcePath)) {
-            if (imgStream == null) {
-                // If the primary path fails, try to load a default image as a fallback.
-                try (InputStream defaultStream = getClass().getResourceAsStream("/static/assets/defaultProjectHeader.png")) {
-                    if (defaultStream == null) {
-                        throw new IOException("Default project image not found at /static/assets/defaultProjectHeader.png");
-                    }
-                    return new SerialBlob(defaultStream.readAllBytes());
-                }
-            }
-            return new SerialBlob(imgStream.readAllBytes());
+    public void removeTechnology(String technology) {
+        String normalized = Technology.normalize(technology);
+        if (technologyLinks.removeIf(t -> t.getNormalizedName().equals(normalized))) {
+            updatedAt = LocalDateTime.now();
         }
     }
 
-    public Blob localImageToBlob(String imgPath, String fallbackPath) throws IOException, SQLException {
-        if (imgPath == null || imgPath.trim().isEmpty()) {
-            imgPath = fallbackPath;
-        }
-        return localImageToBlob(imgPath);
+    public void setFinished(boolean finished) {
+        this.finished = finished;
     }
 
     @Override
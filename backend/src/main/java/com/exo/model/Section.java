@@ -1,11 +1,14 @@
 package com.exo.model;
 
+import com.exo.service.PortfolioCacheListener;
+import com.exo.service.SearchIndexListener;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
 import java.time.LocalDateTime;
 
 @Entity
+@EntityListeners({SearchIndexListener.class, PortfolioCacheListener.class})
 @Table(name = "sections")
 @Getter @Setter
 public class Section {
@@ -0,0 +1,61 @@
+package com.exo.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * What the startup seeders last applied: one row per seed set holding the
+ * checksum of its manifest, and one row per bundled asset holding the
+ * asset's fingerprint and the media hash it was imported as.
+ */
+@Setter
+@Getter
+@Entity
+@Table(name = "seed_state")
+@NoArgsConstructor
+public class SeedState {
+
+    /* ==========================
+     *          FIELDS
+     * ==========================
+     */
+
+    // "set:<name>" or "asset:<classpath path>"
+    @Id
+    @Column(name = "seed_key")
+    private String key;
+
+    @Column(nullable = false, length = 64)
+    private String checksum;
+
+    // Only for assets
+    @Column(name = "media_hash", length = 64)
+    private String mediaHash;
+
+    @Column(name = "applied_at")
+    private LocalDateTime appliedAt;
+
+    /* ==========================
+     *       CONSTRUCTORS
+     * ==========================
+     */
+
+    public SeedState(String key) {
+        this.key = key;
+    }
+
+    /* ==========================
+     *       LIFECYCLE HOOKS
+     * ==========================
+     */
+
+    @PrePersist
+    @PreUpdate
+    protected void onApply() {
+        appliedAt = LocalDateTime.now();
+    }
+}
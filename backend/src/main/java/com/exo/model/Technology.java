@@ -1,22 +1,23 @@
 package com.exo.model;
 
+import com.exo.service.PortfolioCacheListener;
+import com.exo.service.SearchIndexListener;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
-import javax.sql.rowset.serial.SerialBlob;
-import java.io.IOException;
-import java.io.InputStream;
-import java.sql.Blob;
-import java.sql.SQLException;
 import java.time.LocalDateTime;
+import java.util.Locale;
 
 @Setter
 @Getter
 @Entity
-@Table(name = "technologies")
+@EntityListeners({SearchIndexListener.class, PortfolioCacheListener.class})
+@Table(name = "technologies", indexes = {
+        @Index(name = "ux_technologies_normalized_name", columnList = "normalized_name", unique = true)
+})
 @NoArgsConstructor
 public class Technology {
 
@@ -27,6 +28,11 @@ public class Technology {
     @Column(nullable = false, unique = true)
     private String name;
 
+    // Trimmed, lower-cased name; project technology lookups resolve through this
+    @JsonIgnore
+    @Column(name = "normalized_name", nullable = false)
+    private String normalizedName;
+
     @Column(length = 1000)
     private String description;
 
@@ -37,8 +43,8 @@ public class Technology {
     private String category;
 
     @JsonIgnore
-    @Lob
-    private Blob icon;
+    @Column(name = "icon_hash", length = 64)
+    private String iconHash; // Media store key (SHA-256)
 
     private String iconString;
 
@@ -48,8 +54,9 @@ public class Technology {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
-    public Technology(String name, String description, String link, String iconPath, String category) throws IOException, SQLException {
+    public Technology(String name, String description, String link, String iconPath, String category) {
         this.name = name;
+        this.normalizedName = normalize(name);
         this.description = description;
         this.link = link;
         this.category = category;
@@ -58,46 +65,29 @@ public class Technology {
         } else {
             this.iconString = iconPath;
         }
-        this.icon = localImageToBlob(this.iconString);
-    }
-
-    public Blob localImageToBlob(String imgPath) throws IOException, SQLException {
-        // This path should start with a "/" to be read from the root of the classpath.
-        // e.g., /static/assets/my-image.png
-        String resourcePath = imgPath.replaceFirst("/assets", "/static/assets");
-        if (!resourcePath.startsWith("/")) {
-            resourcePath = "/" + resourcePath;
-        }
-
-        try (InputStream imgStream = getClass().getResourceAsStream(resourcePath)) {
-            if (imgStream == null) {
-                // Fallback to a default image. A more specific default could be created.
-                try (InputStream defaultStream = getClass().getResourceAsStream("/static/assets/defaultProjectIcon.png")) {
-                    if (defaultStream == null) {
-                        throw new IOException("Default technology icon not found at /static/assets/defaultProjectIcon.png");
-                    }
-                    return new SerialBlob(defaultStream.readAllBytes());
-                }
-            }
-            return new SerialBlob(imgStream.readAllBytes());
-        }
     }
 
-    public Blob localImageToBlob(String imgPath, String fallbackPath) throws IOException, SQLException {
-        if (imgPath == null || imgPath.trim().isEmpty()) {
-            imgPath = fallbackPath;
+    /**
+     * Case-folds a technology name so "spring boot" and " Spring Boot "
+     * resolve to the same row. Returns null for blank names.
+     */
+    public static String normalize(String name) {
+        if (name == null || name.isBlank()) {
+            return null;
         }
-        return localImageToBlob(imgPath);
+        return name.trim().toLowerCase(Locale.ROOT);
     }
 
     @PrePersist
     protected void onCreate() {
+        normalizedName = normalize(name);
         createdAt = LocalDateTime.now();
         updatedAt = LocalDateTime.now();
     }
 
     @PreUpdate
     protected void onUpdate() {
+        normalizedName = normalize(name);
         updatedAt = LocalDateTime.now();
     }
 }
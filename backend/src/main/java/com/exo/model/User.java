@@ -1,21 +1,16 @@
 package com.exo.model;
 
+import com.exo.service.PortfolioCacheListener;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonView;
 import jakarta.persistence.*;
 import lombok.Getter;
+import org.hibernate.annotations.BatchSize;
 import lombok.Setter;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
-import javax.sql.rowset.serial.SerialBlob;
-import java.io.File;
-import java.io.IOException;
-import java.io.InputStream;
-import java.nio.file.Files;
-import java.sql.Blob;
-import java.sql.SQLException;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
@@ -27,6 +22,7 @@ import java.util.Objects;
 @Setter
 @Getter
 @Entity
+@EntityListeners(PortfolioCacheListener.class)
 @Table(name = "users")
 public class User implements UserDetails {
 
@@ -92,10 +88,9 @@ public class User implements UserDetails {
      * ==========================
      */
 
-    @Setter
     @JsonIgnore
-    @Lob
-    private Blob pfp;
+    @Column(name = "pfp_hash", length = 64)
+    private String pfpHash; // Media store key (SHA-256)
 
     @JsonView(BasicInfo.class)
     private String pfpString; // Resource path for quick access
@@ -105,12 +100,13 @@ public class User implements UserDetails {
      * ==========================
      */
 
-    @ElementCollection(fetch = FetchType.EAGER)
+    @ElementCollection(fetch = FetchType.LAZY)
+    @BatchSize(size = 16)
     @CollectionTable(name = "user_gallery", joinColumns = @JoinColumn(name = "username"))
-    @Column(name = "image_blob")
-    @Lob
-    @JsonIgnore // Blobs are heavy; expose paths separately via DTO if needed
-    private List<Blob> gallery = new ArrayList<>();
+    @OrderColumn(name = "image_index")
+    @Column(name = "image_hash", length = 64)
+    @JsonIgnore // Media store keys (SHA-256)
+    private List<String> galleryHashes = new ArrayList<>();
 
     /* ==========================
      *        SOCIAL LINKS
@@ -146,19 +142,25 @@ public class User implements UserDetails {
      * ==========================
      */
 
+    // Every association is LAZY and batch-fetched; use cases pick what to load
+    // through UserService (auth principal, profile card, full profile)
+
     // One user can showcase many projects
-    @OneToMany(cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.EAGER)
+    @OneToMany(cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
+    @BatchSize(size = 16)
     private List<Project> projects = new ArrayList<>();
 
     // Certificates & Courses
-    @OneToMany(cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.EAGER)
+    @OneToMany(cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
+    @BatchSize(size = 16)
     private List<Certificate> certificates = new ArrayList<>();
 
-    @OneToMany(cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.EAGER)
+    @OneToMany(cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
+    @BatchSize(size = 16)
     private List<Course> courses = new ArrayList<>();
 
     // Single CV reference
-    @OneToOne(cascade = CascadeType.ALL, fetch = FetchType.EAGER)
+    @OneToOne(cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private CV cv;
 
     /* ==========================
@@ -174,14 +176,19 @@ public class User implements UserDetails {
     @Column(length = 2000)
     private String description;
 
-    @ElementCollection(fetch = FetchType.EAGER)
+    // Indexed so adding a like or dislike inserts one row instead of rewriting the collection
+    @ElementCollection(fetch = FetchType.LAZY)
+    @BatchSize(size = 16)
     @CollectionTable(name = "user_likes", joinColumns = @JoinColumn(name = "username"))
+    @OrderColumn(name = "position")
     @Column(name = "like_value")
     @JsonView(BasicInfo.class)
     private List<String> likes = new ArrayList<>();
 
-    @ElementCollection(fetch = FetchType.EAGER)
+    @ElementCollection(fetch = FetchType.LAZY)
+    @BatchSize(size = 16)
     @CollectionTable(name = "user_dislikes", joinColumns = @JoinColumn(name = "username"))
+    @OrderColumn(name = "position")
     @Column(name = "dislike_value")
     @JsonView(BasicInfo.class)
     private List<String> dislikes = new ArrayList<>();
@@ -212,7 +219,7 @@ public class User implements UserDetails {
                 String realName, String firstSurname, String secondSurname, LocalDate dateOfBirth,
                 String github, String instagram, String facebook, String xUsername, String mastodon,
                 String bluesky, String tiktok, String linkedIn,
-                String distinctivePhrase, String description) throws IOException, SQLException {
+                String distinctivePhrase, String description) {
         this.username = username;
         this.password = password;
         this.nick = nick;
@@ -238,7 +245,6 @@ public class User implements UserDetails {
         } else {
             this.pfpString = pfpPath;
         }
-        this.pfp = localImageToBlob(this.pfpString);
     }
 
     /* ==========================
@@ -347,14 +353,19 @@ public class User implements UserDetails {
      * ==========================
      */
 
-    public void addGalleryImage(String imgPath) throws IOException, SQLException {
-        this.gallery.add(localImageToBlob(imgPath));
+    public void addGalleryImage(String imageHash) {
+        this.galleryHashes.add(imageHash);
     }
 
-    public void removeGalleryImage(int index) {
-        if (index >= 0 && index < this.gallery.size()) {
-            this.gallery.remove(index);
+    /**
+     * Removes the gallery entry at {@code index} and returns its media hash,
+     * or null when the index is out of range.
+     */
+    public String removeGalleryImage(int index) {
+        if (index >= 0 && index < this.galleryHashes.size()) {
+            return this.galleryHashes.remove(index);
         }
+        return null;
     }
 
     public void addProject(Project project) {
@@ -377,35 +388,6 @@ public class User implements UserDetails {
         this.dislikes.add(dislike);
     }
 
-    public Blob localImageToBlob(String imgPath) throws IOException, SQLException {
-        // This path should start with a "/" to be read from the root of the classpath.
-        // e.g., /static/assets/my-image.png
-        String resourcePath = imgPath.replaceFirst("/assets", "/static/assets");
-        if (!resourcePath.startsWith("/")) {
-            resourcePath = "/" + resourcePath;
-        }
-
-        try (InputStream imgStream = getClass().getResourceAsStream(resourcePath)) {
-            if (imgStream == null) {
-                // If the primary path fails, try to load the default image as a fallback.
-                try (InputStream defaultStream = getClass().getResourceAsStream("/static/assets/defaultProfilePicture.png")) {
-                    if (defaultStream == null) {
-                        throw new IOException("Default profile picture not found at /static/assets/defaultProfilePicture.png");
-                    }
-                    return new SerialBlob(defaultStream.readAllBytes());
-                }
-            }
-            return new SerialBlob(imgStream.readAllBytes());
-        }
-    }
-
-    public Blob localImageToBlob(String imgPath, String fallbackPath) throws IOException, SQLException {
-        if (imgPath == null || imgPath.trim().isEmpty()) {
-            imgPath = fallbackPath;
-        }
-        return localImageToBlob(imgPath);
-    }
-
     @Override
     public String toString() {
         return this.username;
@@ -1,12 +1,32 @@
 package com.exo.repository;
 
+import com.exo.dto.CVSummary;
 import com.exo.model.CV;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface CVRepository extends JpaRepository<CV, Long> {
 
+    String SUMMARY = "select new com.exo.dto.CVSummary(c.id, c.title, c.uploadedDate, c.fileUrl) from CV c";
+
     // Get the latest uploaded CV (by uploadedDate desc)
     CV findTopByOrderByUploadedDateDesc();
+
+    @Query("SELECT c.pdfHash FROM CV c WHERE c.id = :id")
+    String findPdfHashById(@Param("id") Long id);
+
+    // Paged listing over the summary projection
+    @Query(value = SUMMARY, countQuery = "select count(c) from CV c")
+    Page<CVSummary> findSummaries(Pageable pageable);
+
+    // Keyset listing, newest first: rows with an id below the cursor
+    @Query(SUMMARY + " where c.id < :id order by c.id desc")
+    List<CVSummary> findSummariesBefore(@Param("id") long id, Pageable pageable);
 }
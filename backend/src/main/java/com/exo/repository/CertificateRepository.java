@@ -1,7 +1,12 @@
 package com.exo.repository;
 
+import com.exo.dto.CertificateSummary;
 import com.exo.model.Certificate;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -9,9 +14,20 @@ import java.util.List;
 @Repository
 public interface CertificateRepository extends JpaRepository<Certificate, Long> {
 
+    String SUMMARY = "select new com.exo.dto.CertificateSummary(c.id, c.title, c.issuer, c.issueDate, "
+            + "c.expirationDate, c.imagePath) from Certificate c";
+
     // Find certificates by issuer (exact match)
     List<Certificate> findByIssuer(String issuer);
 
     // Case-insensitive search by title keyword(s)
     List<Certificate> findByTitleContainingIgnoreCase(String keyword);
+
+    // Paged listing over the summary projection
+    @Query(value = SUMMARY, countQuery = "select count(c) from Certificate c")
+    Page<CertificateSummary> findSummaries(Pageable pageable);
+
+    // Keyset listing, newest first: rows with an id below the cursor
+    @Query(SUMMARY + " where c.id < :id order by c.id desc")
+    List<CertificateSummary> findSummariesBefore(@Param("id") long id, Pageable pageable);
 }
@@ -1,7 +1,12 @@
 package com.exo.repository;
 
+import com.exo.dto.CourseSummary;
 import com.exo.model.Course;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -9,6 +14,9 @@ import java.util.List;
 @Repository
 public interface CourseRepository extends JpaRepository<Course, Long> {
 
+    String SUMMARY = "select new com.exo.dto.CourseSummary(c.id, c.title, c.provider, c.platform, c.startDate, "
+            + "c.completionDate, c.durationHours, c.imagePath) from Course c";
+
     // Find courses by provider (e.g., Coursera, MIT)
     List<Course> findByProvider(String provider);
 
@@ -17,4 +25,12 @@ public interface CourseRepository extends JpaRepository<Course, Long> {
 
     // Case-insensitive search on course title
     List<Course> findByTitleContainingIgnoreCase(String keyword);
+
+    // Paged listing over the summary projection (no topics or linked certificate)
+    @Query(value = SUMMARY, countQuery = "select count(c) from Course c")
+    Page<CourseSummary> findSummaries(Pageable pageable);
+
+    // Keyset listing, newest first: rows with an id below the cursor
+    @Query(SUMMARY + " where c.id < :id order by c.id desc")
+    List<CourseSummary> findSummariesBefore(@Param("id") long id, Pageable pageable);
 }
@@ -0,0 +1,71 @@
+package com.exo.repository;
+
+import com.exo.model.MediaObject;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface MediaObjectRepository extends JpaRepository<MediaObject, String> {
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE MediaObject m SET m.refCount = m.refCount + 1 WHERE m.hash = :hash")
+    int incrementRefCount(@Param("hash") String hash);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE MediaObject m SET m.refCount = m.refCount - 1, m.lastTouched = :now WHERE m.hash = :hash AND m.refCount > 0")
+    int decrementRefCount(@Param("hash") String hash, @Param("now") LocalDateTime now);
+
+    // Restarts the grace period of objects being stored again
+    @Modifying
+    @Transactional
+    @Query("UPDATE MediaObject m SET m.lastTouched = :now WHERE m.hash IN :hashes")
+    int touch(@Param("hashes") Collection<String> hashes, @Param("now") LocalDateTime now);
+
+    // Objects nobody points at anymore and nobody has stored or released within the grace period
+    @Query("SELECT m FROM MediaObject m WHERE m.refCount <= 0 AND COALESCE(m.lastTouched, m.createdAt) < :cutoff")
+    List<MediaObject> findUnreferencedSince(@Param("cutoff") LocalDateTime cutoff);
+
+    /*
+     * Deletes the row only if it is still unreferenced and idle. The conditions
+     * are re-checked under the row lock, so a concurrent store or retain wins.
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM MediaObject m WHERE m.hash = :hash AND m.refCount <= 0" +
+            " AND COALESCE(m.lastTouched, m.createdAt) < :cutoff")
+    int deleteIfUnreferenced(@Param("hash") String hash, @Param("cutoff") LocalDateTime cutoff);
+
+    // Locking read: sees the latest committed row, or waits for a concurrent insert, unlike a snapshot read
+    @Lock(LockModeType.PESSIMISTIC_READ)
+    Optional<MediaObject> findLockedByHash(String hash);
+
+    // Every media hash referenced from an entity table (or as an image variant), with its number of references
+    @Query(value = "SELECT refs.hash, COUNT(*) FROM (" +
+            " SELECT header_picture_hash AS hash FROM projects" +
+            " UNION ALL SELECT icon_hash FROM projects" +
+            " UNION ALL SELECT image_hash FROM project_gallery" +
+            " UNION ALL SELECT pfp_hash FROM users" +
+            " UNION ALL SELECT image_hash FROM user_gallery" +
+            " UNION ALL SELECT cover_image_hash FROM posts" +
+            " UNION ALL SELECT image_hash FROM post_gallery" +
+            " UNION ALL SELECT icon_hash FROM technologies" +
+            " UNION ALL SELECT image_hash FROM certificates" +
+            " UNION ALL SELECT image_hash FROM courses" +
+            " UNION ALL SELECT pdf_hash FROM cvs" +
+            " UNION ALL SELECT variant_hash FROM media_variants" +
+            ") refs WHERE refs.hash IS NOT NULL GROUP BY refs.hash", nativeQuery = true)
+    List<Object[]> countReferences();
+}
@@ -0,0 +1,21 @@
+package com.exo.repository;
+
+import com.exo.model.MediaVariant;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface MediaVariantRepository extends JpaRepository<MediaVariant, Long> {
+
+    @Query("SELECT v.variantHash FROM MediaVariant v WHERE v.sourceHash = :sourceHash AND v.width = :width")
+    String findVariantHash(@Param("sourceHash") String sourceHash, @Param("width") int width);
+
+    boolean existsBySourceHashAndWidth(String sourceHash, int width);
+
+    @Modifying
+    @Query("DELETE FROM MediaVariant v WHERE v.sourceHash = :sourceHash")
+    int deleteBySourceHash(@Param("sourceHash") String sourceHash);
+}
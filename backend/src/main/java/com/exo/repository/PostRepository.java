@@ -1,14 +1,26 @@
 package com.exo.repository;
 
+import com.exo.dto.PostSummary;
 import com.exo.model.Post;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface PostRepository extends JpaRepository<Post, Long> {
 
+    String SUMMARY_SELECT = "select new com.exo.dto.PostSummary(p.id, p.slug, p.title, p.excerpt, p.coverImagePath, "
+            + "p.views, p.likes, p.readingMinutes, p.publishedAt, p.published) from Post p";
+
+    String SUMMARY = SUMMARY_SELECT + " where p.published = true";
+
     // Fetch a post by its unique slug
     Post findBySlug(String slug);
 
@@ -17,4 +29,38 @@ public interface PostRepository extends JpaRepository<Post, Long> {
 
     // Get all published posts ordered by publication date desc
     List<Post> findByPublishedTrueOrderByPublishedAtDesc();
+
+    // Get all drafts, newest first
+    List<Post> findByPublishedFalseOrderByCreatedAtDesc();
+
+    // Paged listings over the summary projection (no content LOB, tags or author)
+    @Query(value = SUMMARY_SELECT, countQuery = "select count(p) from Post p")
+    Page<PostSummary> findSummaries(Pageable pageable);
+
+    @Query(value = SUMMARY_SELECT + " where p.published = :published",
+            countQuery = "select count(p) from Post p where p.published = :published")
+    Page<PostSummary> findSummariesByPublished(@Param("published") boolean published, Pageable pageable);
+
+    // Keyset feed of published posts on (publishedAt, id)
+    @Query(SUMMARY + " order by p.publishedAt desc, p.id desc")
+    List<PostSummary> findPublishedFeed(Pageable pageable);
+
+    @Query(SUMMARY + " and (p.publishedAt < :publishedAt or (p.publishedAt = :publishedAt and p.id < :id))"
+            + " order by p.publishedAt desc, p.id desc")
+    List<PostSummary> findPublishedFeedAfter(@Param("publishedAt") LocalDateTime publishedAt, @Param("id") Long id,
+                                             Pageable pageable);
+
+    // Ranked feeds: ordered and limited in SQL over (published, views|likes)
+    @Query(SUMMARY + " order by p.views desc, p.id desc")
+    List<PostSummary> findMostViewed(Pageable pageable);
+
+    @Query(SUMMARY + " order by p.likes desc, p.id desc")
+    List<PostSummary> findMostLiked(Pageable pageable);
+
+    // Tag usage across published posts, for autocomplete
+    @Query("select t, count(p) from Post p join p.tags t where p.published = true group by t")
+    List<Object[]> countPublishedTags();
+
+    @Query(SUMMARY + " and p.id in :ids")
+    List<PostSummary> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
 }
@@ -10,10 +10,21 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface ProjectRepository extends JpaRepository<Project, Long> {
+
+    // Optional filters shared by the keyset queries; a null parameter disables its filter.
+    // Technology matching uses a subquery rather than a join so rows are never duplicated.
+    String KEYSET_FILTERS = "(:query IS NULL OR LOWER(p.title) LIKE LOWER(CONCAT('%', :query, '%'))"
+            + " OR LOWER(p.description) LIKE LOWER(CONCAT('%', :query, '%')))"
+            + " AND (:technologyId IS NULL OR p.id IN"
+            + " (SELECT q.id FROM Project q JOIN q.technologyLinks t WHERE t.id = :technologyId))"
+            + " AND (:start IS NULL OR p.createdAt >= :start)"
+            + " AND (:end IS NULL OR p.createdAt <= :end)";
     
     // Find projects by title containing the given string (case-insensitive)
     Page<Project> findByTitleContainingIgnoreCase(String title, Pageable pageable);
@@ -23,13 +34,33 @@ public interface ProjectRepository extends JpaRepository<Project, Long> {
     // Find projects by description containing the given string (case-insensitive)
     Page<Project> findByDescriptionContainingIgnoreCase(String description, Pageable pageable);
     
-    // Find projects that use a specific technology
-    @Query("SELECT p FROM Project p JOIN p.technologies t WHERE LOWER(t) = LOWER(:technology)")
-    Page<Project> findByTechnology(@Param("technology") String technology, Pageable pageable);
+    // Find projects linked to a specific technology
+    @Query("SELECT p FROM Project p WHERE p.id IN"
+            + " (SELECT q.id FROM Project q JOIN q.technologyLinks t WHERE t.id = :technologyId)")
+    Page<Project> findByTechnologyId(@Param("technologyId") Long technologyId, Pageable pageable);
+    
+    // Find projects linked to any of the given technologies (union of the ID sets)
+    @Query("SELECT p FROM Project p WHERE p.id IN"
+            + " (SELECT q.id FROM Project q JOIN q.technologyLinks t WHERE t.id IN :technologyIds)")
+    Page<Project> findByAnyTechnologyId(@Param("technologyIds") Collection<Long> technologyIds, Pageable pageable);
+    
+    // Find projects linked to all of the given technologies (intersection of the ID sets)
+    @Query("SELECT p FROM Project p WHERE p.id IN"
+            + " (SELECT q.id FROM Project q JOIN q.technologyLinks t WHERE t.id IN :technologyIds"
+            + " GROUP BY q.id HAVING COUNT(DISTINCT t.id) = :count)")
+    Page<Project> findByAllTechnologyIds(@Param("technologyIds") Collection<Long> technologyIds,
+                                         @Param("count") long count, Pageable pageable);
+    
+    // Projects still linked to a technology, with their links loaded for editing
+    @Query("SELECT DISTINCT p FROM Project p JOIN FETCH p.technologyLinks WHERE p.id IN"
+            + " (SELECT q.id FROM Project q JOIN q.technologyLinks t WHERE t.id = :technologyId)")
+    List<Project> findAllLinkedTo(@Param("technologyId") Long technologyId);
+    
+    boolean existsByTechnologyLinksId(Long technologyId);
     
-    // Find projects that use any of the given technologies
-    @Query("SELECT p FROM Project p JOIN p.technologies t WHERE LOWER(t) IN :technologies")
-    Page<Project> findByTechnologiesIn(@Param("technologies") List<String> technologies, Pageable pageable);
+    // All projects with their technology links, for callers outside a transaction
+    @Query("SELECT DISTINCT p FROM Project p LEFT JOIN FETCH p.technologyLinks")
+    List<Project> findAllWithTechnologies();
     
     // Search projects by title or description (case-insensitive)
     @Query("SELECT p FROM Project p WHERE LOWER(p.title) LIKE LOWER(CONCAT('%', :query, '%')) OR LOWER(p.description) LIKE LOWER(CONCAT('%', :query, '%'))")
@@ -52,14 +83,44 @@ public interface ProjectRepository extends JpaRepository<Project, Long> {
     
     // Find projects by title (alphabetical order)
     Page<Project> findAllByOrderByTitleAsc(Pageable pageable);
+
+    // Keyset slices on (createdAt, id), newest first; no count query is issued
+    @Query("SELECT p FROM Project p WHERE " + KEYSET_FILTERS
+            + " AND (p.createdAt < :createdAt OR (p.createdAt = :createdAt AND p.id < :id))"
+            + " ORDER BY p.createdAt DESC, p.id DESC")
+    List<Project> findCreatedBefore(@Param("createdAt") LocalDateTime createdAt, @Param("id") long id,
+                                    @Param("query") String query, @Param("technologyId") Long technologyId,
+                                    @Param("start") LocalDateTime start, @Param("end") LocalDateTime end,
+                                    Pageable pageable);
+
+    // Keyset slices on (title, id), alphabetical
+    @Query("SELECT p FROM Project p WHERE " + KEYSET_FILTERS
+            + " AND (p.title > :title OR (p.title = :title AND p.id > :id))"
+            + " ORDER BY p.title ASC, p.id ASC")
+    List<Project> findTitledAfter(@Param("title") String title, @Param("id") long id,
+                                  @Param("query") String query, @Param("technologyId") Long technologyId,
+                                  @Param("start") LocalDateTime start, @Param("end") LocalDateTime end,
+                                  Pageable pageable);
     
     // Count projects by technology
-    @Query("SELECT t, COUNT(p) FROM Project p JOIN p.technologies t GROUP BY t ORDER BY COUNT(p) DESC")
+    @Query("SELECT t.name, COUNT(p) FROM Project p JOIN p.technologyLinks t GROUP BY t.id, t.name ORDER BY COUNT(p) DESC")
     List<Object[]> countProjectsByTechnology();
     
-    // Find projects with most technologies
-    @Query("SELECT p FROM Project p ORDER BY SIZE(p.technologies) DESC")
-    Page<Project> findProjectsByTechnologyCount(Pageable pageable);
+    // (project id, createdAt, technology id) rows for the in-memory usage statistics;
+    // projects without technologies appear once with a null technology id
+    @Query("SELECT p.id, p.createdAt, t.id FROM Project p LEFT JOIN p.technologyLinks t")
+    List<Object[]> findTechnologyLinkRows();
+
+    // Media hash lookups that avoid loading the whole project
+    @Query("SELECT p.headerPictureHash FROM Project p WHERE p.id = :id")
+    String findHeaderPictureHashById(@Param("id") Long id);
+
+    @Query("SELECT p.iconHash FROM Project p WHERE p.id = :id")
+    String findIconHashById(@Param("id") Long id);
+
+    // Reads one gallery row by its (project_id, image_index) primary key
+    @Query("SELECT g FROM Project p JOIN p.galleryHashes g WHERE p.id = :id AND INDEX(g) = :position")
+    String findGalleryHashByIdAndPosition(@Param("id") Long id, @Param("position") int position);
 
     @Modifying
     @Transactional
@@ -5,14 +5,20 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface TechnologyRepository extends JpaRepository<Technology, Long> {
     Optional<Technology> findByNameIgnoreCase(String name);
+    List<Technology> findByNormalizedNameIn(Collection<String> normalizedNames);
+
+    @Query("SELECT t.id FROM Technology t WHERE t.normalizedName IN :normalizedNames")
+    List<Long> findIdsByNormalizedNameIn(@Param("normalizedNames") Collection<String> normalizedNames);
     boolean existsByNameIgnoreCase(String name);
     Page<Technology> findByNameContainingIgnoreCase(String name, Pageable pageable);
     
@@ -20,4 +26,17 @@ public interface TechnologyRepository extends JpaRepository<Technology, Long> {
     List<String> findAllCategories();
     
     long countByCategory(String category);
+
+    @Query("SELECT t.name FROM Technology t")
+    List<String> findAllNames();
+
+    @Query("SELECT t.category, COUNT(t) FROM Technology t WHERE t.category IS NOT NULL AND t.category != '' GROUP BY t.category")
+    List<Object[]> countByCategories();
+
+    // (id, name, category) rows for the in-memory usage statistics
+    @Query("SELECT t.id, t.name, t.category FROM Technology t")
+    List<Object[]> findStatisticsRows();
+
+    @Query("SELECT t.iconHash FROM Technology t WHERE t.id = :id")
+    String findIconHashById(@Param("id") Long id);
 }
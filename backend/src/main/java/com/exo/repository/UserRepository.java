@@ -1,7 +1,11 @@
 package com.exo.repository;
 
+import com.exo.dto.AuthPrincipal;
+import com.exo.dto.UserProfileCard;
 import com.exo.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
@@ -12,4 +16,15 @@ public interface UserRepository extends JpaRepository<User, String> {
 
     // Fetch user by email address
     User findByEmail(String email);
+
+    // Profile picture hash without loading the user and its eager collections
+    @Query("SELECT u.pfpHash FROM User u WHERE u.username = :username")
+    String findPfpHashByUsername(@Param("username") String username);
+
+    // Authentication: username, password and role only
+    @Query("SELECT new com.exo.dto.AuthPrincipal(u.username, u.password, u.role) FROM User u WHERE u.username = :username")
+    AuthPrincipal findPrincipalByUsername(@Param("username") String username);
+
+    // Public profile card: scalar columns only
+    UserProfileCard findCardByUsername(String username);
 }
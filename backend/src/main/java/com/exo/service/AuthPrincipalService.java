@@ -0,0 +1,125 @@
+package com.exo.service;
+
+import com.exo.dto.AuthPrincipal;
+import com.exo.model.Role;
+import com.exo.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.jsonwebtoken.JwtException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Resolves a bearer token to its {@link AuthPrincipal} for the JWT filter.
+ * <p>
+ * The token is verified once and the principal is built from its signed
+ * {@code sub}/{@code roles} claims. Results are cached for a short TTL keyed
+ * by the compact token itself, which its signature makes unique, so repeat
+ * requests skip both parsing and the database. The database is only consulted
+ * on a miss for admin tokens (to honour demotions and deletions within one
+ * TTL) and for tokens without a roles claim.
+ */
+@Service
+public class AuthPrincipalService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuthPrincipalService.class);
+
+    private static final String ROLE_PREFIX = "ROLE_";
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private final Cache<String, CachedPrincipal> principals;
+
+    private record CachedPrincipal(AuthPrincipal principal, long expiresAtMillis) {
+    }
+
+    public AuthPrincipalService(@Value("${jwt.principal-cache.ttl-seconds:30}") long ttlSeconds,
+                                @Value("${jwt.principal-cache.max-size:10000}") long maxSize) {
+        this.principals = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .maximumSize(maxSize)
+                .build();
+    }
+
+    /**
+     * Returns the principal for {@code token}, or null when the token is
+     * invalid, expired, or names a user that no longer exists.
+     */
+    public AuthPrincipal authenticate(String token) {
+        CachedPrincipal cached = principals.getIfPresent(token);
+        if (cached != null) {
+            if (cached.expiresAtMillis() > System.currentTimeMillis()) {
+                return cached.principal();
+            }
+            principals.invalidate(token);
+            return null;
+        }
+
+        JwtService.VerifiedToken verified;
+        try {
+            verified = jwtService.verify(token);
+        } catch (JwtException | IllegalArgumentException e) {
+            logger.debug("Rejected bearer token: {}", e.getMessage());
+            return null;
+        }
+
+        AuthPrincipal principal = resolve(verified);
+        if (principal != null) {
+            long expiresAt = verified.expiresAt() != null ? verified.expiresAt().toEpochMilli() : Long.MAX_VALUE;
+            principals.put(token, new CachedPrincipal(principal, expiresAt));
+        }
+        return principal;
+    }
+
+    /* ==========================
+     *          HELPERS
+     * ==========================
+     */
+
+    private AuthPrincipal resolve(JwtService.VerifiedToken verified) {
+        String username = verified.subject();
+        if (username == null || username.isBlank()) {
+            return null;
+        }
+
+        Role role = roleFromClaims(verified.roles());
+        if (role == Role.USER) {
+            return new AuthPrincipal(username, null, role);
+        }
+
+        // Admin (or role-less) tokens are confirmed against the current account
+        AuthPrincipal stored = userRepository.findPrincipalByUsername(username);
+        if (stored == null || (role != null && stored.getRole() != role)) {
+            return null;
+        }
+        return new AuthPrincipal(stored.getUsername(), null, stored.getRole());
+    }
+
+    private Role roleFromClaims(List<String> roles) {
+        Role role = null;
+        for (String name : roles) {
+            if (name.startsWith(ROLE_PREFIX)) {
+                name = name.substring(ROLE_PREFIX.length());
+            }
+            try {
+                role = Role.valueOf(name);
+            } catch (IllegalArgumentException e) {
+                continue; // Unknown role name
+            }
+            if (role == Role.ADMIN) {
+                return role;
+            }
+        }
+        return role;
+    }
+}
@@ -34,7 +34,7 @@ public class AuthenticationService {
     public JwtAuthenticationResponse login(LoginRequest request) {
         authenticationManager.authenticate(
                 new UsernamePasswordAuthenticationToken(request.getUsername(), request.getPassword()));
-        var user = userRepository.findByUsername(request.getUsername());
+        var user = userRepository.findPrincipalByUsername(request.getUsername());
         var jwt = jwtService.generateAccessToken(user);
         var refreshToken = jwtService.generateRefreshToken(user);
 
@@ -0,0 +1,201 @@
+package com.exo.service;
+
+import com.exo.dto.AutocompleteSuggestion;
+import com.exo.repository.PostRepository;
+import com.exo.repository.ProjectRepository;
+import com.exo.repository.TechnologyRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Typeahead over technology names and categories, post tags and the
+ * technologies listed on projects, served entirely from memory.
+ * <p>
+ * Suggestions live in an immutable snapshot: a sorted array of folded keys
+ * (the whole value plus every later word, so "boot" finds "Spring Boot")
+ * searched by binary search. The snapshot is rebuilt from three aggregate
+ * queries at startup and once after each committed transaction that wrote a
+ * technology, post or project, then swapped in; reads never lock or query.
+ */
+@Service
+public class AutocompleteService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AutocompleteService.class);
+
+    public static final String TECHNOLOGY = "technology";
+    public static final String CATEGORY = "category";
+    public static final String TAG = "tag";
+
+    private static final Comparator<AutocompleteSuggestion> RANKING = Comparator
+            .comparingLong(AutocompleteSuggestion::count).reversed()
+            .thenComparing(AutocompleteSuggestion::value, String.CASE_INSENSITIVE_ORDER);
+
+    @Autowired
+    private TechnologyRepository technologyRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private volatile Snapshot snapshot = new Snapshot(new String[0], new AutocompleteSuggestion[0]);
+
+    // keys[i] is a folded prefix target of suggestions[i]; keys are sorted
+    private record Snapshot(String[] keys, AutocompleteSuggestion[] suggestions) {
+    }
+
+    /* ==========================
+     *          QUERIES
+     * ==========================
+     */
+
+    /**
+     * Suggestions whose value, or any word in it, starts with {@code prefix},
+     * most used first.
+     *
+     * @param kinds restricts results to these kinds; null or empty for all
+     */
+    public List<AutocompleteSuggestion> suggest(String prefix, Set<String> kinds, int limit) {
+        if (prefix == null || prefix.isBlank() || limit <= 0) {
+            return List.of();
+        }
+        String folded = SearchIndex.fold(prefix.trim());
+        Snapshot current = snapshot;
+
+        int index = Arrays.binarySearch(current.keys(), folded);
+        if (index < 0) {
+            index = -index - 1;
+        }
+        Set<AutocompleteSuggestion> matches = new LinkedHashSet<>();
+        for (int i = index; i < current.keys().length && current.keys()[i].startsWith(folded); i++) {
+            AutocompleteSuggestion suggestion = current.suggestions()[i];
+            if (kinds == null || kinds.isEmpty() || kinds.contains(suggestion.kind())) {
+                matches.add(suggestion);
+            }
+        }
+        return matches.stream().sorted(RANKING).limit(limit).toList();
+    }
+
+    /* ==========================
+     *        REFRESHING
+     * ==========================
+     */
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void refresh() {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        // Also called from afterCommit, where a joined transaction would be the one that just committed
+        readOnly.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        Snapshot rebuilt = readOnly.execute(status -> build());
+        snapshot = rebuilt;
+        logger.debug("Autocomplete index rebuilt with {} keys", rebuilt.keys().length);
+    }
+
+    /**
+     * Schedules one refresh after the surrounding transaction commits, however
+     * many relevant entities it wrote; outside a transaction refreshes at once.
+     */
+    @EventListener
+    public void onEntityChanged(EntityChangedEvent event) {
+        switch (event.type()) {
+            case SearchService.TECHNOLOGY, SearchService.POST, SearchService.PROJECT -> refreshAfterCommit();
+            default -> {
+            }
+        }
+    }
+
+    private void refreshAfterCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            refresh();
+            return;
+        }
+        // Synchronizations belong to the current transaction, so this finds only its own pending refresh
+        boolean scheduled = TransactionSynchronizationManager.getSynchronizations().stream()
+                .anyMatch(RefreshAfterCommit.class::isInstance);
+        if (!scheduled) {
+            TransactionSynchronizationManager.registerSynchronization(new RefreshAfterCommit());
+        }
+    }
+
+    private final class RefreshAfterCommit implements TransactionSynchronization {
+
+        @Override
+        public void afterCommit() {
+            refresh();
+        }
+    }
+
+    /* ==========================
+     *          HELPERS
+     * ==========================
+     */
+
+    private Snapshot build() {
+        // Keyed by kind + folded value so "Java" on a project and the "java" technology merge
+        Map<String, AutocompleteSuggestion> suggestions = new HashMap<>();
+        for (String name : technologyRepository.findAllNames()) {
+            merge(suggestions, name, TECHNOLOGY, 0);
+        }
+        for (Object[] row : projectRepository.countProjectsByTechnology()) {
+            merge(suggestions, (String) row[0], TECHNOLOGY, ((Number) row[1]).longValue());
+        }
+        for (Object[] row : technologyRepository.countByCategories()) {
+            merge(suggestions, (String) row[0], CATEGORY, ((Number) row[1]).longValue());
+        }
+        for (Object[] row : postRepository.countPublishedTags()) {
+            merge(suggestions, (String) row[0], TAG, ((Number) row[1]).longValue());
+        }
+
+        List<Map.Entry<String, AutocompleteSuggestion>> keyed = new ArrayList<>();
+        for (AutocompleteSuggestion suggestion : suggestions.values()) {
+            String folded = SearchIndex.fold(suggestion.value());
+            keyed.add(Map.entry(folded, suggestion));
+            for (int i = 1; i < folded.length(); i++) {
+                if (!Character.isLetterOrDigit(folded.charAt(i - 1)) && Character.isLetterOrDigit(folded.charAt(i))) {
+                    keyed.add(Map.entry(folded.substring(i), suggestion));
+                }
+            }
+        }
+        keyed.sort(Map.Entry.comparingByKey());
+
+        String[] keys = new String[keyed.size()];
+        AutocompleteSuggestion[] targets = new AutocompleteSuggestion[keyed.size()];
+        for (int i = 0; i < keyed.size(); i++) {
+            keys[i] = keyed.get(i).getKey();
+            targets[i] = keyed.get(i).getValue();
+        }
+        return new Snapshot(keys, targets);
+    }
+
+    private void merge(Map<String, AutocompleteSuggestion> suggestions, String value, String kind, long count) {
+        if (value == null || value.isBlank()) {
+            return;
+        }
+        String trimmed = value.trim();
+        suggestions.merge(kind + ":" + SearchIndex.fold(trimmed), new AutocompleteSuggestion(trimmed, kind, count),
+                (existing, added) -> new AutocompleteSuggestion(existing.value(), kind, existing.count() + added.count()));
+    }
+}
@@ -1,12 +1,18 @@
 package com.exo.service;
 
+import com.exo.dto.CursorPage;
+import com.exo.dto.KeysetCursor;
+import com.exo.dto.CVSummary;
 import com.exo.model.CV;
 import com.exo.repository.CVRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.io.IOException;
-import java.sql.SQLException;
 import java.util.List;
 import java.util.Optional;
 
@@ -16,6 +22,9 @@ public class CVService {
     @Autowired
     private CVRepository cvRepository;
 
+    @Autowired
+    private MediaService mediaService;
+
     /* ==========================
      *      BASIC CRUD
      * ==========================
@@ -33,7 +42,26 @@ public class CVService {
         return cvRepository.findAll();
     }
 
+    public Page<CVSummary> findSummaries(Pageable pageable) {
+        return cvRepository.findSummaries(pageable);
+    }
+
+    /**
+     * Newest-first keyset listing. {@code cursor} is the {@code nextCursor}
+     * of the previous slice, or null for the first one.
+     *
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    public CursorPage<CVSummary> findSummariesAfter(String cursor, int size) {
+        int limit = KeysetCursor.clampSize(size);
+        long before = cursor != null ? KeysetCursor.decode(cursor).id() : Long.MAX_VALUE;
+        return CursorPage.of(cvRepository.findSummariesBefore(before, PageRequest.of(0, limit + 1)), limit,
+                summary -> KeysetCursor.of(null, summary.id()));
+    }
+
+    @Transactional
     public void deleteById(Long id) {
+        cvRepository.findById(id).ifPresent(cv -> mediaService.release(cv.getPdfHash()));
         cvRepository.deleteById(id);
     }
 
@@ -42,19 +70,23 @@ public class CVService {
      * ==========================
      */
 
-    public CV createCV(String title, String filePath, String fileUrl) throws IOException, SQLException {
+    @Transactional
+    public CV createCV(String title, String filePath, String fileUrl) throws IOException {
         CV cv = new CV(title, filePath, fileUrl);
+        cv.setPdfHash(mediaService.replace(null, mediaService.importFile(cv.getFilePath())));
         return cvRepository.save(cv);
     }
 
-    public CV updateCV(Long id, String title, String filePath, String fileUrl) throws IOException, SQLException {
+    @Transactional
+    public CV updateCV(Long id, String title, String filePath, String fileUrl) throws IOException {
         Optional<CV> optional = cvRepository.findById(id);
         if (optional.isPresent()) {
             CV cv = optional.get();
             cv.setTitle(title);
             if (filePath != null && !filePath.isEmpty()) {
+                String hash = mediaService.importFile(filePath);
                 cv.setFilePath(filePath);
-                cv.setPdfBlob(cv.localFileToBlob(filePath));
+                cv.setPdfHash(mediaService.replace(cv.getPdfHash(), hash));
             }
             cv.setFileUrl(fileUrl);
             return cvRepository.save(cv);
@@ -75,12 +107,18 @@ public class CVService {
         return cvRepository.findTopByOrderByUploadedDateDesc() != null;
     }
 
-    public CV updateCVFile(Long id, String newFilePath) throws IOException, SQLException {
+    public String getPdf(Long id) {
+        return cvRepository.findPdfHashById(id);
+    }
+
+    @Transactional
+    public CV updateCVFile(Long id, String newFilePath) throws IOException {
         Optional<CV> optional = cvRepository.findById(id);
         if (optional.isPresent()) {
             CV cv = optional.get();
+            String hash = mediaService.importFile(newFilePath);
             cv.setFilePath(newFilePath);
-            cv.setPdfBlob(cv.localFileToBlob(newFilePath));
+            cv.setPdfHash(mediaService.replace(cv.getPdfHash(), hash));
             return cvRepository.save(cv);
         }
         return null;
@@ -1,12 +1,18 @@
 package com.exo.service;
 
+import com.exo.dto.CursorPage;
+import com.exo.dto.KeysetCursor;
+import com.exo.dto.CertificateSummary;
 import com.exo.model.Certificate;
 import com.exo.repository.CertificateRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.io.IOException;
-import java.sql.SQLException;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
@@ -14,9 +20,14 @@ import java.util.Optional;
 @Service
 public class CertificateService {
 
+    private static final String DEFAULT_IMAGE = "/assets/defaultCertificateImage.png";
+
     @Autowired
     private CertificateRepository certificateRepository;
 
+    @Autowired
+    private MediaService mediaService;
+
     /* ==========================
      *      BASIC CRUD
      * ==========================
@@ -34,7 +45,26 @@ public class CertificateService {
         return certificateRepository.findAll();
     }
 
+    public Page<CertificateSummary> findSummaries(Pageable pageable) {
+        return certificateRepository.findSummaries(pageable);
+    }
+
+    /**
+     * Newest-first keyset listing. {@code cursor} is the {@code nextCursor}
+     * of the previous slice, or null for the first one.
+     *
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    public CursorPage<CertificateSummary> findSummariesAfter(String cursor, int size) {
+        int limit = KeysetCursor.clampSize(size);
+        long before = cursor != null ? KeysetCursor.decode(cursor).id() : Long.MAX_VALUE;
+        return CursorPage.of(certificateRepository.findSummariesBefore(before, PageRequest.of(0, limit + 1)), limit,
+                summary -> KeysetCursor.of(null, summary.id()));
+    }
+
+    @Transactional
     public void deleteById(Long id) {
+        certificateRepository.findById(id).ifPresent(certificate -> mediaService.release(certificate.getImageHash()));
         certificateRepository.deleteById(id);
     }
 
@@ -56,19 +86,22 @@ public class CertificateService {
      * ==========================
      */
 
+    @Transactional
     public Certificate createCertificate(String title, String issuer, LocalDate issueDate, 
                                        LocalDate expirationDate, String credentialId, 
                                        String credentialUrl, String description, String imagePath) 
-            throws IOException, SQLException {
+            throws IOException {
         Certificate certificate = new Certificate(title, issuer, issueDate, expirationDate, 
                                                 credentialId, credentialUrl, description, imagePath);
+        certificate.setImageHash(mediaService.replace(null, mediaService.importAsset(certificate.getImagePath(), DEFAULT_IMAGE)));
         return certificateRepository.save(certificate);
     }
 
+    @Transactional
     public Certificate updateCertificate(Long id, String title, String issuer, LocalDate issueDate,
                                        LocalDate expirationDate, String credentialId,
                                        String credentialUrl, String description, String imagePath)
-            throws IOException, SQLException {
+            throws IOException {
         Optional<Certificate> optional = certificateRepository.findById(id);
         if (optional.isPresent()) {
             Certificate certificate = optional.get();
@@ -80,8 +113,9 @@ public class CertificateService {
             certificate.setCredentialUrl(credentialUrl);
             certificate.setDescription(description);
             if (imagePath != null && !imagePath.isEmpty()) {
+                String hash = mediaService.importAsset(imagePath, DEFAULT_IMAGE);
                 certificate.setImagePath(imagePath);
-                certificate.setImageBlob(certificate.localImageToBlob(imagePath));
+                certificate.setImageHash(mediaService.replace(certificate.getImageHash(), hash));
             }
             return certificateRepository.save(certificate);
         }
@@ -1,12 +1,18 @@
 package com.exo.service;
 
+import com.exo.dto.CursorPage;
+import com.exo.dto.KeysetCursor;
+import com.exo.dto.CourseSummary;
 import com.exo.model.Course;
 import com.exo.repository.CourseRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.io.IOException;
-import java.sql.SQLException;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
@@ -14,9 +20,14 @@ import java.util.Optional;
 @Service
 public class CourseService {
 
+    private static final String DEFAULT_IMAGE = "/assets/defaultCourseImage.png";
+
     @Autowired
     private CourseRepository courseRepository;
 
+    @Autowired
+    private MediaService mediaService;
+
     /* ==========================
      *      BASIC CRUD
      * ==========================
@@ -34,7 +45,26 @@ public class CourseService {
         return courseRepository.findAll();
     }
 
+    public Page<CourseSummary> findSummaries(Pageable pageable) {
+        return courseRepository.findSummaries(pageable);
+    }
+
+    /**
+     * Newest-first keyset listing. {@code cursor} is the {@code nextCursor}
+     * of the previous slice, or null for the first one.
+     *
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    public CursorPage<CourseSummary> findSummariesAfter(String cursor, int size) {
+        int limit = KeysetCursor.clampSize(size);
+        long before = cursor != null ? KeysetCursor.decode(cursor).id() : Long.MAX_VALUE;
+        return CursorPage.of(courseRepository.findSummariesBefore(before, PageRequest.of(0, limit + 1)), limit,
+                summary -> KeysetCursor.of(null, summary.id()));
+    }
+
+    @Transactional
     public void deleteById(Long id) {
+        courseRepository.findById(id).ifPresent(course -> mediaService.release(course.getImageHash()));
         courseRepository.deleteById(id);
     }
 
@@ -60,19 +90,22 @@ public class CourseService {
      * ==========================
      */
 
+    @Transactional
     public Course createCourse(String title, String provider, String platform, LocalDate startDate,
                              LocalDate completionDate, Integer durationHours, String description,
                              List<String> topics, String courseUrl, String imagePath)
-            throws IOException, SQLException {
+            throws IOException {
         Course course = new Course(title, provider, platform, startDate, completionDate,
                                  durationHours, description, topics, courseUrl, imagePath);
+        course.setImageHash(mediaService.replace(null, mediaService.importAsset(course.getImagePath(), DEFAULT_IMAGE)));
         return courseRepository.save(course);
     }
 
+    @Transactional
     public Course updateCourse(Long id, String title, String provider, String platform,
                              LocalDate startDate, LocalDate completionDate, Integer durationHours,
                              String description, List<String> topics, String courseUrl, String imagePath)
-            throws IOException, SQLException {
+            throws IOException {
         Optional<Course> optional = courseRepository.findById(id);
         if (optional.isPresent()) {
             Course course = optional.get();
@@ -86,8 +119,9 @@ public class CourseService {
             if (topics != null) course.setTopics(topics);
             course.setCourseUrl(courseUrl);
             if (imagePath != null && !imagePath.isEmpty()) {
+                String hash = mediaService.importAsset(imagePath, DEFAULT_IMAGE);
                 course.setImagePath(imagePath);
-                course.setImageBlob(course.localImageToBlob(imagePath));
+                course.setImageHash(mediaService.replace(course.getImageHash(), hash));
             }
             return courseRepository.save(course);
         }
@@ -99,6 +133,7 @@ public class CourseService {
      * ==========================
      */
 
+    @Transactional
     public Course addTopic(Long courseId, String topic) {
         Optional<Course> optional = courseRepository.findById(courseId);
         if (optional.isPresent()) {
@@ -109,11 +144,12 @@ public class CourseService {
         return null;
     }
 
+    @Transactional
     public Course removeTopic(Long courseId, String topic) {
         Optional<Course> optional = courseRepository.findById(courseId);
         if (optional.isPresent()) {
             Course course = optional.get();
-            course.getTopics().remove(topic);
+            course.removeTopic(topic);
             return courseRepository.save(course);
         }
         return null;
@@ -0,0 +1,15 @@
+package com.exo.service;
+
+import com.exo.dto.SearchDocument;
+
+/**
+ * Published when an indexed entity is inserted, updated or deleted.
+ * {@code document} is the entity's searchable text at write time, or null
+ * when the entity was deleted or is not publicly searchable (e.g. a draft).
+ */
+public record EntityChangedEvent(String type, Long id, SearchDocument document) {
+
+    public String key() {
+        return SearchDocument.key(type, id);
+    }
+}
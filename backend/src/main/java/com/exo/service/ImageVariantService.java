@@ -0,0 +1,290 @@
+package com.exo.service;
+
+import com.exo.model.MediaObject;
+import com.exo.model.MediaVariant;
+import com.exo.repository.MediaVariantRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Generates downscaled renditions of stored images at fixed width buckets
+ * using {@code javax.imageio}, so thumbnails and grids don't download the
+ * full-resolution original. Work runs on a small background pool; until a
+ * variant exists the original is served.
+ */
+@Service
+public class ImageVariantService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImageVariantService.class);
+
+    // Refuse to decode anything larger than this (decompression bombs)
+    private static final long MAX_PIXELS = 50_000_000L;
+
+    @Autowired
+    private MediaService mediaService;
+
+    @Autowired
+    private MediaVariantRepository mediaVariantRepository;
+
+    @Autowired
+    private MediaCache mediaCache;
+
+    private final int[] widths;
+
+    private final ExecutorService executor;
+
+    // Sources queued or being processed, so repeated ?w= misses meanwhile don't queue them again.
+    // Finished sources leave the set: their variants are in the database, skipped buckets in the media cache.
+    private final Set<String> attempted = ConcurrentHashMap.newKeySet();
+
+    public ImageVariantService(@Value("${exo.media.variant-widths:160,480,1280}") int[] widths,
+                               @Value("${exo.media.variant-threads:2}") int threads) {
+        this.widths = Arrays.stream(widths).filter(w -> w > 0).sorted().distinct().toArray();
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(Math.max(1, threads), r -> {
+            Thread thread = new Thread(r, "image-variants-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /* ==========================
+     *        GENERATION
+     * ==========================
+     */
+
+    /**
+     * Queues variant generation for {@code hash}. When called inside a
+     * transaction the work starts after commit, once the original is visible.
+     */
+    public void generateAsync(String hash) {
+        if (hash == null || widths.length == 0 || !attempted.add(hash)) {
+            return;
+        }
+        Runnable task = () -> executor.execute(() -> {
+            try {
+                generate(hash);
+            } catch (Exception e) {
+                logger.warn("Could not generate variants for media {}", hash, e);
+            } finally {
+                attempted.remove(hash);
+            }
+        });
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    task.run();
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        attempted.remove(hash);
+                    }
+                }
+            });
+        } else {
+            task.run();
+        }
+    }
+
+    /**
+     * Decodes the original once and writes one variant per bucket narrower
+     * than the image. Non-images and images already at or below a bucket are
+     * skipped; the original is served for those.
+     */
+    void generate(String hash) throws IOException {
+        MediaObject original = mediaService.find(hash).orElse(null);
+        if (original == null) {
+            return;
+        }
+        if (original.getContentType() == null || !original.getContentType().startsWith("image/")) {
+            servesOriginal(hash, 0);
+            return;
+        }
+
+        BufferedImage source = decode(hash);
+        if (source == null) {
+            servesOriginal(hash, 0);
+            return;
+        }
+
+        String format = "image/jpeg".equals(original.getContentType()) ? "jpeg" : "png";
+        int created = 0;
+        for (int width : widths) {
+            if (width >= source.getWidth()) {
+                servesOriginal(hash, width);
+                break;
+            }
+            if (mediaVariantRepository.existsBySourceHashAndWidth(hash, width)) {
+                continue;
+            }
+
+            byte[] encoded = encode(resize(source, width, "jpeg".equals(format)), format);
+            if (encoded.length >= original.getSize()) {
+                mediaCache.put(variantKey(hash, width), hash); // Not worth it; the original is already smaller
+                continue;
+            }
+
+            String variantHash = mediaService.store(new ByteArrayInputStream(encoded), "variant." + format);
+            try {
+                mediaVariantRepository.save(new MediaVariant(hash, width, variantHash));
+                mediaService.retain(variantHash);
+                mediaCache.evict(variantKey(hash, width));
+                created++;
+            } catch (DataIntegrityViolationException e) {
+                // Generated concurrently by another node; keep theirs
+            }
+        }
+        if (created > 0) {
+            logger.debug("Generated {} variants for media {}", created, hash);
+        }
+    }
+
+    /* ==========================
+     *        RESOLUTION
+     * ==========================
+     */
+
+    /**
+     * The hash to serve for a requested width, and whether that answer is
+     * final: false while the original stands in for a variant that may
+     * still be generated.
+     */
+    public record Resolution(String hash, boolean settled) {
+    }
+
+    /**
+     * Returns the hash to serve for a requested display width: the smallest
+     * bucket at least {@code requestedWidth} wide, or the original when no
+     * such variant exists (yet). Buckets that generation ruled out are cached
+     * as the original's hash, so those requests skip the database.
+     */
+    public Resolution resolve(String hash, int requestedWidth) {
+        if (hash == null || requestedWidth <= 0) {
+            return new Resolution(hash, true);
+        }
+        for (int width : widths) {
+            if (width >= requestedWidth) {
+                String variantHash = mediaCache.hash(variantKey(hash, width),
+                        () -> mediaVariantRepository.findVariantHash(hash, width));
+                if (variantHash != null) {
+                    return new Resolution(variantHash, true);
+                }
+                generateAsync(hash); // Seeded and pre-existing media get variants lazily
+                return new Resolution(hash, false);
+            }
+        }
+        return new Resolution(hash, true); // Wider than every bucket; always the original
+    }
+
+    /* ==========================
+     *          HELPERS
+     * ==========================
+     */
+
+    private static String variantKey(String hash, int width) {
+        return MediaCache.key("variant", hash, String.valueOf(width));
+    }
+
+    // Records that every bucket from fromWidth up serves the original
+    private void servesOriginal(String hash, int fromWidth) {
+        for (int width : widths) {
+            if (width >= fromWidth) {
+                mediaCache.put(variantKey(hash, width), hash);
+            }
+        }
+    }
+
+    private BufferedImage decode(String hash) throws IOException {
+        try (InputStream in = mediaService.open(hash);
+             ImageInputStream imageIn = ImageIO.createImageInputStream(in)) {
+            if (imageIn == null) {
+                return null;
+            }
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(imageIn);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(imageIn, true, true);
+                if ((long) reader.getWidth(0) * reader.getHeight(0) > MAX_PIXELS) {
+                    logger.warn("Skipping variants for oversized image {}", hash);
+                    return null;
+                }
+                return reader.read(0);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * Downscales in successive halvings with bilinear filtering, which is
+     * close to area averaging in quality at a fraction of the cost.
+     */
+    private BufferedImage resize(BufferedImage source, int targetWidth, boolean opaque) {
+        int targetHeight = Math.max(1, (int) Math.round((double) source.getHeight() * targetWidth / source.getWidth()));
+        int type = opaque ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB;
+
+        BufferedImage current = source;
+        int width = source.getWidth();
+        int height = source.getHeight();
+        do {
+            width = Math.max(targetWidth, width / 2);
+            height = Math.max(targetHeight, height / 2);
+
+            BufferedImage step = new BufferedImage(width, height, type);
+            Graphics2D g = step.createGraphics();
+            try {
+                g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                g.drawImage(current, 0, 0, width, height, null);
+            } finally {
+                g.dispose();
+            }
+            current = step;
+        } while (width != targetWidth || height != targetHeight);
+        return current;
+    }
+
+    private byte[] encode(BufferedImage image, String format) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        if (!ImageIO.write(image, format, out)) {
+            throw new IOException("No ImageIO writer for " + format);
+        }
+        return out.toByteArray();
+    }
+}
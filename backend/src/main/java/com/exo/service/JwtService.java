@@ -1,7 +1,11 @@
 package com.exo.service;
 
-import com.exo.model.User;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
@@ -10,26 +14,88 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
 import javax.crypto.SecretKey;
+import java.time.Instant;
+import java.util.Collection;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
+/**
+ * Issues and verifies JWTs. The signing key is decoded and the parser built
+ * once at startup; both are immutable and thread-safe. Recently verified
+ * tokens are kept in a small bounded cache so a token seen again is not
+ * re-verified until it expires.
+ */
 @Service
 public class JwtService {
 
-    @Value("${jwt.secret.key}")
-    private String jwtSecretKey;
+    private final SecretKey signingKey;
 
-    @Value("${jwt.expiration.access-token}")
-    private long accessTokenExpiration;
+    private final JwtParser parser;
 
-    @Value("${jwt.expiration.refresh-token}")
-    private long refreshTokenExpiration;
+    private final long accessTokenExpiration;
+
+    private final long refreshTokenExpiration;
+
+    // Compact token -> verified claims; null when disabled
+    private final Cache<String, VerifiedToken> verified;
+
+    /**
+     * The claims of a token whose signature and expiry have been checked.
+     */
+    public record VerifiedToken(String subject, List<String> roles, Instant issuedAt, Instant expiresAt) {
+
+        public boolean isExpired() {
+            return expiresAt != null && !expiresAt.isAfter(Instant.now());
+        }
+    }
+
+    public JwtService(@Value("${jwt.secret.key}") String jwtSecretKey,
+                      @Value("${jwt.expiration.access-token}") long accessTokenExpiration,
+                      @Value("${jwt.expiration.refresh-token}") long refreshTokenExpiration,
+                      @Value("${jwt.verified-cache.max-size:1024}") long verifiedCacheSize) {
+        this.signingKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtSecretKey.trim()));
+        this.parser = Jwts.parser().verifyWith(signingKey).build();
+        this.accessTokenExpiration = accessTokenExpiration;
+        this.refreshTokenExpiration = refreshTokenExpiration;
+        this.verified = verifiedCacheSize > 0
+                ? Caffeine.newBuilder().maximumSize(verifiedCacheSize).build()
+                : null;
+    }
+
+    /* ==========================
+     *        VERIFICATION
+     * ==========================
+     */
+
+    /**
+     * Checks the token's signature and expiry in a single parse and returns
+     * its claims.
+     *
+     * @throws JwtException if the token is malformed, tampered with or expired
+     */
+    public VerifiedToken verify(String token) {
+        VerifiedToken result = verified != null ? verified.getIfPresent(token) : null;
+        if (result == null) {
+            result = toVerifiedToken(extractAllClaims(token));
+            if (verified != null) {
+                verified.put(token, result);
+            }
+        }
+        if (result.isExpired()) {
+            if (verified != null) {
+                verified.invalidate(token);
+            }
+            throw new ExpiredJwtException(null, null, "JWT expired at " + result.expiresAt());
+        }
+        return result;
+    }
 
     public String extractUsername(String token) {
-        return extractClaim(token, Claims::getSubject);
+        return verify(token).subject();
     }
 
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
@@ -37,6 +103,19 @@ public class JwtService {
         return claimsResolver.apply(claims);
     }
 
+    public boolean isTokenValid(String token, UserDetails userDetails) {
+        try {
+            return verify(token).subject().equals(userDetails.getUsername());
+        } catch (JwtException e) {
+            return false;
+        }
+    }
+
+    /* ==========================
+     *         ISSUING
+     * ==========================
+     */
+
     public String generateAccessToken(UserDetails userDetails) {
         Map<String, Object> claims = new HashMap<>();
         claims.put("roles", userDetails.getAuthorities().stream()
@@ -55,33 +134,27 @@ public class JwtService {
                 .subject(userDetails.getUsername())
                 .issuedAt(new Date(System.currentTimeMillis()))
                 .expiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSigningKey())
+                .signWith(signingKey)
                 .compact();
     }
 
-    public boolean isTokenValid(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername())) && !isTokenExpired(token);
-    }
-
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
-    }
-
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
-    }
+    /* ==========================
+     *          HELPERS
+     * ==========================
+     */
 
     private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        return parser.parseSignedClaims(token).getPayload();
     }
 
-    private SecretKey getSigningKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(jwtSecretKey.trim());
-        return Keys.hmacShaKeyFor(keyBytes);
+    private VerifiedToken toVerifiedToken(Claims claims) {
+        List<String> roles = claims.get("roles") instanceof Collection<?> values
+                ? values.stream().map(String::valueOf).toList()
+                : List.of();
+        return new VerifiedToken(
+                claims.getSubject(),
+                roles,
+                claims.getIssuedAt() != null ? claims.getIssuedAt().toInstant() : null,
+                claims.getExpiration() != null ? claims.getExpiration().toInstant() : null);
     }
 }
@@ -0,0 +1,75 @@
+package com.exo.service;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Stores media as plain files under {@code exo.media.root}, fanned out by the
+ * first two hash bytes ({@code ab/cd/abcd...}) to keep directories small.
+ */
+@Service
+public class LocalFileSystemMediaStorage implements MediaStorage {
+
+    private static final Logger logger = LoggerFactory.getLogger(LocalFileSystemMediaStorage.class);
+
+    @Value("${exo.media.root:./media}")
+    private String rootPath;
+
+    private Path root;
+
+    @PostConstruct
+    public void init() throws IOException {
+        root = Paths.get(rootPath).toAbsolutePath().normalize();
+        Files.createDirectories(root);
+        logger.info("Media storage root: {}", root);
+    }
+
+    @Override
+    public boolean exists(String hash) {
+        return Files.isRegularFile(resolve(hash));
+    }
+
+    @Override
+    public void put(String hash, Path stagedFile) throws IOException {
+        Path target = resolve(hash);
+        if (Files.isRegularFile(target)) {
+            Files.deleteIfExists(stagedFile);
+            return;
+        }
+        Files.createDirectories(target.getParent());
+        try {
+            Files.move(stagedFile, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            // Staging file lives on another file system; fall back to copy + delete
+            Files.move(stagedFile, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    @Override
+    public InputStream open(String hash) throws IOException {
+        return Files.newInputStream(resolve(hash));
+    }
+
+    @Override
+    public void delete(String hash) throws IOException {
+        Files.deleteIfExists(resolve(hash));
+    }
+
+    private Path resolve(String hash) {
+        if (hash == null || hash.length() < 4 || !hash.chars().allMatch(c -> Character.digit(c, 16) >= 0)) {
+            throw new IllegalArgumentException("Invalid media hash: " + hash);
+        }
+        return root.resolve(hash.substring(0, 2)).resolve(hash.substring(2, 4)).resolve(hash);
+    }
+}
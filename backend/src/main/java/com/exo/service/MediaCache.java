@@ -0,0 +1,187 @@
+package com.exo.service;
+
+import com.exo.model.MediaObject;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * In-process cache for hot media (icons, headers, the profile picture).
+ * <p>
+ * Two layers: {@code entity slot -> hash} lookups, evicted by the services'
+ * write paths, and {@code hash -> bytes}, which never goes stale because
+ * content is addressed by its hash. Content is bounded by total bytes and
+ * held in direct buffers, outside the collected heap. Caffeine's W-TinyLFU
+ * policy keeps frequently requested media resident over one-off reads.
+ * Hit/miss/eviction counters are exported through Micrometer.
+ */
+@Service
+public class MediaCache {
+
+    // Rough per-entry bookkeeping cost added to the weight of every cached object
+    private static final int ENTRY_OVERHEAD = 256;
+
+    @Autowired
+    private MediaService mediaService;
+
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry;
+
+    private final long maxEntryBytes;
+
+    private final Cache<String, String> hashes;
+
+    private final Cache<String, CachedMedia> contents;
+
+    /**
+     * A media object's metadata and, when small enough to cache, its bytes
+     * as a read-only direct buffer ({@code null} otherwise).
+     */
+    public record CachedMedia(MediaObject media, ByteBuffer bytes) {
+    }
+
+    public MediaCache(@Value("${exo.media.cache.max-bytes:67108864}") long maxBytes,
+                      @Value("${exo.media.cache.max-entry-bytes:1048576}") long maxEntryBytes,
+                      @Value("${exo.media.cache.max-keys:10000}") long maxKeys) {
+        this.maxEntryBytes = maxEntryBytes;
+        this.hashes = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .recordStats()
+                .build();
+        this.contents = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((String hash, CachedMedia cached) ->
+                        ENTRY_OVERHEAD + (cached.bytes() != null ? cached.bytes().capacity() : 0))
+                .recordStats()
+                .build();
+    }
+
+    @PostConstruct
+    public void registerMetrics() {
+        if (meterRegistry != null) {
+            CaffeineCacheMetrics.monitor(meterRegistry, hashes, "media.hashes");
+            CaffeineCacheMetrics.monitor(meterRegistry, contents, "media.contents");
+        }
+    }
+
+    /* ==========================
+     *       HASH LOOKUPS
+     * ==========================
+     */
+
+    public static String key(String type, Object id, String slot) {
+        return type + ":" + id + ":" + slot;
+    }
+
+    /**
+     * Returns the cached hash for {@code key}, computing it with
+     * {@code loader} on a miss. {@code null} results are not cached.
+     */
+    public String hash(String key, Supplier<String> loader) {
+        String hash = hashes.getIfPresent(key);
+        if (hash == null) {
+            hash = loader.get();
+            if (hash != null) {
+                hashes.put(key, hash);
+            }
+        }
+        return hash;
+    }
+
+    /**
+     * Caches an answer known without a lookup, such as "no variant, serve the
+     * original" once generation has ruled a variant out.
+     */
+    public void put(String key, String hash) {
+        hashes.put(key, hash);
+    }
+
+    /**
+     * Evicts {@code key} now and again once the surrounding transaction
+     * commits, so a concurrent read cannot re-cache the old hash in between.
+     */
+    public void evict(String key) {
+        hashes.invalidate(key);
+        afterCommit(() -> hashes.invalidate(key));
+    }
+
+    // For slots addressed by position (galleries), where every index may shift
+    public void evictPrefix(String prefix) {
+        Runnable evict = () -> hashes.asMap().keySet().removeIf(key -> key.startsWith(prefix));
+        evict.run();
+        afterCommit(evict);
+    }
+
+    /* ==========================
+     *         CONTENTS
+     * ==========================
+     */
+
+    /**
+     * Resolves {@code hash} to its metadata and, for objects up to the
+     * per-entry limit, its bytes.
+     */
+    public Optional<CachedMedia> find(String hash) throws IOException {
+        if (hash == null) {
+            return Optional.empty();
+        }
+        CachedMedia cached = contents.getIfPresent(hash);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+
+        MediaObject media = mediaService.find(hash).orElse(null);
+        if (media == null) {
+            return Optional.empty();
+        }
+        ByteBuffer bytes = media.getSize() > 0 && media.getSize() <= maxEntryBytes ? load(media) : null;
+        cached = new CachedMedia(media, bytes);
+        contents.put(hash, cached);
+        return Optional.of(cached);
+    }
+
+    /* ==========================
+     *          HELPERS
+     * ==========================
+     */
+
+    private ByteBuffer load(MediaObject media) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocateDirect((int) media.getSize());
+        try (InputStream in = mediaService.open(media.getHash());
+             ReadableByteChannel channel = Channels.newChannel(in)) {
+            while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+                // Fill until EOF or the declared size is reached
+            }
+        }
+        if (buffer.hasRemaining()) {
+            throw new IOException("Media " + media.getHash() + " is shorter than its recorded size");
+        }
+        return buffer.flip().asReadOnlyBuffer();
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        }
+    }
+}
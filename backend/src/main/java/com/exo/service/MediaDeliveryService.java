@@ -0,0 +1,196 @@
+package com.exo.service;
+
+import com.exo.model.MediaObject;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Streams stored media (images, PDFs) from the {@link MediaStorage} backend to
+ * the servlet response using a bounded buffer, so no file is ever fully
+ * materialized on the heap. Supports single-range {@code Range} requests
+ * ({@code 206 Partial Content} / {@code 416}) and conditional requests: the
+ * content hash doubles as a strong ETag, so {@code If-None-Match} is answered
+ * with {@code 304} before any bytes are read.
+ */
+@Service
+public class MediaDeliveryService {
+
+    private static final int BUFFER_SIZE = 8 * 1024;
+
+    // Unversioned URLs may change content at any time: cache, but always revalidate
+    private static final String REVALIDATE = CacheControl.noCache().getHeaderValue();
+
+    // Versioned URLs (?v=<hash prefix>) can never change content
+    private static final String IMMUTABLE = CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic().immutable().getHeaderValue();
+
+    @Autowired
+    private MediaService mediaService;
+
+    @Autowired
+    private ImageVariantService imageVariantService;
+
+    @Autowired
+    private MediaCache mediaCache;
+
+    /**
+     * Resolves the media hash to deliver, typically by reading it off an entity.
+     */
+    @FunctionalInterface
+    public interface MediaLoader {
+        String load() throws IOException;
+    }
+
+    /**
+     * Writes the media whose hash is returned by {@code loader} to
+     * {@code response}, honouring the request's {@code Range} header. A
+     * {@code ?w=} parameter selects a downscaled variant when one exists.
+     * Responds 404 when there is no such media.
+     *
+     * @param fallbackType content type used when none was detected on upload
+     */
+    public void deliver(MediaLoader loader, MediaType fallbackType,
+                        HttpServletRequest request, HttpServletResponse response) throws IOException {
+        String hash = loader.load();
+        ImageVariantService.Resolution resolution = imageVariantService.resolve(hash, requestedWidth(request));
+        MediaCache.CachedMedia cached = mediaCache.find(resolution.hash()).orElse(null);
+        MediaObject media = cached != null ? cached.media() : null;
+        long length = media != null ? media.getSize() : 0;
+        if (length <= 0) {
+            response.setStatus(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+
+        // No Last-Modified: media rows are shared, so their dates can go backwards for a slot
+        String etag = "\"" + media.getHash() + "\"";
+
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        // The original standing in for a pending variant must not be pinned to the versioned URL
+        boolean immutable = isVersioned(request, hash) && resolution.settled();
+        response.setHeader(HttpHeaders.CACHE_CONTROL, immutable ? IMMUTABLE : REVALIDATE);
+        if (new ServletWebRequest(request, response).checkNotModified(etag)) {
+            return; // 304 with ETag already set
+        }
+        response.setContentType(media.getContentType() != null ? media.getContentType() : fallbackType.toString());
+
+        HttpRange range;
+        try {
+            range = resolveRange(request, etag);
+        } catch (IllegalArgumentException e) {
+            range = null;
+        }
+
+        long start = 0;
+        long end = length - 1;
+        if (range != null) {
+            try {
+                start = range.getRangeStart(length);
+                end = range.getRangeEnd(length);
+                if (start >= length || start > end) {
+                    throw new IllegalArgumentException("Range starts past the end: " + start);
+                }
+            } catch (IllegalArgumentException e) {
+                response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                return;
+            }
+            response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+        } else {
+            response.setStatus(HttpServletResponse.SC_OK);
+        }
+
+        long count = end - start + 1;
+        response.setContentLengthLong(count);
+        if ("HEAD".equalsIgnoreCase(request.getMethod())) {
+            return;
+        }
+
+        if (cached.bytes() != null) {
+            copy(cached.bytes().duplicate().position((int) start).limit((int) (start + count)), response.getOutputStream());
+            return;
+        }
+        try (InputStream in = mediaService.open(media.getHash())) {
+            in.skipNBytes(start);
+            copy(in, response.getOutputStream(), count);
+        }
+    }
+
+    /* ==========================
+     *      HELPERS
+     * ==========================
+     */
+
+    private int requestedWidth(HttpServletRequest request) {
+        String width = request.getParameter("w");
+        if (width == null) {
+            return 0;
+        }
+        try {
+            return Integer.parseInt(width);
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * True when the request carries a {@code ?v=} token matching the current
+     * content, i.e. the client is asking for exactly these bytes.
+     */
+    private boolean isVersioned(HttpServletRequest request, String hash) {
+        String version = request.getParameter("v");
+        return version != null && version.length() >= MediaService.VERSION_LENGTH && hash.startsWith(version);
+    }
+
+    /**
+     * Only a single range is honoured; multi-range requests, and {@code If-Range}
+     * requests whose validator is not the current ETag, are answered with the
+     * full representation, which RFC 9110 explicitly allows.
+     */
+    private HttpRange resolveRange(HttpServletRequest request, String etag) {
+        String header = request.getHeader(HttpHeaders.RANGE);
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (header == null || (ifRange != null && !ifRange.equals(etag))) {
+            return null;
+        }
+        List<HttpRange> ranges = HttpRange.parseRanges(header);
+        return ranges.size() == 1 ? ranges.get(0) : null;
+    }
+
+    private void copy(InputStream in, OutputStream out, long count) throws IOException {
+        byte[] buffer = new byte[BUFFER_SIZE];
+        long remaining = count;
+        while (remaining > 0) {
+            int read = in.read(buffer, 0, (int) Math.min(buffer.length, remaining));
+            if (read == -1) {
+                break;
+            }
+            out.write(buffer, 0, read);
+            remaining -= read;
+        }
+        out.flush();
+    }
+
+    private void copy(ByteBuffer bytes, OutputStream out) throws IOException {
+        byte[] buffer = new byte[Math.min(BUFFER_SIZE, bytes.remaining())];
+        while (bytes.hasRemaining()) {
+            int chunk = Math.min(buffer.length, bytes.remaining());
+            bytes.get(buffer, 0, chunk);
+            out.write(buffer, 0, chunk);
+        }
+        out.flush();
+    }
+}
@@ -0,0 +1,576 @@
+package com.exo.service;
+
+import com.exo.model.MediaObject;
+import com.exo.repository.MediaObjectRepository;
+import com.exo.repository.MediaVariantRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URLConnection;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Content-addressed media store. Every binary is identified by the SHA-256 of
+ * its bytes, written once to the {@link MediaStorage} backend and tracked in
+ * {@code media_objects} with a reference count. Entities only keep hashes.
+ */
+@Service
+public class MediaService {
+
+    private static final Logger logger = LoggerFactory.getLogger(MediaService.class);
+
+    private static final int SNIFF_LIMIT = 16;
+
+    // Length of the hash prefix used as the ?v= cache-busting token
+    public static final int VERSION_LENGTH = 12;
+
+    private static final byte[] PDF_MAGIC = "%PDF".getBytes(StandardCharsets.US_ASCII);
+
+    private static final String INSERT_SQL =
+            "INSERT INTO media_objects (hash, size, content_type, ref_count, created_at, last_touched) VALUES (?, ?, ?, 0, ?, ?)";
+
+    @Autowired
+    private MediaObjectRepository mediaObjectRepository;
+
+    @Autowired
+    private MediaStorage mediaStorage;
+
+    @Autowired
+    private MediaVariantRepository mediaVariantRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${exo.media.gc-grace-minutes:60}")
+    private long gcGraceMinutes;
+
+    @Value("${exo.media.import-threads:4}")
+    private int importThreads;
+
+    // Classpath asset -> hash, so re-seeding the same default image skips re-hashing it
+    private final Map<String, String> assetHashes = new ConcurrentHashMap<>();
+
+    // Hash -> stores whose transaction has not completed yet
+    private final Map<String, Integer> storesInFlight = new ConcurrentHashMap<>();
+
+    // Files whose row was deleted or never committed; removed by the next reconcile
+    private final Set<String> unusedFiles = ConcurrentHashMap.newKeySet();
+
+    // Striped by hash; serializes "is this file still needed" checks against stores of the same content
+    private final ReentrantLock[] fileLocks = IntStream.range(0, 64)
+            .mapToObj(i -> new ReentrantLock())
+            .toArray(ReentrantLock[]::new);
+
+    /* ==========================
+     *          STORING
+     * ==========================
+     */
+
+    /**
+     * Stores the stream's contents and returns their hash. If identical content
+     * is already stored nothing new is written. The returned hash is not yet
+     * referenced; callers attach it with {@link #replace(String, String)}.
+     */
+    @Transactional
+    public String store(InputStream in, String nameHint) throws IOException {
+        Staged staged = stage(in, nameHint);
+        try {
+            beginStore(staged.hash());
+            // Touching an existing row restarts its grace period, so reconcile leaves it alone until the caller retains it
+            boolean created = mediaObjectRepository.touch(List.of(staged.hash()), LocalDateTime.now()) == 0;
+            if (created) {
+                mediaObjectRepository.save(new MediaObject(staged.hash(), staged.size(), staged.contentType()));
+                logger.debug("Stored new media object {} ({} bytes)", staged.hash(), staged.size());
+            }
+            if (created || !mediaStorage.exists(staged.hash())) {
+                mediaStorage.put(staged.hash(), staged.file());
+            }
+            return staged.hash();
+        } finally {
+            Files.deleteIfExists(staged.file());
+        }
+    }
+
+    @Transactional
+    public String store(MultipartFile file) throws IOException {
+        try (InputStream in = file.getInputStream()) {
+            return store(in, file.getOriginalFilename());
+        }
+    }
+
+    /**
+     * Imports a bundled image such as {@code /assets/defaultProjectHeader.png}
+     * from the classpath, falling back to {@code fallbackPath} when the asset
+     * does not exist.
+     */
+    @Transactional
+    public String importAsset(String assetPath, String fallbackPath) throws IOException {
+        String resourcePath = resolveAsset(assetPath, fallbackPath);
+
+        String cached = assetHashes.get(resourcePath);
+        if (cached != null && mediaObjectRepository.existsById(cached)) {
+            return cached;
+        }
+
+        try (InputStream in = getClass().getResourceAsStream(resourcePath)) {
+            if (in == null) {
+                throw new IOException("Asset not found: " + resourcePath);
+            }
+            String hash = store(in, resourcePath);
+            assetHashes.put(resourcePath, hash);
+            return hash;
+        }
+    }
+
+    /**
+     * Returns the classpath resource {@link #importAsset(String, String)} would
+     * read for {@code assetPath}, without reading it.
+     *
+     * @throws IOException if neither the asset nor the fallback exists
+     */
+    public String resolveAsset(String assetPath, String fallbackPath) throws IOException {
+        String resourcePath = toResourcePath(assetPath);
+        if (resourcePath == null || getClass().getResource(resourcePath) == null) {
+            resourcePath = toResourcePath(fallbackPath);
+            if (resourcePath == null || getClass().getResource(resourcePath) == null) {
+                throw new IOException("Asset not found: " + assetPath + " (fallback " + fallbackPath + ")");
+            }
+        }
+        return resourcePath;
+    }
+
+    /**
+     * Imports many classpath resources (as returned by
+     * {@link #resolveAsset(String, String)}) at once. They are read and hashed
+     * in parallel on a bounded pool, identical files are stored once, and the
+     * new {@code media_objects} rows go in as one JDBC batch, so the time is
+     * bounded by the slowest file rather than the sum of all of them.
+     *
+     * @return resource path -> hash, for every requested path
+     */
+    @Transactional
+    public Map<String, String> importResources(Collection<String> resourcePaths) throws IOException {
+        Set<String> paths = new LinkedHashSet<>(resourcePaths);
+        if (paths.isEmpty()) {
+            return Map.of();
+        }
+
+        Map<String, Staged> stagedByPath = new LinkedHashMap<>();
+        Map<String, Future<Staged>> futures = new LinkedHashMap<>();
+        // Every file a task staged, including tasks whose future was cancelled while they ran
+        Queue<Staged> allStaged = new ConcurrentLinkedQueue<>();
+        IOException failure = null;
+        AtomicInteger counter = new AtomicInteger();
+        try (ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, Math.min(importThreads, paths.size())), r -> {
+            Thread thread = new Thread(r, "media-import-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        })) {
+            for (String path : paths) {
+                futures.put(path, executor.submit(() -> {
+                    Staged staged = stageResource(path);
+                    allStaged.add(staged);
+                    return staged;
+                }));
+            }
+            for (Map.Entry<String, Future<Staged>> entry : futures.entrySet()) {
+                try {
+                    stagedByPath.put(entry.getKey(), entry.getValue().get());
+                } catch (ExecutionException e) {
+                    if (failure == null) {
+                        failure = e.getCause() instanceof IOException io ? io : new IOException(e.getCause());
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    failure = new IOException("Interrupted while importing assets", e);
+                    futures.values().forEach(future -> future.cancel(true));
+                    break;
+                }
+            }
+        }
+        if (failure != null) {
+            // Closing the executor waited for every task, so all staged files are listed by now
+            for (Staged staged : allStaged) {
+                Files.deleteIfExists(staged.file());
+            }
+            throw failure;
+        }
+
+        // The first file per hash is kept; duplicates only need their staging file removed
+        Map<String, Staged> unique = new LinkedHashMap<>();
+        try {
+            for (Staged staged : stagedByPath.values()) {
+                unique.putIfAbsent(staged.hash(), staged);
+            }
+            unique.keySet().forEach(this::beginStore);
+            Set<String> known = findExisting(unique.keySet());
+
+            LocalDateTime now = LocalDateTime.now();
+            if (!known.isEmpty() && mediaObjectRepository.touch(known, now) < known.size()) {
+                known = findExisting(known); // Some were collected in between; insert them again
+            }
+            List<Object[]> inserts = new ArrayList<>();
+            for (Staged staged : unique.values()) {
+                boolean created = !known.contains(staged.hash());
+                if (created) {
+                    inserts.add(new Object[]{staged.hash(), staged.size(), staged.contentType(),
+                            Timestamp.valueOf(now), Timestamp.valueOf(now)});
+                }
+                if (created || !mediaStorage.exists(staged.hash())) {
+                    mediaStorage.put(staged.hash(), staged.file());
+                }
+            }
+            if (!inserts.isEmpty()) {
+                jdbcTemplate.batchUpdate(INSERT_SQL, inserts);
+            }
+            logger.info("Imported {} assets ({} distinct, {} new media objects)", paths.size(), unique.size(), inserts.size());
+        } finally {
+            for (Staged staged : stagedByPath.values()) {
+                Files.deleteIfExists(staged.file());
+            }
+        }
+
+        Map<String, String> hashes = new LinkedHashMap<>();
+        stagedByPath.forEach((path, staged) -> {
+            assetHashes.put(path, staged.hash());
+            hashes.put(path, staged.hash());
+        });
+        return hashes;
+    }
+
+    /**
+     * Imports a document by path: bundled assets are read from the classpath,
+     * anything else from the file system relative to the project root.
+     */
+    @Transactional
+    public String importFile(String filePath) throws IOException {
+        String resourcePath = toResourcePath(filePath);
+        if (resourcePath != null && getClass().getResource(resourcePath) != null) {
+            return importAsset(filePath, null);
+        }
+
+        String baseDir = System.getProperty("user.dir").replace("\\", "/").replace("/backend", "");
+        String relativePath = filePath.replace("/assets", "backend/src/main/resources/static/assets").replaceFirst("^/", "");
+        Path file = Paths.get(baseDir).resolve(relativePath);
+        if (!Files.isReadable(file)) {
+            throw new IOException("Cannot access file: " + file.toAbsolutePath());
+        }
+        try (InputStream in = Files.newInputStream(file)) {
+            return store(in, file.getFileName().toString());
+        }
+    }
+
+    /* ==========================
+     *        REFERENCES
+     * ==========================
+     */
+
+    public void retain(String hash) {
+        if (hash != null) {
+            mediaObjectRepository.incrementRefCount(hash);
+        }
+    }
+
+    public void release(String hash) {
+        if (hash != null) {
+            mediaObjectRepository.decrementRefCount(hash, LocalDateTime.now());
+        }
+    }
+
+    /**
+     * Moves one entity slot from {@code oldHash} to {@code newHash}, adjusting
+     * both reference counts, and returns {@code newHash} for chaining into a setter.
+     */
+    public String replace(String oldHash, String newHash) {
+        if (!Objects.equals(oldHash, newHash)) {
+            retain(newHash);
+            release(oldHash);
+        }
+        return newHash;
+    }
+
+    /* ==========================
+     *          READING
+     * ==========================
+     */
+
+    public Optional<MediaObject> find(String hash) {
+        return hash != null ? mediaObjectRepository.findById(hash) : Optional.empty();
+    }
+
+    // The subset of hashes that have a media object
+    public Set<String> findExisting(Collection<String> hashes) {
+        return mediaObjectRepository.findAllById(hashes).stream()
+                .map(MediaObject::getHash)
+                .collect(Collectors.toSet());
+    }
+
+    public InputStream open(String hash) throws IOException {
+        return mediaStorage.open(hash);
+    }
+
+    /**
+     * Appends a {@code ?v=} version token derived from {@code hash} to an API
+     * path, so the URL changes whenever the content does and can be cached forever.
+     */
+    public static String versionedPath(String path, String hash) {
+        if (hash == null) {
+            return path;
+        }
+        return path + "?v=" + hash.substring(0, Math.min(VERSION_LENGTH, hash.length()));
+    }
+
+    /* ==========================
+     *        MAINTENANCE
+     * ==========================
+     */
+
+    /**
+     * Recomputes every reference count from the entity tables (bulk deletes
+     * bypass {@link #release(String)}) and removes objects that have been
+     * unreferenced, and neither stored nor released, for longer than the grace
+     * period. Their files are deleted on the next pass, once the row deletions
+     * have committed, unless the content has been stored again meanwhile.
+     */
+    @Scheduled(initialDelayString = "${exo.media.reconcile-initial-delay-ms:300000}",
+               fixedDelayString = "${exo.media.reconcile-interval-ms:3600000}")
+    @Transactional
+    public void reconcile() {
+        deleteUnusedFiles();
+
+        Map<String, Integer> counts = new HashMap<>();
+        for (Object[] row : mediaObjectRepository.countReferences()) {
+            counts.put((String) row[0], ((Number) row[1]).intValue());
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        for (MediaObject media : mediaObjectRepository.findAll()) {
+            int actual = counts.getOrDefault(media.getHash(), 0);
+            if (media.getRefCount() != actual) {
+                if (actual == 0) {
+                    media.setLastTouched(now); // Unreferenced from now on
+                }
+                media.setRefCount(actual);
+            }
+        }
+        mediaObjectRepository.flush();
+
+        LocalDateTime cutoff = now.minusMinutes(gcGraceMinutes);
+        List<String> deleted = new ArrayList<>();
+        for (MediaObject orphan : mediaObjectRepository.findUnreferencedSince(cutoff)) {
+            if (mediaObjectRepository.deleteIfUnreferenced(orphan.getHash(), cutoff) == 1) {
+                // Its variants become unreferenced and are collected on a later pass
+                mediaVariantRepository.deleteBySourceHash(orphan.getHash());
+                deleted.add(orphan.getHash());
+            }
+        }
+        if (deleted.isEmpty()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                deleted.forEach(hash -> assetHashes.values().removeIf(hash::equals));
+                unusedFiles.addAll(deleted);
+                logger.info("Removed {} unreferenced media objects", deleted.size());
+            }
+        });
+    }
+
+    /**
+     * Deletes the files queued by earlier passes and rolled-back stores. Each
+     * is re-checked under its hash's lock: a store in flight or a committed
+     * row means the content is in use again.
+     */
+    private void deleteUnusedFiles() {
+        int removed = 0;
+        for (String hash : List.copyOf(unusedFiles)) {
+            unusedFiles.remove(hash);
+            ReentrantLock lock = lockFor(hash);
+            lock.lock();
+            try {
+                if (storesInFlight.containsKey(hash) || mediaObjectRepository.findLockedByHash(hash).isPresent()) {
+                    continue;
+                }
+                mediaStorage.delete(hash);
+                removed++;
+            } catch (IOException e) {
+                logger.warn("Could not delete file of removed media object {}", hash, e);
+            } finally {
+                lock.unlock();
+            }
+        }
+        if (removed > 0) {
+            logger.info("Deleted {} unused media files", removed);
+        }
+    }
+
+    /* ==========================
+     *          HELPERS
+     * ==========================
+     */
+
+    /**
+     * Marks {@code hash} as being stored until the surrounding transaction
+     * completes, so {@link #deleteUnusedFiles()} keeps its file. Must run
+     * before the store checks whether the file exists.
+     */
+    private void beginStore(String hash) {
+        ReentrantLock lock = lockFor(hash);
+        lock.lock();
+        try {
+            storesInFlight.merge(hash, 1, Integer::sum);
+        } finally {
+            lock.unlock();
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            endStore(hash, true); // Not expected: every caller is transactional
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                endStore(hash, status == STATUS_COMMITTED);
+            }
+        });
+    }
+
+    private void endStore(String hash, boolean committed) {
+        ReentrantLock lock = lockFor(hash);
+        lock.lock();
+        try {
+            storesInFlight.computeIfPresent(hash, (key, stores) -> stores > 1 ? stores - 1 : null);
+            if (!committed) {
+                unusedFiles.add(hash); // The file may have been written for a row that never committed
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private ReentrantLock lockFor(String hash) {
+        return fileLocks[Math.floorMod(hash.hashCode(), fileLocks.length)];
+    }
+
+    // Content hashed and written to a temporary file, not yet in the store
+    private record Staged(String hash, long size, String contentType, Path file) {
+    }
+
+    private Staged stage(InputStream in, String nameHint) throws IOException {
+        Path file = Files.createTempFile("exo-media-", ".part");
+        try {
+            MessageDigest digest = sha256();
+            BufferedInputStream buffered = new BufferedInputStream(in);
+            buffered.mark(SNIFF_LIMIT);
+            byte[] header = buffered.readNBytes(SNIFF_LIMIT);
+            buffered.reset();
+
+            long size;
+            try (DigestInputStream digestIn = new DigestInputStream(buffered, digest);
+                 OutputStream out = Files.newOutputStream(file)) {
+                size = digestIn.transferTo(out);
+            }
+            return new Staged(HexFormat.of().formatHex(digest.digest()), size, detectContentType(header, nameHint), file);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+    }
+
+    private Staged stageResource(String resourcePath) throws IOException {
+        try (InputStream in = getClass().getResourceAsStream(resourcePath)) {
+            if (in == null) {
+                throw new IOException("Asset not found: " + resourcePath);
+            }
+            return stage(in, resourcePath);
+        }
+    }
+
+    private String toResourcePath(String assetPath) {
+        if (assetPath == null || assetPath.trim().isEmpty()) {
+            return null;
+        }
+        String resourcePath = assetPath.replaceFirst("/assets", "/static/assets");
+        return resourcePath.startsWith("/") ? resourcePath : "/" + resourcePath;
+    }
+
+    private String detectContentType(byte[] header, String nameHint) {
+        String contentType = null;
+        try {
+            contentType = URLConnection.guessContentTypeFromStream(new ByteArrayInputStream(header));
+        } catch (IOException ignored) {
+            // Cannot happen for an in-memory stream
+        }
+        if (contentType == null && startsWith(header, PDF_MAGIC)) {
+            contentType = "application/pdf";
+        }
+        if (contentType == null && nameHint != null) {
+            contentType = URLConnection.guessContentTypeFromName(nameHint);
+        }
+        return contentType;
+    }
+
+    private static boolean startsWith(byte[] data, byte[] prefix) {
+        if (data.length < prefix.length) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length; i++) {
+            if (data[i] != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.exo.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+
+/**
+ * Backend holding the bytes of content-addressed media. Implementations only
+ * deal with opaque SHA-256 keys; bookkeeping lives in {@link MediaService}.
+ */
+public interface MediaStorage {
+
+    boolean exists(String hash);
+
+    /**
+     * Moves a fully written, already hashed staging file into the store.
+     * Storing a hash that already exists must be a harmless no-op.
+     */
+    void put(String hash, Path stagedFile) throws IOException;
+
+    InputStream open(String hash) throws IOException;
+
+    void delete(String hash) throws IOException;
+}
@@ -0,0 +1,75 @@
+package com.exo.service;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Holds the rendered {@code /api/portfolio} document. Writes to any entity
+ * shown on it invalidate the cached bytes; the next read re-renders once
+ * while concurrent readers wait for that result. A render that overlaps an
+ * invalidation is returned to its caller but not kept.
+ */
+@Service
+public class PortfolioCache {
+
+    /**
+     * The serialized document and its strong ETag.
+     */
+    public record Rendered(byte[] json, String etag) {
+    }
+
+    // Bumped on every invalidation, so a render can tell it raced with a write
+    private final AtomicLong generation = new AtomicLong();
+
+    // A lock rather than synchronized, so waiting virtual threads don't pin their carrier
+    private final ReentrantLock renderLock = new ReentrantLock();
+
+    private volatile Rendered rendered;
+
+    public Rendered get(Supplier<Rendered> renderer) {
+        Rendered current = rendered;
+        if (current != null) {
+            return current;
+        }
+        renderLock.lock();
+        try {
+            current = rendered;
+            if (current == null) {
+                long started = generation.get();
+                current = renderer.get();
+                if (generation.get() == started) {
+                    rendered = current;
+                }
+            }
+            return current;
+        } finally {
+            renderLock.unlock();
+        }
+    }
+
+    /**
+     * Drops the document now and again once the surrounding transaction
+     * commits, so a render in between cannot keep the old state.
+     */
+    public void invalidate() {
+        drop();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    drop();
+                }
+            });
+        }
+    }
+
+    private void drop() {
+        generation.incrementAndGet();
+        rendered = null;
+    }
+}
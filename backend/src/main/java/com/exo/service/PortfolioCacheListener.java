@@ -0,0 +1,25 @@
+package com.exo.service;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA entity listener that invalidates the {@link PortfolioCache} whenever
+ * an entity shown on the portfolio document is written.
+ */
+@Component
+public class PortfolioCacheListener {
+
+    @Autowired
+    private PortfolioCache portfolioCache;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void changed(Object entity) {
+        portfolioCache.invalidate();
+    }
+}
@@ -0,0 +1,147 @@
+package com.exo.service;
+
+import com.exo.model.Technology;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.DigestUtils;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Assembles everything the landing page needs for first paint into one JSON
+ * document: the owner's profile card, published sections, recent projects,
+ * technologies by category, the latest CV and the most viewed posts.
+ * <p>
+ * Each part is loaded on its own virtual thread, in its own read-only
+ * transaction, and converted to a JSON tree there so lazy associations are
+ * still readable. The parts are then written out once and the bytes are
+ * kept in {@link PortfolioCache} until a relevant write invalidates them.
+ */
+@Service
+public class PortfolioService {
+
+    private static final String UNCATEGORIZED = "Other";
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private SectionService sectionService;
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private TechnologyService technologyService;
+
+    @Autowired
+    private CVService cvService;
+
+    @Autowired
+    private PostLeaderboard postLeaderboard;
+
+    @Autowired
+    private PortfolioCache portfolioCache;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final String owner;
+
+    private final int recentProjects;
+
+    private final int popularPosts;
+
+    private final ExecutorService executor = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("portfolio-", 0).factory());
+
+    public PortfolioService(@Value("${exo.portfolio.owner:etheko}") String owner,
+                            @Value("${exo.portfolio.recent-projects:6}") int recentProjects,
+                            @Value("${exo.portfolio.popular-posts:5}") int popularPosts) {
+        this.owner = owner;
+        this.recentProjects = recentProjects;
+        this.popularPosts = popularPosts;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Returns the rendered document, rendering it first if a write has
+     * invalidated the cached copy.
+     *
+     * @throws IllegalStateException if a part could not be loaded
+     */
+    public PortfolioCache.Rendered getPortfolio() {
+        return portfolioCache.get(this::render);
+    }
+
+    /* ==========================
+     *         RENDERING
+     * ==========================
+     */
+
+    private PortfolioCache.Rendered render() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+
+        Map<String, CompletableFuture<JsonNode>> parts = new LinkedHashMap<>();
+        parts.put("profile", load(transaction, () -> userService.findCardByUsername(owner)));
+        parts.put("sections", load(transaction, sectionService::getPublishedSections));
+        parts.put("recentProjects", load(transaction, () -> projectService.findRecentProjects(recentProjects)));
+        parts.put("technologiesByCategory", load(transaction, this::technologiesByCategory));
+        parts.put("latestCv", load(transaction, cvService::getLatestCV));
+        parts.put("popularPosts", load(transaction, () -> postLeaderboard.mostViewed(popularPosts)));
+
+        ObjectNode document = objectMapper.createObjectNode();
+        try {
+            parts.forEach((name, part) -> document.set(name, part.join()));
+        } catch (CompletionException e) {
+            throw new IllegalStateException("Could not assemble the portfolio", e.getCause());
+        }
+
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(document);
+            return new PortfolioCache.Rendered(json, "\"" + DigestUtils.md5DigestAsHex(json) + "\"");
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize the portfolio", e);
+        }
+    }
+
+    private CompletableFuture<JsonNode> load(TransactionTemplate transaction, Supplier<?> loader) {
+        return CompletableFuture.supplyAsync(
+                () -> transaction.execute(status -> objectMapper.<JsonNode>valueToTree(loader.get())), executor);
+    }
+
+    private Map<String, List<Technology>> technologiesByCategory() {
+        return technologyService.findAll().stream()
+                .collect(Collectors.groupingBy(
+                        technology -> technology.getCategory() != null && !technology.getCategory().isBlank()
+                                ? technology.getCategory()
+                                : UNCATEGORIZED,
+                        TreeMap::new,
+                        Collectors.toList()));
+    }
+}
@@ -0,0 +1,159 @@
+package com.exo.service;
+
+import com.exo.repository.PostRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Write-behind view/like counters for posts. Hits only bump in-memory
+ * {@link LongAdder}s; a scheduled flush applies the accumulated deltas with
+ * one batched {@code UPDATE posts SET views = views + ?, likes = likes + ?}.
+ * Remaining deltas are drained on shutdown.
+ */
+@Service
+public class PostCounterService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PostCounterService.class);
+
+    private static final String FLUSH_SQL = "UPDATE posts SET views = views + ?, likes = likes + ? WHERE id = ?";
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PostLeaderboard postLeaderboard;
+
+    @Autowired
+    private PortfolioCache portfolioCache;
+
+    @Value("${exo.portfolio.popular-posts:5}")
+    private int portfolioPopularPosts;
+
+    private final Map<Long, Counters> pending = new ConcurrentHashMap<>();
+
+    // Post IDs confirmed to exist, so repeat hits skip the existence query
+    private final Set<Long> knownPosts = ConcurrentHashMap.newKeySet();
+
+    private static final class Counters {
+        final LongAdder views = new LongAdder();
+        final LongAdder likes = new LongAdder();
+    }
+
+    /* ==========================
+     *         RECORDING
+     * ==========================
+     */
+
+    /**
+     * Records one view. Returns false when the post does not exist.
+     */
+    public boolean recordView(Long postId) {
+        Counters counters = countersFor(postId);
+        if (counters == null) {
+            return false;
+        }
+        counters.views.increment();
+        return true;
+    }
+
+    /**
+     * Records one like. Returns false when the post does not exist.
+     */
+    public boolean recordLike(Long postId) {
+        Counters counters = countersFor(postId);
+        if (counters == null) {
+            return false;
+        }
+        counters.likes.increment();
+        return true;
+    }
+
+    /**
+     * Drops pending deltas for a deleted post.
+     */
+    public void forget(Long postId) {
+        knownPosts.remove(postId);
+        pending.remove(postId);
+    }
+
+    /* ==========================
+     *          FLUSHING
+     * ==========================
+     */
+
+    @Scheduled(fixedDelayString = "${exo.posts.counter-flush-ms:5000}")
+    public void flush() {
+        List<Object[]> batch = new ArrayList<>();
+        List<Long> ids = new ArrayList<>();
+        for (Map.Entry<Long, Counters> entry : pending.entrySet()) {
+            long views = entry.getValue().views.sumThenReset();
+            long likes = entry.getValue().likes.sumThenReset();
+            if (views != 0 || likes != 0) {
+                batch.add(new Object[]{views, likes, entry.getKey()});
+                ids.add(entry.getKey());
+            }
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        try {
+            jdbcTemplate.batchUpdate(FLUSH_SQL, batch);
+            logger.debug("Flushed counters for {} posts", batch.size());
+        } catch (RuntimeException e) {
+            // Put the deltas back so the next flush retries them
+            for (int i = 0; i < batch.size(); i++) {
+                Counters counters = pending.get(ids.get(i));
+                if (counters != null) {
+                    counters.views.add((long) batch.get(i)[0]);
+                    counters.likes.add((long) batch.get(i)[1]);
+                }
+            }
+            logger.warn("Could not flush post counters; will retry", e);
+            return;
+        }
+        // The portfolio lists the most viewed posts; re-render only if they moved
+        if (postLeaderboard.onCountersFlushed(ids, portfolioPopularPosts)) {
+            portfolioCache.invalidate();
+        }
+    }
+
+    @PreDestroy
+    public void drain() {
+        flush();
+    }
+
+    /* ==========================
+     *          HELPERS
+     * ==========================
+     */
+
+    private Counters countersFor(Long postId) {
+        if (postId == null) {
+            return null;
+        }
+        if (!knownPosts.contains(postId)) {
+            if (!postRepository.existsById(postId)) {
+                return null;
+            }
+            knownPosts.add(postId);
+        }
+        return pending.computeIfAbsent(postId, id -> new Counters());
+    }
+}
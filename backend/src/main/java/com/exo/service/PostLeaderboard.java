@@ -0,0 +1,209 @@
+package com.exo.service;
+
+import com.exo.dto.PostSummary;
+import com.exo.repository.PostRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-memory top-N of published posts by views and by likes.
+ * <p>
+ * Each board is loaded once from the ranked queries and then kept current
+ * incrementally: counters only grow, so a post can only enter a board
+ * through its own increments, which {@link PostCounterService} reports after
+ * every flush. Anything that can move a post down or out (unpublishing,
+ * deleting, editing the listed fields) drops the boards so the next read
+ * reloads them. Reads are a copy of at most {@code limit} entries.
+ */
+@Service
+public class PostLeaderboard {
+
+    private static final Logger logger = LoggerFactory.getLogger(PostLeaderboard.class);
+
+    private static final Comparator<PostSummary> BY_VIEWS = Comparator.comparingInt(PostSummary::views)
+            .thenComparing(PostSummary::id).reversed();
+
+    private static final Comparator<PostSummary> BY_LIKES = Comparator.comparingInt(PostSummary::likes)
+            .thenComparing(PostSummary::id).reversed();
+
+    @Autowired
+    private PostRepository postRepository;
+
+    private final boolean enabled;
+
+    private final int capacity;
+
+    // Guards loading and merging; a lock rather than synchronized because loads query
+    // the database, which would pin the carrier of a virtual request thread
+    private final ReentrantLock lock = new ReentrantLock();
+
+    // Sorted, immutable snapshots; null until first read or after invalidation
+    private volatile List<PostSummary> byViews;
+
+    private volatile List<PostSummary> byLikes;
+
+    public PostLeaderboard(@Value("${exo.posts.leaderboard.enabled:true}") boolean enabled,
+                           @Value("${exo.posts.leaderboard.size:50}") int capacity) {
+        this.enabled = enabled && capacity > 0;
+        this.capacity = capacity;
+    }
+
+    /* ==========================
+     *          READS
+     * ==========================
+     */
+
+    public List<PostSummary> mostViewed(int limit) {
+        if (limit <= 0) {
+            return List.of();
+        }
+        if (!enabled || limit > capacity) {
+            return postRepository.findMostViewed(PageRequest.of(0, limit));
+        }
+        List<PostSummary> board = byViews;
+        if (board == null) {
+            board = loadViews();
+        }
+        return List.copyOf(head(board, limit));
+    }
+
+    public List<PostSummary> mostLiked(int limit) {
+        if (limit <= 0) {
+            return List.of();
+        }
+        if (!enabled || limit > capacity) {
+            return postRepository.findMostLiked(PageRequest.of(0, limit));
+        }
+        List<PostSummary> board = byLikes;
+        if (board == null) {
+            board = loadLikes();
+        }
+        return List.copyOf(head(board, limit));
+    }
+
+    /* ==========================
+     *         UPDATES
+     * ==========================
+     */
+
+    /**
+     * Merges the current totals of the posts whose counters were just
+     * flushed into the loaded boards. Returns whether the first {@code top}
+     * posts by views changed, in order or in their counts; true whenever
+     * that cannot be told from memory.
+     */
+    public boolean onCountersFlushed(Collection<Long> postIds, int top) {
+        if (postIds.isEmpty() || top <= 0) {
+            return false;
+        }
+        if (!enabled || top > capacity) {
+            return true; // Served straight from the ranked query
+        }
+        // An unloaded board has not been read since it was last dropped
+        if (byViews == null && byLikes == null) {
+            return false;
+        }
+        lock.lock();
+        try {
+            List<PostSummary> touched = postRepository.findSummariesByIdIn(postIds);
+            boolean changed = false;
+            if (byViews != null) {
+                List<PostSummary> before = head(byViews, top);
+                byViews = merge(byViews, touched, BY_VIEWS);
+                changed = !before.equals(head(byViews, top));
+            }
+            if (byLikes != null) {
+                byLikes = merge(byLikes, touched, BY_LIKES);
+            }
+            return changed;
+        } catch (RuntimeException e) {
+            logger.warn("Could not update post leaderboard; reloading on next read", e);
+            drop();
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Drops both boards now and again after the surrounding transaction
+     * commits, so a read in between cannot reload the old state.
+     */
+    public void invalidate() {
+        drop();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    drop();
+                }
+            });
+        }
+    }
+
+    /* ==========================
+     *          HELPERS
+     * ==========================
+     */
+
+    private List<PostSummary> loadViews() {
+        lock.lock();
+        try {
+            if (byViews == null) {
+                byViews = List.copyOf(postRepository.findMostViewed(PageRequest.of(0, capacity)));
+            }
+            return byViews;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private List<PostSummary> loadLikes() {
+        lock.lock();
+        try {
+            if (byLikes == null) {
+                byLikes = List.copyOf(postRepository.findMostLiked(PageRequest.of(0, capacity)));
+            }
+            return byLikes;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void drop() {
+        lock.lock();
+        try {
+            byViews = null;
+            byLikes = null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static List<PostSummary> head(List<PostSummary> board, int limit) {
+        return board.subList(0, Math.min(limit, board.size()));
+    }
+
+    private List<PostSummary> merge(List<PostSummary> board, List<PostSummary> touched, Comparator<PostSummary> order) {
+        Map<Long, PostSummary> entries = new LinkedHashMap<>();
+        board.forEach(summary -> entries.put(summary.id(), summary));
+        touched.forEach(summary -> entries.put(summary.id(), summary));
+        return entries.values().stream()
+                .sorted(order)
+                .limit(capacity)
+                .toList();
+    }
+}
@@ -1,13 +1,19 @@
 package com.exo.service;
 
+import com.exo.dto.CursorPage;
+import com.exo.dto.KeysetCursor;
+import com.exo.dto.PostSummary;
 import com.exo.model.Post;
 import com.exo.model.User;
 import com.exo.repository.PostRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.io.IOException;
-import java.sql.SQLException;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
@@ -15,15 +21,27 @@ import java.util.Optional;
 @Service
 public class PostService {
 
+    private static final String DEFAULT_COVER = "/assets/defaultPostCover.png";
+
     @Autowired
     private PostRepository postRepository;
 
+    @Autowired
+    private MediaService mediaService;
+
+    @Autowired
+    private PostCounterService postCounterService;
+
+    @Autowired
+    private PostLeaderboard postLeaderboard;
+
     /* ==========================
      *      BASIC CRUD
      * ==========================
      */
 
     public Post savePost(Post post) {
+        postLeaderboard.invalidate();
         return postRepository.save(post);
     }
 
@@ -35,8 +53,42 @@ public class PostService {
         return postRepository.findAll();
     }
 
+    public Page<PostSummary> findSummaries(Pageable pageable) {
+        return postRepository.findSummaries(pageable);
+    }
+
+    public Page<PostSummary> findSummaries(boolean published, Pageable pageable) {
+        return postRepository.findSummariesByPublished(published, pageable);
+    }
+
+    /**
+     * Keyset feed of published posts, newest first. {@code cursor} is the
+     * {@code nextCursor} of the previous slice, or null for the first one.
+     *
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    public CursorPage<PostSummary> getPublishedFeed(String cursor, int size) {
+        int limit = KeysetCursor.clampSize(size);
+        Pageable first = PageRequest.of(0, limit + 1);
+        List<PostSummary> fetched;
+        if (cursor == null) {
+            fetched = postRepository.findPublishedFeed(first);
+        } else {
+            KeysetCursor position = KeysetCursor.decode(cursor);
+            fetched = postRepository.findPublishedFeedAfter(position.keyAsDateTime(), position.id(), first);
+        }
+        return CursorPage.of(fetched, limit, summary -> KeysetCursor.of(summary.publishedAt(), summary.id()));
+    }
+
+    @Transactional
     public void deleteById(Long id) {
+        postRepository.findById(id).ifPresent(post -> {
+            mediaService.release(post.getCoverImageHash());
+            post.getGalleryHashes().forEach(mediaService::release);
+        });
         postRepository.deleteById(id);
+        postCounterService.forget(id);
+        postLeaderboard.invalidate();
     }
 
     /* ==========================
@@ -44,16 +96,20 @@ public class PostService {
      * ==========================
      */
 
+    @Transactional
     public Post createPost(String title, String slug, String excerpt, String content,
                           String coverImagePath, List<String> tags, boolean published, User author)
-            throws IOException, SQLException {
+            throws IOException {
         Post post = new Post(title, slug, excerpt, content, coverImagePath, tags, published, author);
+        postLeaderboard.invalidate();
+        post.setCoverImageHash(mediaService.replace(null, mediaService.importAsset(post.getCoverImagePath(), DEFAULT_COVER)));
         return postRepository.save(post);
     }
 
+    @Transactional
     public Post updatePost(Long id, String title, String slug, String excerpt, String content,
                           String coverImagePath, List<String> tags, boolean published)
-            throws IOException, SQLException {
+            throws IOException {
         Optional<Post> optional = postRepository.findById(id);
         if (optional.isPresent()) {
             Post post = optional.get();
@@ -62,8 +118,9 @@ public class PostService {
             post.setExcerpt(excerpt);
             post.setContent(content);
             if (coverImagePath != null && !coverImagePath.isEmpty()) {
+                String hash = mediaService.importAsset(coverImagePath, DEFAULT_COVER);
                 post.setCoverImagePath(coverImagePath);
-                post.setCoverImageBlob(post.localImageToBlob(coverImagePath));
+                post.setCoverImageHash(mediaService.replace(post.getCoverImageHash(), hash));
             }
             if (tags != null) post.setTags(tags);
             post.setPublished(published);
@@ -73,6 +130,7 @@ public class PostService {
             // Calculate reading minutes directly
             int readingMinutes = calculateReadingMinutes(content);
             post.setReadingMinutes(readingMinutes);
+            postLeaderboard.invalidate();
             return postRepository.save(post);
         }
         return null;
@@ -91,6 +149,7 @@ public class PostService {
             if (post.getPublishedAt() == null) {
                 post.setPublishedAt(LocalDateTime.now());
             }
+            postLeaderboard.invalidate();
             return postRepository.save(post);
         }
         return null;
@@ -101,6 +160,7 @@ public class PostService {
         if (optional.isPresent()) {
             Post post = optional.get();
             post.setPublished(false);
+            postLeaderboard.invalidate();
             return postRepository.save(post);
         }
         return null;
@@ -124,10 +184,7 @@ public class PostService {
     }
 
     public List<Post> getDraftPosts() {
-        List<Post> allPosts = postRepository.findAll();
-        return allPosts.stream()
-                .filter(post -> !post.isPublished())
-                .toList();
+        return postRepository.findByPublishedFalseOrderByCreatedAtDesc();
     }
 
     /* ==========================
@@ -135,6 +192,7 @@ public class PostService {
      * ==========================
      */
 
+    @Transactional
     public Post addTag(Long postId, String tag) {
         Optional<Post> optional = postRepository.findById(postId);
         if (optional.isPresent()) {
@@ -145,6 +203,7 @@ public class PostService {
         return null;
     }
 
+    @Transactional
     public Post removeTag(Long postId, String tag) {
         Optional<Post> optional = postRepository.findById(postId);
         if (optional.isPresent()) {
@@ -160,21 +219,25 @@ public class PostService {
      * ==========================
      */
 
-    public Post addGalleryImage(Long postId, String imagePath) throws IOException, SQLException {
+    @Transactional
+    public Post addGalleryImage(Long postId, String imagePath) throws IOException {
         Optional<Post> optional = postRepository.findById(postId);
         if (optional.isPresent()) {
             Post post = optional.get();
-            post.addGalleryImage(imagePath);
+            String hash = mediaService.importAsset(imagePath, DEFAULT_COVER);
+            mediaService.retain(hash);
+            post.addGalleryImage(hash);
             return postRepository.save(post);
         }
         return null;
     }
 
+    @Transactional
     public Post removeGalleryImage(Long postId, int index) {
         Optional<Post> optional = postRepository.findById(postId);
         if (optional.isPresent()) {
             Post post = optional.get();
-            post.removeGalleryImage(index);
+            mediaService.release(post.removeGalleryImage(index));
             return postRepository.save(post);
         }
         return null;
@@ -185,40 +248,35 @@ public class PostService {
      * ==========================
      */
 
-    public Post incrementViews(Long postId) {
-        Optional<Post> optional = postRepository.findById(postId);
-        if (optional.isPresent()) {
-            Post post = optional.get();
-            post.incrementViews();
-            return postRepository.save(post);
-        }
-        return null;
+    /**
+     * Counts a view. The increment is buffered and written in the next
+     * batched flush, so it is not reflected in reads until then.
+     *
+     * @return false if the post does not exist
+     */
+    public boolean incrementViews(Long postId) {
+        return postCounterService.recordView(postId);
     }
 
-    public Post incrementLikes(Long postId) {
-        Optional<Post> optional = postRepository.findById(postId);
-        if (optional.isPresent()) {
-            Post post = optional.get();
-            post.incrementLikes();
-            return postRepository.save(post);
-        }
-        return null;
+    /**
+     * Counts a like; buffered like {@link #incrementViews(Long)}.
+     *
+     * @return false if the post does not exist
+     */
+    public boolean incrementLikes(Long postId) {
+        return postCounterService.recordLike(postId);
     }
 
-    public List<Post> getMostViewedPosts(int limit) {
-        List<Post> publishedPosts = getPublishedPosts();
-        return publishedPosts.stream()
-                .sorted((p1, p2) -> Integer.compare(p2.getViews(), p1.getViews()))
-                .limit(limit)
-                .toList();
+    /**
+     * Most viewed published posts, ranked in SQL or served from the
+     * in-memory leaderboard.
+     */
+    public List<PostSummary> getMostViewedPosts(int limit) {
+        return postLeaderboard.mostViewed(limit);
     }
 
-    public List<Post> getMostLikedPosts(int limit) {
-        List<Post> publishedPosts = getPublishedPosts();
-        return publishedPosts.stream()
-                .sorted((p1, p2) -> Integer.compare(p2.getLikes(), p1.getLikes()))
-                .limit(limit)
-                .toList();
+    public List<PostSummary> getMostLikedPosts(int limit) {
+        return postLeaderboard.mostLiked(limit);
     }
 
     /* ==========================
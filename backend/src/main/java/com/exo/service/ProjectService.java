@@ -1,32 +1,79 @@
 package com.exo.service;
 
+import com.exo.dto.CursorPage;
+import com.exo.dto.KeysetCursor;
 import com.exo.model.Project;
+import com.exo.model.OrderedLists;
 import com.exo.repository.ProjectRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
-import java.sql.Blob;
-import java.sql.SQLException;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 public class ProjectService {
 
     private static final Logger logger = LoggerFactory.getLogger(ProjectService.class);
 
+    private static final String DEFAULT_HEADER = "/assets/defaultProjectHeader.png";
+    private static final String DEFAULT_ICON = "/assets/defaultProjectIcon.png";
+
     @Autowired
     private ProjectRepository projectRepository;
 
+    @Autowired
+    private TechnologyService technologyService;
+
+    @Autowired
+    private TechnologyStatistics technologyStatistics;
+
+    @Autowired
+    private PortfolioCache portfolioCache;
+
+    @Autowired
+    private MediaService mediaService;
+
+    @Autowired
+    private ImageVariantService imageVariantService;
+
+    @Autowired
+    private MediaCache mediaCache;
+
+    // Far-future bound used as the first slice's (createdAt, id) position
+    private static final LocalDateTime CREATED_UPPER_BOUND = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+
+    /**
+     * Sort keys supported by the cursor listings.
+     */
+    public enum CursorOrder {
+        CREATED, // (createdAt, id), newest first
+        TITLE    // (title, id), alphabetical
+    }
+
+    /**
+     * How a multi-technology filter combines its technologies.
+     */
+    public enum TechnologyMatch {
+        ANY, // linked to at least one of them
+        ALL  // linked to every one of them
+    }
+
     // Basic CRUD operations
     public List<Project> findAll() {
         return projectRepository.findAll();
@@ -36,8 +83,18 @@ public class ProjectService {
         return projectRepository.findById(id);
     }
 
+    /**
+     * Saves the project, first resolving any technology names set on it to
+     * links, creating technologies that do not exist yet.
+     */
+    @Transactional
     public Project save(Project project) {
-        return projectRepository.save(project);
+        if (project.getPendingTechnologies() != null) {
+            project.linkTechnologies(technologyService.resolveAll(project.getPendingTechnologies()));
+        }
+        Project saved = projectRepository.save(project);
+        technologyStatistics.projectChanged(saved);
+        return saved;
     }
 
     @Transactional
@@ -50,24 +107,33 @@ public class ProjectService {
         project.setFinished(finished);
 
         // Set default images by providing their paths
-        project.setHeaderPictureString("/assets/defaultProjectHeader.png");
-        project.setIconString("/assets/defaultProjectIcon.png");
+        project.setHeaderPictureString(DEFAULT_HEADER);
+        project.setIconString(DEFAULT_ICON);
         try {
-            project.setHeaderPicture(project.localImageToBlob(project.getHeaderPictureString()));
-            project.setIcon(project.localImageToBlob(project.getIconString()));
-        } catch (IOException | SQLException e) {
-            System.err.println("Warning: Could not set default blob images for new project: " + e.getMessage());
+            project.setHeaderPictureHash(mediaService.replace(null, mediaService.importAsset(DEFAULT_HEADER, DEFAULT_HEADER)));
+            project.setIconHash(mediaService.replace(null, mediaService.importAsset(DEFAULT_ICON, DEFAULT_ICON)));
+        } catch (IOException e) {
+            System.err.println("Warning: Could not set default images for new project: " + e.getMessage());
         }
 
-        project.setTechnologies(new ArrayList<>());
         project.setGalleryImagePaths(new ArrayList<>());
-        project.setGallery(new ArrayList<>());
+        project.setGalleryHashes(new ArrayList<>());
 
-        return projectRepository.save(project);
+        Project saved = projectRepository.save(project);
+        technologyStatistics.projectChanged(saved);
+        return saved;
     }
 
+    @Transactional
     public void deleteById(Long id) {
+        projectRepository.findById(id).ifPresent(project -> {
+            mediaService.release(project.getHeaderPictureHash());
+            mediaService.release(project.getIconHash());
+            project.getGalleryHashes().forEach(mediaService::release);
+        });
         projectRepository.deleteById(id);
+        technologyStatistics.projectRemoved(id);
+        mediaCache.evictPrefix(MediaCache.key("project", id, ""));
     }
 
     // Search and filtering operations
@@ -80,11 +146,32 @@ public class ProjectService {
     }
 
     public Page<Project> findByTechnology(String technology, Pageable pageable) {
-        return projectRepository.findByTechnology(technology, pageable);
+        Long technologyId = technologyService.findIdByName(technology);
+        if (technologyId == null) {
+            return Page.empty(pageable);
+        }
+        return projectRepository.findByTechnologyId(technologyId, pageable);
     }
 
     public Page<Project> findByTechnologies(List<String> technologies, Pageable pageable) {
-        return projectRepository.findByTechnologiesIn(technologies, pageable);
+        return findByTechnologies(technologies, TechnologyMatch.ANY, pageable);
+    }
+
+    /**
+     * Resolves the names to technology IDs and filters on the link table's
+     * technology index. With {@link TechnologyMatch#ALL} an unknown name can
+     * match nothing, so the query is skipped.
+     */
+    public Page<Project> findByTechnologies(List<String> technologies, TechnologyMatch match, Pageable pageable) {
+        int requested = TechnologyService.normalizeAll(technologies).size();
+        List<Long> ids = technologyService.findIdsByNames(technologies);
+        if (ids.isEmpty() || (match == TechnologyMatch.ALL && ids.size() < requested)) {
+            return Page.empty(pageable);
+        }
+        if (match == TechnologyMatch.ALL) {
+            return projectRepository.findByAllTechnologyIds(ids, ids.size(), pageable);
+        }
+        return projectRepository.findByAnyTechnologyId(ids, pageable);
     }
 
     public Page<Project> searchProjects(String query, Pageable pageable) {
@@ -118,8 +205,59 @@ public class ProjectService {
         return projectRepository.findAllByOrderByTitleAsc(pageable);
     }
 
+    /**
+     * Pages through projects by technology count, ranked in memory by
+     * {@link TechnologyStatistics}; only the page's projects are loaded.
+     */
     public Page<Project> findProjectsByTechnologyCount(Pageable pageable) {
-        return projectRepository.findProjectsByTechnologyCount(pageable);
+        List<Long> ranking = technologyStatistics.projectsByTechnologyCount();
+        if (pageable.isUnpaged()) {
+            return new PageImpl<>(findAllInOrder(ranking));
+        }
+        int from = (int) Math.min(pageable.getOffset(), ranking.size());
+        int to = Math.min(from + pageable.getPageSize(), ranking.size());
+        return new PageImpl<>(findAllInOrder(ranking.subList(from, to)), pageable, ranking.size());
+    }
+
+    // Cursor (keyset) operations
+    public CursorPage<Project> findAfter(String cursor, int size, CursorOrder order) {
+        return findAfter(cursor, size, order, null, null, null, null);
+    }
+
+    /**
+     * Keyset-paginated listing with optional filters; null filters are
+     * ignored. {@code cursor} is the {@code nextCursor} of the previous slice,
+     * or null for the first one, and must come from a listing with the same
+     * order. Seeks past the last row instead of counting and skipping, so
+     * every slice costs the same.
+     *
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    public CursorPage<Project> findAfter(String cursor, int size, CursorOrder order, String query,
+                                         String technology, LocalDateTime start, LocalDateTime end) {
+        int limit = KeysetCursor.clampSize(size);
+        PageRequest slice = PageRequest.of(0, limit + 1);
+        KeysetCursor position = cursor != null ? KeysetCursor.decode(cursor) : null;
+        String filter = query != null && !query.isBlank() ? query.trim() : null;
+        Long technologyId = null;
+        if (technology != null && !technology.isBlank()) {
+            technologyId = technologyService.findIdByName(technology);
+            if (technologyId == null) {
+                return new CursorPage<>(List.of(), null); // Unknown technology: no project can match
+            }
+        }
+
+        if (order == CursorOrder.TITLE) {
+            List<Project> fetched = projectRepository.findTitledAfter(
+                    position != null ? position.key() : "", position != null ? position.id() : Long.MIN_VALUE,
+                    filter, technologyId, start, end, slice);
+            return CursorPage.of(fetched, limit, project -> KeysetCursor.of(project.getTitle(), project.getId()));
+        }
+        List<Project> fetched = projectRepository.findCreatedBefore(
+                position != null ? position.keyAsDateTime() : CREATED_UPPER_BOUND,
+                position != null ? position.id() : Long.MAX_VALUE,
+                filter, technologyId, start, end, slice);
+        return CursorPage.of(fetched, limit, project -> KeysetCursor.of(project.getCreatedAt(), project.getId()));
     }
 
     // Batch operations
@@ -127,61 +265,70 @@ public class ProjectService {
     public void batchUpdateFinishedStatus(List<Long> ids, boolean finished) {
         if (ids != null && !ids.isEmpty()) {
             projectRepository.updateFinishedStatusForIds(finished, ids);
+            portfolioCache.invalidate(); // Bulk update; entity listeners don't see it
         }
     }
 
     // Statistics and analytics
     public List<Object[]> getTechnologyStatistics() {
-        return projectRepository.countProjectsByTechnology();
+        return technologyStatistics.usage(Integer.MAX_VALUE).stream()
+                .filter(usage -> usage.projects() > 0)
+                .map(usage -> new Object[]{usage.name(), usage.projects()})
+                .toList();
     }
 
     // Gallery management
     @Transactional
-    public Project updateGallery(Long projectId, List<String> pathsToDelete, List<MultipartFile> filesToAdd) throws IOException, SQLException {
+    public Project updateGallery(Long projectId, List<String> pathsToDelete, List<MultipartFile> filesToAdd) throws IOException {
         Project project = projectRepository.findById(projectId)
                 .orElseThrow(() -> new RuntimeException("Project not found with id: " + projectId));
 
-        List<Blob> currentBlobs = project.getGallery();
+        List<String> currentHashes = project.getGalleryHashes();
         List<String> currentPaths = project.getGalleryImagePaths();
 
-        List<Blob> nextBlobs = new ArrayList<>();
-        List<String> nextPaths = new ArrayList<>();
+        List<String> nextHashes = new ArrayList<>();
 
         if (pathsToDelete != null && !pathsToDelete.isEmpty()) {
             for (int i = 0; i < currentPaths.size(); i++) {
                 if (!pathsToDelete.contains(currentPaths.get(i))) {
-                    nextBlobs.add(currentBlobs.get(i));
-                    nextPaths.add(currentPaths.get(i));
+                    nextHashes.add(currentHashes.get(i));
+                } else {
+                    mediaService.release(currentHashes.get(i));
                 }
             }
         } else {
-            nextBlobs.addAll(currentBlobs);
-            nextPaths.addAll(currentPaths);
+            nextHashes.addAll(currentHashes);
         }
 
-        project.getGallery().clear();
-        project.getGallery().addAll(nextBlobs);
-        project.getGalleryImagePaths().clear();
-
         if (filesToAdd != null && !filesToAdd.isEmpty()) {
             for (MultipartFile file : filesToAdd) {
-                Blob blob = new javax.sql.rowset.serial.SerialBlob(file.getBytes());
-                project.getGallery().add(blob);
+                String hash = mediaService.store(file);
+                imageVariantService.generateAsync(hash);
+                mediaService.retain(hash);
+                nextHashes.add(hash);
             }
         }
 
-        for (int i = 0; i < project.getGallery().size(); i++) {
-            project.getGalleryImagePaths().add("/api/projects/" + projectId + "/gallery/" + i);
+        List<String> nextPaths = new ArrayList<>();
+        for (int i = 0; i < nextHashes.size(); i++) {
+            String path = "/api/projects/" + projectId + "/gallery/" + i;
+            nextPaths.add(MediaService.versionedPath(path, nextHashes.get(i)));
         }
+        // Positions before the first deletion keep their rows; appends are batched INSERTs
+        OrderedLists.replace(project.getGalleryHashes(), nextHashes);
+        OrderedLists.replace(project.getGalleryImagePaths(), nextPaths);
+        mediaCache.evictPrefix(MediaCache.key("project", projectId, "gallery:"));
 
         return projectRepository.save(project);
     }
 
+    @Transactional
     public void removeGalleryImage(Long projectId, int index) {
         Optional<Project> projectOpt = projectRepository.findById(projectId);
         if (projectOpt.isPresent()) {
             Project project = projectOpt.get();
-            project.removeGalleryImage(index);
+            mediaService.release(project.removeGalleryImage(index));
+            mediaCache.evictPrefix(MediaCache.key("project", projectId, "gallery:"));
             projectRepository.save(project);
         }
     }
@@ -194,56 +341,51 @@ public class ProjectService {
         return null;
     }
 
-    @Transactional(readOnly = true)
-    public byte[] getGalleryImage(Long projectId, int index) throws SQLException, IOException {
-        Project project = projectRepository.findById(projectId).orElse(null);
-        if (project == null || project.getGallery() == null || index < 0 || index >= project.getGallery().size()) {
-            logger.warn("Gallery image blob for project id {} at index {} is null", projectId, index);
-            return null;
-        }
-        Blob imageBlob = project.getGallery().get(index);
-        if (imageBlob != null) {
-            return imageBlob.getBytes(1, (int) imageBlob.length());
+    public String getGalleryImage(Long projectId, int index) {
+        return mediaCache.hash(MediaCache.key("project", projectId, "gallery:" + index), () -> loadGalleryImage(projectId, index));
+    }
+
+    private String loadGalleryImage(Long projectId, int index) {
+        String hash = index >= 0 ? projectRepository.findGalleryHashByIdAndPosition(projectId, index) : null;
+        if (hash == null) {
+            logger.warn("Gallery image for project id {} at index {} is missing", projectId, index);
         }
-        return null;
+        return hash;
     }
 
     // Technology management
+    @Transactional
     public void addTechnology(Long projectId, String technology) {
         Optional<Project> projectOpt = projectRepository.findById(projectId);
         if (projectOpt.isPresent()) {
             Project project = projectOpt.get();
-            project.addTechnology(technology);
+            technologyService.resolveAll(List.of(technology)).forEach(project::addTechnology);
             projectRepository.save(project);
+            technologyStatistics.projectChanged(project);
         }
     }
 
+    @Transactional
     public void removeTechnology(Long projectId, String technology) {
         Optional<Project> projectOpt = projectRepository.findById(projectId);
         if (projectOpt.isPresent()) {
             Project project = projectOpt.get();
             project.removeTechnology(technology);
             projectRepository.save(project);
+            technologyStatistics.projectChanged(project);
         }
     }
 
     // Header picture management
-    public void updateHeaderPicture(Long projectId, String imagePath) throws IOException, SQLException {
-        Optional<Project> projectOpt = projectRepository.findById(projectId);
-        if (projectOpt.isPresent()) {
-            Project project = projectOpt.get();
-            project.setHeaderPictureString(imagePath);
-            project.setHeaderPicture(project.localImageToBlob(imagePath, "/assets/defaultProjectHeader.png"));
-            projectRepository.save(project);
-        }
-    }
-
-    public void updateHeaderPicture(Long projectId, Blob imageBlob, String imagePath) {
+    @Transactional
+    public void updateHeaderPicture(Long projectId, String imagePath) throws IOException {
         Optional<Project> projectOpt = projectRepository.findById(projectId);
         if (projectOpt.isPresent()) {
             Project project = projectOpt.get();
-            project.setHeaderPicture(imageBlob);
+            String hash = mediaService.importAsset(imagePath, DEFAULT_HEADER);
             project.setHeaderPictureString(imagePath);
+            project.setHeaderPictureHash(mediaService.replace(project.getHeaderPictureHash(), hash));
+            mediaCache.evict(MediaCache.key("project", projectId, "header"));
             projectRepository.save(project);
         }
     }
@@ -253,38 +395,47 @@ public class ProjectService {
      * ==========================
      */
 
-    @Transactional(readOnly = true)
-    public byte[] getHeaderPicture(Long projectId) throws SQLException, IOException {
+    public String getHeaderPicture(Long projectId) {
+        return mediaCache.hash(MediaCache.key("project", projectId, "header"), () -> loadHeaderPicture(projectId));
+    }
+
+    private String loadHeaderPicture(Long projectId) {
+        String storedHash = projectRepository.findHeaderPictureHashById(projectId);
+        if (storedHash != null) {
+            return storedHash;
+        }
+
         Project project = projectRepository.findById(projectId).orElse(null);
         if (project == null) {
-            logger.warn("Header picture blob for project id {} is null", projectId);
+            logger.warn("Header picture for project id {} is missing", projectId);
             return null;
         }
 
-        Blob headerBlob = project.getHeaderPicture();
+        String headerHash = project.getHeaderPictureHash();
 
-        if (headerBlob == null && project.getHeaderPictureString() != null) {
+        // Lazily import the header from the stored path if it is not yet in the media store
+        if (headerHash == null && project.getHeaderPictureString() != null) {
             try {
-                headerBlob = project.localImageToBlob(project.getHeaderPictureString(), "/assets/defaultProjectHeader.png");
-                project.setHeaderPicture(headerBlob);
+                headerHash = mediaService.importAsset(project.getHeaderPictureString(), DEFAULT_HEADER);
+                project.setHeaderPictureHash(mediaService.replace(null, headerHash));
                 projectRepository.save(project);
             } catch (Exception ignored) {
                 // If loading fails, we will return null later
             }
         }
 
-        if (headerBlob != null) {
-            return headerBlob.getBytes(1, (int) headerBlob.length());
-        }
-        return null;
+        return headerHash;
     }
 
     @Transactional
-    public Project uploadHeaderPicture(Long projectId, MultipartFile file) throws IOException, SQLException {
+    public Project uploadHeaderPicture(Long projectId, MultipartFile file) throws IOException {
         Project project = projectRepository.findById(projectId).orElse(null);
         if (project != null) {
-            project.setHeaderPicture(new javax.sql.rowset.serial.SerialBlob(file.getBytes()));
-            project.setHeaderPictureString("/api/projects/" + projectId + "/header");
+            String hash = mediaService.store(file);
+            imageVariantService.generateAsync(hash);
+            project.setHeaderPictureHash(mediaService.replace(project.getHeaderPictureHash(), hash));
+            mediaCache.evict(MediaCache.key("project", projectId, "header"));
+            project.setHeaderPictureString(MediaService.versionedPath("/api/projects/" + projectId + "/header", hash));
             return projectRepository.save(project);
         }
         return null;
@@ -315,7 +466,7 @@ public class ProjectService {
 
     // Projects by technology count
     public List<Project> findProjectsWithMostTechnologies(int limit) {
-        return projectRepository.findProjectsByTechnologyCount(Pageable.ofSize(limit)).getContent();
+        return findProjectsByTechnologyCount(Pageable.ofSize(limit)).getContent();
     }
 
     /* ==========================
@@ -323,52 +474,68 @@ public class ProjectService {
      * ==========================
      */
 
-    @Transactional(readOnly = true)
-    public byte[] getIcon(Long projectId) throws SQLException, IOException {
+    public String getIcon(Long projectId) {
+        return mediaCache.hash(MediaCache.key("project", projectId, "icon"), () -> loadIcon(projectId));
+    }
+
+    private String loadIcon(Long projectId) {
+        String storedHash = projectRepository.findIconHashById(projectId);
+        if (storedHash != null) {
+            return storedHash;
+        }
+
         Project project = projectRepository.findById(projectId).orElse(null);
         if (project == null) {
-            logger.warn("Icon blob for project id {} is null", projectId);
+            logger.warn("Icon for project id {} is missing", projectId);
             return null;
         }
 
-        Blob iconBlob = project.getIcon();
+        String iconHash = project.getIconHash();
 
-        // Lazily load the icon from the stored path if it is not yet persisted
-        if (iconBlob == null && project.getIconString() != null) {
+        // Lazily import the icon from the stored path if it is not yet in the media store
+        if (iconHash == null && project.getIconString() != null) {
             try {
-                iconBlob = project.localImageToBlob(project.getIconString(), "/assets/defaultProjectIcon.png");
-                project.setIcon(iconBlob);
+                iconHash = mediaService.importAsset(project.getIconString(), DEFAULT_ICON);
+                project.setIconHash(mediaService.replace(null, iconHash));
                 projectRepository.save(project);
             } catch (Exception ignored) {
                 // If loading fails, we will return null later
             }
         }
 
-        if (iconBlob != null) {
-            return iconBlob.getBytes(1, (int) iconBlob.length());
-        }
-        return null;
+        return iconHash;
     }
 
     @Transactional
-    public Project uploadIcon(Long projectId, MultipartFile file) throws IOException, SQLException {
+    public Project uploadIcon(Long projectId, MultipartFile file) throws IOException {
         Project project = projectRepository.findById(projectId).orElse(null);
         if (project != null) {
-            project.setIcon(new javax.sql.rowset.serial.SerialBlob(file.getBytes()));
-            project.setIconString("/api/projects/" + projectId + "/icon");
+            String hash = mediaService.store(file);
+            imageVariantService.generateAsync(hash);
+            project.setIconHash(mediaService.replace(project.getIconHash(), hash));
+            mediaCache.evict(MediaCache.key("project", projectId, "icon"));
+            project.setIconString(MediaService.versionedPath("/api/projects/" + projectId + "/icon", hash));
             return projectRepository.save(project);
         }
         return null;
     }
 
     @Transactional
-    public Project updateIcon(Long projectId, String imagePath) throws IOException, SQLException {
+    public Project updateIcon(Long projectId, String imagePath) throws IOException {
         Project project = projectRepository.findById(projectId).orElse(null);
         if (project != null) {
+            String hash = mediaService.importAsset(imagePath, DEFAULT_ICON);
             project.setIconString(imagePath);
-            project.setIcon(project.localImageToBlob(imagePath, "/assets/defaultProjectIcon.png"));
+            project.setIconHash(mediaService.replace(project.getIconHash(), hash));
+            mediaCache.evict(MediaCache.key("project", projectId, "icon"));
             return projectRepository.save(project);
         }
         return null;
     }
-} 
\ No newline at end of file
+
+    private List<Project> findAllInOrder(List<Long> ids) {
+        Map<Long, Project> byId = projectRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Project::getId, Function.identity()));
+        return ids.stream().map(byId::get).filter(Objects::nonNull).toList();
+    }
+}
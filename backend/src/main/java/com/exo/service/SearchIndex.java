@@ -0,0 +1,297 @@
+package com.exo.service;
+
+import com.exo.dto.SearchDocument;
+import com.exo.dto.SearchHit;
+
+import java.text.Normalizer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory inverted index ranked with BM25.
+ * <p>
+ * Terms are kept sorted, so every query token also matches the terms it
+ * prefixes ("kube" finds "kubernetes"), at a discount against exact matches.
+ * Field weights are folded into term frequencies and document lengths. Reads
+ * share a lock; each write replaces one document.
+ */
+public class SearchIndex {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    // Score factor for a term reached by prefix rather than exact match
+    private static final double PREFIX_WEIGHT = 0.6;
+
+    // Terms visited per query token when expanding a prefix
+    private static final int MAX_EXPANSIONS = 32;
+
+    private static final Pattern MARKUP = Pattern.compile("<[^>]*>");
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final NavigableMap<String, Postings> postings = new TreeMap<>();
+
+    // Indexed by internal document number; null while the number is free
+    private final List<Entry> entries = new ArrayList<>();
+
+    // Numbers of removed documents, reused so updates don't grow the arrays
+    private final Deque<Integer> free = new ArrayDeque<>();
+
+    private final Map<String, Integer> numbers = new HashMap<>();
+
+    private int live;
+
+    private double totalLength;
+
+    private record Entry(SearchDocument document, Set<String> terms, float length) {
+    }
+
+    /**
+     * Documents containing one term, with their weighted term frequencies,
+     * in parallel primitive arrays.
+     */
+    private static final class Postings {
+        int[] documents = new int[4];
+        float[] frequencies = new float[4];
+        int size;
+
+        void add(int document, float frequency) {
+            if (size == documents.length) {
+                documents = Arrays.copyOf(documents, size * 2);
+                frequencies = Arrays.copyOf(frequencies, size * 2);
+            }
+            documents[size] = document;
+            frequencies[size] = frequency;
+            size++;
+        }
+
+        void remove(int document) {
+            for (int i = 0; i < size; i++) {
+                if (documents[i] == document) {
+                    size--;
+                    documents[i] = documents[size];
+                    frequencies[i] = frequencies[size];
+                    return;
+                }
+            }
+        }
+    }
+
+    /* ==========================
+     *          WRITES
+     * ==========================
+     */
+
+    /**
+     * Adds {@code document}, replacing any earlier version with the same key.
+     */
+    public void put(SearchDocument document) {
+        Map<String, Float> frequencies = new HashMap<>();
+        float length = 0;
+        for (SearchDocument.Field field : document.fields()) {
+            for (String token : tokenize(field.text(), 2)) {
+                frequencies.merge(token, field.weight(), Float::sum);
+                length += field.weight();
+            }
+        }
+
+        lock.writeLock().lock();
+        try {
+            removeLocked(document.key());
+            if (frequencies.isEmpty()) {
+                return;
+            }
+            Entry entry = new Entry(document, frequencies.keySet(), length);
+            int number;
+            if (free.isEmpty()) {
+                number = entries.size();
+                entries.add(entry);
+            } else {
+                number = free.pop();
+                entries.set(number, entry);
+            }
+            numbers.put(document.key(), number);
+            live++;
+            totalLength += length;
+            frequencies.forEach((term, frequency) -> postings.computeIfAbsent(term, t -> new Postings()).add(number, frequency));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(String key) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(key);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return live;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /* ==========================
+     *          QUERIES
+     * ==========================
+     */
+
+    /**
+     * Returns up to {@code limit} documents matching any token of
+     * {@code query}, best first. A document's score is the sum, over query
+     * tokens, of its best-scoring exact or prefix match.
+     *
+     * @param types restricts results to these document types; null for all
+     */
+    public List<SearchHit> search(String query, Set<String> types, int limit) {
+        List<String> tokens = tokenize(query, 1);
+        if (tokens.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            if (live == 0) {
+                return List.of();
+            }
+            double averageLength = totalLength / live;
+            double[] scores = new double[entries.size()];
+            double[] best = new double[entries.size()];
+            int[] matched = new int[entries.size()];
+            int matchedCount = 0;
+            int[] touched = new int[entries.size()];
+
+            for (String token : new LinkedHashSet<>(tokens)) {
+                int touchedCount = 0;
+                int expanded = 0;
+                for (Map.Entry<String, Postings> term
+                        : postings.subMap(token, true, token + Character.MAX_VALUE, false).entrySet()) {
+                    double weight = term.getKey().equals(token) ? 1.0 : PREFIX_WEIGHT;
+                    Postings list = term.getValue();
+                    double idf = Math.log(1 + (live - list.size + 0.5) / (list.size + 0.5));
+                    for (int i = 0; i < list.size; i++) {
+                        int number = list.documents[i];
+                        Entry entry = entries.get(number);
+                        if (types != null && !types.contains(entry.document().type())) {
+                            continue;
+                        }
+                        double tf = list.frequencies[i];
+                        double norm = K1 * (1 - B + B * entry.length() / averageLength);
+                        double score = weight * idf * tf * (K1 + 1) / (tf + norm);
+                        if (score > best[number]) {
+                            if (best[number] == 0) {
+                                touched[touchedCount++] = number;
+                            }
+                            best[number] = score;
+                        }
+                    }
+                    if (++expanded >= MAX_EXPANSIONS) {
+                        break;
+                    }
+                }
+                for (int i = 0; i < touchedCount; i++) {
+                    int number = touched[i];
+                    if (scores[number] == 0) {
+                        matched[matchedCount++] = number;
+                    }
+                    scores[number] += best[number];
+                    best[number] = 0;
+                }
+            }
+
+            // Bounded min-heap keeps the top results without sorting every match
+            PriorityQueue<Integer> top = new PriorityQueue<>(Comparator.comparingDouble(number -> scores[number]));
+            for (int i = 0; i < matchedCount; i++) {
+                int number = matched[i];
+                if (top.size() < limit) {
+                    top.offer(number);
+                } else if (scores[number] > scores[top.peek()]) {
+                    top.poll();
+                    top.offer(number);
+                }
+            }
+            List<SearchHit> hits = new ArrayList<>(top.size());
+            for (int number : top) {
+                SearchDocument document = entries.get(number).document();
+                hits.add(new SearchHit(document.type(), document.id(), document.title(), document.summary(), scores[number]));
+            }
+            hits.sort(Comparator.comparingDouble(SearchHit::score).reversed());
+            return hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /* ==========================
+     *          HELPERS
+     * ==========================
+     */
+
+    /**
+     * Lower-cases, strips markup and accents ("Diseño" matches "diseno") and
+     * splits on anything that is not a letter or digit.
+     */
+    static List<String> tokenize(String text, int minLength) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        List<String> tokens = new ArrayList<>();
+        for (String token : SEPARATORS.split(fold(MARKUP.matcher(text).replaceAll(" ")))) {
+            if (token.length() >= minLength) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Lower-cases and strips accents, keeping everything else.
+     */
+    static String fold(String text) {
+        return DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+
+    private void removeLocked(String key) {
+        Integer number = numbers.remove(key);
+        if (number == null) {
+            return;
+        }
+        Entry entry = entries.set(number, null);
+        free.push(number);
+        live--;
+        totalLength -= entry.length();
+        for (String term : entry.terms()) {
+            Postings list = postings.get(term);
+            if (list != null) {
+                list.remove(number);
+                if (list.size == 0) {
+                    postings.remove(term);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.exo.service;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA entity listener that turns writes to searchable entities into
+ * {@link EntityChangedEvent}s. The document is captured here, while the
+ * persistence context is still open, so lazy fields are readable.
+ */
+@Component
+public class SearchIndexListener {
+
+    @Autowired
+    private ApplicationEventPublisher publisher;
+
+    @PostPersist
+    @PostUpdate
+    public void changed(Object entity) {
+        publish(SearchService.changeOf(entity, false));
+    }
+
+    @PostRemove
+    public void removed(Object entity) {
+        publish(SearchService.changeOf(entity, true));
+    }
+
+    private void publish(EntityChangedEvent event) {
+        if (event != null) {
+            publisher.publishEvent(event);
+        }
+    }
+}
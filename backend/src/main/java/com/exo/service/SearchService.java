@@ -0,0 +1,235 @@
+package com.exo.service;
+
+import com.exo.dto.SearchDocument;
+import com.exo.dto.SearchHit;
+import com.exo.model.Certificate;
+import com.exo.model.Course;
+import com.exo.model.Post;
+import com.exo.model.Project;
+import com.exo.model.Section;
+import com.exo.model.Technology;
+import com.exo.repository.CertificateRepository;
+import com.exo.repository.CourseRepository;
+import com.exo.repository.PostRepository;
+import com.exo.repository.ProjectRepository;
+import com.exo.repository.SectionRepository;
+import com.exo.repository.TechnologyRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Site-wide full-text search over projects, published posts, technologies,
+ * published sections, certificates and courses.
+ * <p>
+ * The {@link SearchIndex} is built once when the application is ready and
+ * then kept current from {@link EntityChangedEvent}s, applied after the
+ * writing transaction commits. Queries never touch the database.
+ */
+@Service
+public class SearchService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SearchService.class);
+
+    public static final String PROJECT = "project";
+    public static final String POST = "post";
+    public static final String TECHNOLOGY = "technology";
+    public static final String SECTION = "section";
+    public static final String CERTIFICATE = "certificate";
+    public static final String COURSE = "course";
+
+    private static final float TITLE = 3f;
+    private static final float KEYWORDS = 2f;
+    private static final float BODY = 1f;
+
+    private static final int SUMMARY_LENGTH = 160;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private TechnologyRepository technologyRepository;
+
+    @Autowired
+    private SectionRepository sectionRepository;
+
+    @Autowired
+    private CertificateRepository certificateRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private volatile SearchIndex index = new SearchIndex();
+
+    // Events received while a rebuild is running, replayed onto the new index
+    private List<EntityChangedEvent> pendingDuringRebuild;
+
+    /* ==========================
+     *          QUERIES
+     * ==========================
+     */
+
+    /**
+     * @param types document types to include; null or empty for all
+     */
+    public List<SearchHit> search(String query, Set<String> types, int limit) {
+        return index.search(query, types == null || types.isEmpty() ? null : types, limit);
+    }
+
+    /* ==========================
+     *       INDEX UPKEEP
+     * ==========================
+     */
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        synchronized (this) {
+            pendingDuringRebuild = new ArrayList<>();
+        }
+        long started = System.nanoTime();
+        SearchIndex rebuilt = new SearchIndex();
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        readOnly.executeWithoutResult(status -> {
+            projectRepository.findAll().forEach(project -> add(rebuilt, project));
+            postRepository.findAll().forEach(post -> add(rebuilt, post));
+            technologyRepository.findAll().forEach(technology -> add(rebuilt, technology));
+            sectionRepository.findAll().forEach(section -> add(rebuilt, section));
+            certificateRepository.findAll().forEach(certificate -> add(rebuilt, certificate));
+            courseRepository.findAll().forEach(course -> add(rebuilt, course));
+        });
+
+        synchronized (this) {
+            pendingDuringRebuild.forEach(event -> apply(rebuilt, event));
+            pendingDuringRebuild = null;
+            index = rebuilt;
+        }
+        logger.info("Search index built with {} documents in {} ms", rebuilt.size(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEntityChanged(EntityChangedEvent event) {
+        synchronized (this) {
+            if (pendingDuringRebuild != null) {
+                pendingDuringRebuild.add(event);
+            }
+        }
+        apply(index, event);
+    }
+
+    /**
+     * Captures the searchable text of {@code entity}, or returns null when it
+     * is not indexed or not publicly visible.
+     */
+    public static SearchDocument documentOf(Object entity) {
+        if (entity instanceof Project project) {
+            return new SearchDocument(PROJECT, project.getId(), project.getTitle(), summarize(project.getDescription()), List.of(
+                    new SearchDocument.Field(project.getTitle(), TITLE),
+                    new SearchDocument.Field(join(project.getTechnologies()), KEYWORDS),
+                    new SearchDocument.Field(project.getDescription(), BODY)));
+        }
+        if (entity instanceof Post post) {
+            if (!post.isPublished()) {
+                return null;
+            }
+            return new SearchDocument(POST, post.getId(), post.getTitle(), summarize(post.getExcerpt()), List.of(
+                    new SearchDocument.Field(post.getTitle(), TITLE),
+                    new SearchDocument.Field(join(post.getTags()), KEYWORDS),
+                    new SearchDocument.Field(post.getExcerpt(), KEYWORDS),
+                    new SearchDocument.Field(post.getContent(), BODY)));
+        }
+        if (entity instanceof Technology technology) {
+            return new SearchDocument(TECHNOLOGY, technology.getId(), technology.getName(), summarize(technology.getDescription()), List.of(
+                    new SearchDocument.Field(technology.getName(), TITLE),
+                    new SearchDocument.Field(technology.getCategory(), KEYWORDS),
+                    new SearchDocument.Field(technology.getDescription(), BODY)));
+        }
+        if (entity instanceof Section section) {
+            if (!Boolean.TRUE.equals(section.getPublished())) {
+                return null;
+            }
+            return new SearchDocument(SECTION, section.getId(), section.getTitle(), summarize(section.getDescription()), List.of(
+                    new SearchDocument.Field(section.getTitle(), TITLE),
+                    new SearchDocument.Field(section.getDescription(), KEYWORDS),
+                    new SearchDocument.Field(section.getContent(), BODY)));
+        }
+        if (entity instanceof Certificate certificate) {
+            return new SearchDocument(CERTIFICATE, certificate.getId(), certificate.getTitle(), summarize(certificate.getDescription()), List.of(
+                    new SearchDocument.Field(certificate.getTitle(), TITLE),
+                    new SearchDocument.Field(certificate.getIssuer(), KEYWORDS),
+                    new SearchDocument.Field(certificate.getDescription(), BODY)));
+        }
+        if (entity instanceof Course course) {
+            return new SearchDocument(COURSE, course.getId(), course.getTitle(), summarize(course.getDescription()), List.of(
+                    new SearchDocument.Field(course.getTitle(), TITLE),
+                    new SearchDocument.Field(course.getProvider(), KEYWORDS),
+                    new SearchDocument.Field(course.getPlatform(), KEYWORDS),
+                    new SearchDocument.Field(join(course.getTopics()), KEYWORDS),
+                    new SearchDocument.Field(course.getDescription(), BODY)));
+        }
+        return null;
+    }
+
+    /**
+     * Describes a write to {@code entity} for the index, or returns null if
+     * the entity type is not indexed.
+     */
+    public static EntityChangedEvent changeOf(Object entity, boolean removed) {
+        SearchDocument document = removed ? null : documentOf(entity);
+        if (entity instanceof Project project) return new EntityChangedEvent(PROJECT, project.getId(), document);
+        if (entity instanceof Post post) return new EntityChangedEvent(POST, post.getId(), document);
+        if (entity instanceof Technology technology) return new EntityChangedEvent(TECHNOLOGY, technology.getId(), document);
+        if (entity instanceof Section section) return new EntityChangedEvent(SECTION, section.getId(), document);
+        if (entity instanceof Certificate certificate) return new EntityChangedEvent(CERTIFICATE, certificate.getId(), document);
+        if (entity instanceof Course course) return new EntityChangedEvent(COURSE, course.getId(), document);
+        return null;
+    }
+
+    /* ==========================
+     *          HELPERS
+     * ==========================
+     */
+
+    private void add(SearchIndex target, Object entity) {
+        SearchDocument document = documentOf(entity);
+        if (document != null) {
+            target.put(document);
+        }
+    }
+
+    private void apply(SearchIndex target, EntityChangedEvent event) {
+        if (event.document() != null) {
+            target.put(event.document());
+        } else {
+            target.remove(event.key());
+        }
+    }
+
+    private static String join(Collection<String> values) {
+        return values != null ? String.join(" ", values) : "";
+    }
+
+    private static String summarize(String text) {
+        if (text == null || text.length() <= SUMMARY_LENGTH) {
+            return text;
+        }
+        return text.substring(0, SUMMARY_LENGTH).trim() + "…";
+    }
+}
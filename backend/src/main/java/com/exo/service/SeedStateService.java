@@ -0,0 +1,248 @@
+package com.exo.service;
+
+import com.exo.model.SeedState;
+import com.exo.repository.SeedStateRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.net.JarURLConnection;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.jar.JarEntry;
+import java.util.stream.Collectors;
+
+/**
+ * Remembers what the startup seeders applied, so a boot whose seed data and
+ * bundled assets are unchanged can skip them without reading a single image.
+ * <p>
+ * Assets are fingerprinted from metadata only: the CRC and size recorded in
+ * the jar's central directory when packaged, or size and modification time
+ * when running from an exploded classpath.
+ */
+@Service
+public class SeedStateService {
+
+    private static final String SET_PREFIX = "set:";
+
+    private static final String ASSET_PREFIX = "asset:";
+
+    @Autowired
+    private SeedStateRepository seedStateRepository;
+
+    @Autowired
+    private MediaService mediaService;
+
+    /* ==========================
+     *         SEED SETS
+     * ==========================
+     */
+
+    public Manifest manifest() {
+        return new Manifest();
+    }
+
+    public boolean isCurrent(String setName, String checksum) {
+        return seedStateRepository.findById(SET_PREFIX + setName)
+                .map(state -> checksum.equals(state.getChecksum()))
+                .orElse(false);
+    }
+
+    @Transactional
+    public void record(String setName, String checksum) {
+        SeedState state = seedStateRepository.findById(SET_PREFIX + setName)
+                .orElseGet(() -> new SeedState(SET_PREFIX + setName));
+        state.setChecksum(checksum);
+        seedStateRepository.save(state);
+    }
+
+    /* ==========================
+     *          ASSETS
+     * ==========================
+     */
+
+    // A bundled asset referenced by seed data, as passed to importAsset
+    public record Asset(String path, String fallbackPath) {
+    }
+
+    /**
+     * Imports, in one parallel pass, every asset whose fingerprint changed
+     * since its last import, so the {@link #importAsset(String, String)}
+     * calls made while applying the seeds only look up {@code seed_state}.
+     */
+    @Transactional
+    public void prefetch(Collection<Asset> assets) throws IOException {
+        Map<String, String> fingerprints = new LinkedHashMap<>();
+        for (Asset asset : assets) {
+            String resourcePath = mediaService.resolveAsset(asset.path(), asset.fallbackPath());
+            if (!fingerprints.containsKey(resourcePath)) {
+                fingerprints.put(resourcePath, fingerprint(resourcePath));
+            }
+        }
+
+        Map<String, SeedState> states = seedStateRepository.findAllById(
+                        fingerprints.keySet().stream().map(path -> ASSET_PREFIX + path).toList()).stream()
+                .collect(Collectors.toMap(SeedState::getKey, Function.identity()));
+        Set<String> stored = mediaService.findExisting(states.values().stream()
+                .map(SeedState::getMediaHash)
+                .filter(Objects::nonNull)
+                .toList());
+
+        List<String> stale = new ArrayList<>();
+        fingerprints.forEach((resourcePath, fingerprint) -> {
+            SeedState state = states.get(ASSET_PREFIX + resourcePath);
+            if (state == null || !fingerprint.equals(state.getChecksum()) || !stored.contains(state.getMediaHash())) {
+                stale.add(resourcePath);
+            }
+        });
+        if (stale.isEmpty()) {
+            return;
+        }
+
+        List<SeedState> updated = new ArrayList<>();
+        mediaService.importResources(stale).forEach((resourcePath, hash) -> {
+            SeedState state = states.getOrDefault(ASSET_PREFIX + resourcePath, new SeedState(ASSET_PREFIX + resourcePath));
+            state.setChecksum(fingerprints.get(resourcePath));
+            state.setMediaHash(hash);
+            updated.add(state);
+        });
+        seedStateRepository.saveAll(updated);
+    }
+
+    /**
+     * Same contract as {@link MediaService#importAsset(String, String)}, but an
+     * asset whose fingerprint matches the last import is not read again.
+     */
+    @Transactional
+    public String importAsset(String assetPath, String fallbackPath) throws IOException {
+        String resourcePath = mediaService.resolveAsset(assetPath, fallbackPath);
+        String fingerprint = fingerprint(resourcePath);
+
+        SeedState state = seedStateRepository.findById(ASSET_PREFIX + resourcePath)
+                .orElseGet(() -> new SeedState(ASSET_PREFIX + resourcePath));
+        if (fingerprint.equals(state.getChecksum()) && state.getMediaHash() != null
+                && mediaService.find(state.getMediaHash()).isPresent()) {
+            return state.getMediaHash();
+        }
+
+        String hash = mediaService.importAsset(assetPath, fallbackPath);
+        state.setChecksum(fingerprint);
+        state.setMediaHash(hash);
+        seedStateRepository.save(state);
+        return hash;
+    }
+
+    /**
+     * Identifies the content of a classpath resource without reading it.
+     */
+    public String fingerprint(String resourcePath) throws IOException {
+        URL url = getClass().getResource(resourcePath);
+        if (url == null) {
+            throw new IOException("Asset not found: " + resourcePath);
+        }
+
+        if ("file".equals(url.getProtocol())) {
+            try {
+                Path file = Path.of(url.toURI());
+                return "file:" + Files.size(file) + ":" + Files.getLastModifiedTime(file).toMillis();
+            } catch (URISyntaxException e) {
+                throw new IOException("Invalid asset URL: " + url, e);
+            }
+        }
+
+        URLConnection connection = url.openConnection();
+        if (connection instanceof JarURLConnection jar) {
+            JarEntry entry = jar.getJarEntry();
+            if (entry != null && entry.getCrc() != -1) {
+                return "crc:" + Long.toHexString(entry.getCrc()) + ":" + entry.getSize();
+            }
+        }
+        return "url:" + connection.getContentLengthLong() + ":" + connection.getLastModified();
+    }
+
+    /* ==========================
+     *         MANIFEST
+     * ==========================
+     */
+
+    /**
+     * Accumulates the values a seed set would write into one checksum.
+     * Values are length-prefixed, so adjacent fields cannot run together.
+     */
+    public final class Manifest {
+
+        private final MessageDigest digest = sha256();
+
+        private final List<Asset> assets = new ArrayList<>();
+
+        private Manifest() {
+        }
+
+        public Manifest add(Object... values) {
+            for (Object value : values) {
+                if (value instanceof Iterable<?> items) {
+                    int count = 0;
+                    for (Object item : items) {
+                        put(item);
+                        count++;
+                    }
+                    put("#" + count);
+                } else {
+                    put(value);
+                }
+            }
+            return this;
+        }
+
+        /**
+         * Adds the path and the fingerprint of the asset it resolves to.
+         */
+        public Manifest asset(String assetPath, String fallbackPath) throws IOException {
+            assets.add(new Asset(assetPath, fallbackPath));
+            return add(assetPath, fingerprint(mediaService.resolveAsset(assetPath, fallbackPath)));
+        }
+
+        public List<Asset> assets() {
+            return assets;
+        }
+
+        public String checksum() {
+            return HexFormat.of().formatHex(digest.digest());
+        }
+
+        private void put(Object value) {
+            if (value == null) {
+                digest.update(ByteBuffer.allocate(4).putInt(-1).array());
+                return;
+            }
+            byte[] bytes = Objects.toString(value).getBytes(StandardCharsets.UTF_8);
+            digest.update(ByteBuffer.allocate(4).putInt(bytes.length).array());
+            digest.update(bytes);
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.exo.service;
 
 import com.exo.model.Technology;
+import com.exo.repository.ProjectRepository;
 import com.exo.repository.TechnologyRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -12,19 +13,42 @@ import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
-import java.sql.Blob;
-import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 public class TechnologyService {
 
     private static final Logger logger = LoggerFactory.getLogger(TechnologyService.class);
 
+    private static final String DEFAULT_ICON = "/assets/defaultProjectIcon.png";
+
     @Autowired
     private TechnologyRepository technologyRepository;
 
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private TechnologyStatistics technologyStatistics;
+
+    @Autowired
+    private MediaService mediaService;
+
+    @Autowired
+    private ImageVariantService imageVariantService;
+
+    @Autowired
+    private MediaCache mediaCache;
+
     public List<Technology> findAll() {
         return technologyRepository.findAll();
     }
@@ -38,66 +62,151 @@ public class TechnologyService {
     }
 
     public Technology save(Technology technology) {
-        return technologyRepository.save(technology);
+        Technology saved = technologyRepository.save(technology);
+        technologyStatistics.technologyChanged(saved);
+        return saved;
     }
 
+    @Transactional
     public void deleteById(Long id) {
+        technologyRepository.findById(id).ifPresent(technology -> {
+            mediaService.release(technology.getIconHash());
+            // Unlink through the entities so the remaining links are re-numbered
+            projectRepository.findAllLinkedTo(id).forEach(project -> project.removeTechnology(technology.getName()));
+        });
         technologyRepository.deleteById(id);
+        technologyStatistics.technologyRemoved(id);
+        mediaCache.evict(MediaCache.key("technology", id, "icon"));
     }
 
     public Page<Technology> findByNameContaining(String name, Pageable pageable) {
         return technologyRepository.findByNameContainingIgnoreCase(name, pageable);
     }
 
+    /* ==========================
+     *        NAME RESOLUTION
+     * ==========================
+     */
+
+    /**
+     * Resolves names to technologies through the normalized-name index,
+     * creating a bare technology for any name not seen before. Order is kept;
+     * blanks and case-insensitive duplicates are dropped.
+     */
+    @Transactional
+    public List<Technology> resolveAll(Collection<String> names) {
+        Map<String, String> wanted = new LinkedHashMap<>(); // normalized -> name as given
+        for (String name : names) {
+            String normalized = Technology.normalize(name);
+            if (normalized != null) {
+                wanted.putIfAbsent(normalized, name.trim());
+            }
+        }
+        if (wanted.isEmpty()) {
+            return List.of();
+        }
+
+        Map<String, Technology> existing = technologyRepository.findByNormalizedNameIn(wanted.keySet()).stream()
+                .collect(Collectors.toMap(Technology::getNormalizedName, Function.identity()));
+        List<Technology> resolved = new ArrayList<>(wanted.size());
+        for (Map.Entry<String, String> entry : wanted.entrySet()) {
+            Technology technology = existing.get(entry.getKey());
+            if (technology == null) {
+                technology = technologyRepository.save(new Technology(entry.getValue(), null, null, null, null));
+                technologyStatistics.technologyChanged(technology);
+                logger.info("Created technology '{}' from a project link", technology.getName());
+            }
+            resolved.add(technology);
+        }
+        return resolved;
+    }
+
+    /**
+     * Returns the IDs of the technologies matching {@code names}, ignoring
+     * case; unknown names are skipped.
+     */
+    public List<Long> findIdsByNames(Collection<String> names) {
+        Set<String> normalized = normalizeAll(names);
+        return normalized.isEmpty() ? List.of() : technologyRepository.findIdsByNormalizedNameIn(normalized);
+    }
+
+    public Long findIdByName(String name) {
+        List<Long> ids = findIdsByNames(name != null ? List.of(name) : List.of());
+        return ids.isEmpty() ? null : ids.get(0);
+    }
+
+    public static Set<String> normalizeAll(Collection<String> names) {
+        Set<String> normalized = new LinkedHashSet<>();
+        for (String name : names) {
+            String folded = Technology.normalize(name);
+            if (folded != null) {
+                normalized.add(folded);
+            }
+        }
+        return normalized;
+    }
+
     /* ==========================
      *        ICON MANAGEMENT
      * ==========================
      */
 
-    @Transactional(readOnly = true)
-    public byte[] getIcon(Long technologyId) throws SQLException, IOException {
+    public String getIcon(Long technologyId) {
+        return mediaCache.hash(MediaCache.key("technology", technologyId, "icon"), () -> loadIcon(technologyId));
+    }
+
+    private String loadIcon(Long technologyId) {
+        String storedHash = technologyRepository.findIconHashById(technologyId);
+        if (storedHash != null) {
+            return storedHash;
+        }
+
         Technology technology = technologyRepository.findById(technologyId).orElse(null);
         if (technology == null) {
             logger.warn("Technology with id {} not found while retrieving icon", technologyId);
             return null;
         }
 
-        Blob iconBlob = technology.getIcon();
+        String iconHash = technology.getIconHash();
 
-        if (iconBlob == null && technology.getIconString() != null) {
+        if (iconHash == null && technology.getIconString() != null) {
             try {
-                iconBlob = technology.localImageToBlob(technology.getIconString(), "/assets/defaultProjectIcon.png");
-                technology.setIcon(iconBlob);
+                iconHash = mediaService.importAsset(technology.getIconString(), DEFAULT_ICON);
+                technology.setIconHash(mediaService.replace(null, iconHash));
                 technologyRepository.save(technology);
             } catch (Exception ignored) {
                 // If loading fails, we will return null later
             }
         }
 
-        if (iconBlob != null) {
-            return iconBlob.getBytes(1, (int) iconBlob.length());
+        if (iconHash == null) {
+            logger.warn("Icon for technology id {} is missing", technologyId);
         }
-        logger.warn("Icon blob for technology id {} is null", technologyId);
-        return null;
+        return iconHash;
     }
 
     @Transactional
-    public Technology uploadIcon(Long technologyId, MultipartFile file) throws IOException, SQLException {
+    public Technology uploadIcon(Long technologyId, MultipartFile file) throws IOException {
         Technology technology = technologyRepository.findById(technologyId).orElse(null);
         if (technology != null) {
-            technology.setIcon(new javax.sql.rowset.serial.SerialBlob(file.getBytes()));
-            technology.setIconString("/api/technologies/" + technologyId + "/icon");
+            String hash = mediaService.store(file);
+            imageVariantService.generateAsync(hash);
+            technology.setIconHash(mediaService.replace(technology.getIconHash(), hash));
+            mediaCache.evict(MediaCache.key("technology", technologyId, "icon"));
+            technology.setIconString(MediaService.versionedPath("/api/technologies/" + technologyId + "/icon", hash));
             return technologyRepository.save(technology);
         }
         return null;
     }
 
     @Transactional
-    public Technology updateIcon(Long technologyId, String imagePath) throws IOException, SQLException {
+    public Technology updateIcon(Long technologyId, String imagePath) throws IOException {
         Technology technology = technologyRepository.findById(technologyId).orElse(null);
         if (technology != null) {
+            String hash = mediaService.importAsset(imagePath, DEFAULT_ICON);
             technology.setIconString(imagePath);
-            technology.setIcon(technology.localImageToBlob(imagePath, "/assets/defaultProjectIcon.png"));
+            technology.setIconHash(mediaService.replace(technology.getIconHash(), hash));
+            mediaCache.evict(MediaCache.key("technology", technologyId, "icon"));
             return technologyRepository.save(technology);
         }
         return null;
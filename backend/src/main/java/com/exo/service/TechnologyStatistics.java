@@ -0,0 +1,365 @@
+package com.exo.service;
+
+import com.exo.dto.CategoryUsage;
+import com.exo.dto.TechnologyUsage;
+import com.exo.dto.UsageTrendPoint;
+import com.exo.model.Project;
+import com.exo.model.Technology;
+import com.exo.repository.ProjectRepository;
+import com.exo.repository.TechnologyRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Technology usage statistics served from memory: projects per technology,
+ * technologies per project, per-category totals and a monthly series of
+ * project creation per technology.
+ * <p>
+ * The services report each committed change to a project's links or to a
+ * technology as its new absolute state. Counters are adjusted by the
+ * difference and republished as an immutable snapshot, so reads never lock
+ * or query. A periodic reconciliation rebuilds everything from two queries
+ * and replays changes reported while it ran, which also repairs drift from
+ * writes that bypass the services.
+ */
+@Service
+public class TechnologyStatistics {
+
+    private static final Logger logger = LoggerFactory.getLogger(TechnologyStatistics.class);
+
+    private static final Comparator<TechnologyUsage> BY_PROJECTS = Comparator
+            .comparingLong(TechnologyUsage::projects).reversed()
+            .thenComparing(TechnologyUsage::name, String.CASE_INSENSITIVE_ORDER);
+
+    private static final Comparator<CategoryUsage> BY_CATEGORY_PROJECTS = Comparator
+            .comparingLong(CategoryUsage::projects).reversed()
+            .thenComparing(CategoryUsage::category, String.CASE_INSENSITIVE_ORDER);
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private TechnologyRepository technologyRepository;
+
+    // Guarded by this
+    private State state = new State();
+
+    // Changes reported during a reconciliation, replayed onto its result; null otherwise
+    private List<Consumer<State>> replay;
+
+    // Null until the first reconciliation
+    private volatile Snapshot snapshot;
+
+    private record TechnologyRef(String name, String category) {
+    }
+
+    private record ProjectRef(YearMonth created, Set<Long> technologies) {
+    }
+
+    /* ==========================
+     *          READS
+     * ==========================
+     */
+
+    /**
+     * Technologies by the number of projects linked to them, most used first.
+     */
+    public List<TechnologyUsage> usage(int limit) {
+        List<TechnologyUsage> usage = snapshot().usage();
+        return limit <= 0 ? List.of() : usage.subList(0, Math.min(limit, usage.size()));
+    }
+
+    public List<CategoryUsage> categories() {
+        return snapshot().categories();
+    }
+
+    /**
+     * Project IDs by the number of technologies they use, most first.
+     */
+    public List<Long> projectsByTechnologyCount() {
+        return snapshot().projectRanking();
+    }
+
+    /**
+     * Projects created per month over the last {@code months} months,
+     * oldest first, including empty months.
+     *
+     * @param technologyId counts only projects linked to this technology; null for all projects
+     */
+    public List<UsageTrendPoint> trend(Long technologyId, int months) {
+        Snapshot current = snapshot();
+        Map<YearMonth, Long> series = technologyId != null
+                ? current.trends().getOrDefault(technologyId, Map.of())
+                : current.allProjects();
+        YearMonth month = YearMonth.now().minusMonths(months - 1L);
+        List<UsageTrendPoint> points = new ArrayList<>(months);
+        for (int i = 0; i < months; i++, month = month.plusMonths(1)) {
+            points.add(new UsageTrendPoint(month.toString(), series.getOrDefault(month, 0L)));
+        }
+        return points;
+    }
+
+    /* ==========================
+     *         UPDATES
+     * ==========================
+     */
+
+    public void projectChanged(Project project) {
+        Long id = project.getId();
+        YearMonth created = month(project.getCreatedAt());
+        Set<Long> links = project.getTechnologyLinks().stream()
+                .map(Technology::getId)
+                .collect(Collectors.toSet());
+        report(state -> state.putProject(id, created, links));
+    }
+
+    public void projectRemoved(Long projectId) {
+        report(state -> state.removeProject(projectId));
+    }
+
+    public void technologyChanged(Technology technology) {
+        Long id = technology.getId();
+        String name = technology.getName();
+        String category = technology.getCategory();
+        report(state -> state.putTechnology(id, name, category));
+    }
+
+    public void technologyRemoved(Long technologyId) {
+        report(state -> state.removeTechnology(technologyId));
+    }
+
+    /* ==========================
+     *      RECONCILIATION
+     * ==========================
+     */
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${exo.technologies.statistics.reconcile-ms:600000}",
+            fixedDelayString = "${exo.technologies.statistics.reconcile-ms:600000}")
+    public void reconcile() {
+        synchronized (this) {
+            if (replay != null) {
+                return; // Already running
+            }
+            replay = new ArrayList<>();
+        }
+
+        State fresh = new State();
+        try {
+            for (Object[] row : technologyRepository.findStatisticsRows()) {
+                fresh.putTechnology((Long) row[0], (String) row[1], (String) row[2]);
+            }
+            Map<Long, YearMonth> created = new HashMap<>();
+            Map<Long, Set<Long>> links = new HashMap<>();
+            for (Object[] row : projectRepository.findTechnologyLinkRows()) {
+                Long projectId = (Long) row[0];
+                created.put(projectId, month((LocalDateTime) row[1]));
+                Set<Long> technologies = links.computeIfAbsent(projectId, id -> new HashSet<>());
+                if (row[2] != null) {
+                    technologies.add((Long) row[2]);
+                }
+            }
+            links.forEach((projectId, technologies) -> fresh.putProject(projectId, created.get(projectId), technologies));
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                replay = null;
+            }
+            logger.warn("Could not reconcile technology statistics", e);
+            return;
+        }
+
+        synchronized (this) {
+            replay.forEach(change -> change.accept(fresh));
+            if (snapshot != null && !state.projectCounts.equals(fresh.projectCounts)) {
+                logger.info("Technology statistics had drifted from the database; reconciled");
+            }
+            state = fresh;
+            replay = null;
+            snapshot = Snapshot.of(fresh);
+        }
+    }
+
+    /* ==========================
+     *          HELPERS
+     * ==========================
+     */
+
+    private Snapshot snapshot() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            reconcile();
+            current = snapshot;
+        }
+        return current != null ? current : Snapshot.EMPTY;
+    }
+
+    /**
+     * Applies {@code change} once the surrounding transaction commits, so a
+     * rolled-back write never reaches the counters.
+     */
+    private void report(Consumer<State> change) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(change);
+                }
+            });
+        } else {
+            apply(change);
+        }
+    }
+
+    private synchronized void apply(Consumer<State> change) {
+        if (replay != null) {
+            replay.add(change);
+        }
+        if (snapshot != null) {
+            change.accept(state);
+            snapshot = Snapshot.of(state);
+        }
+    }
+
+    private static YearMonth month(LocalDateTime time) {
+        return time != null ? YearMonth.from(time) : null;
+    }
+
+    private static Long sumOrRemove(Long current, Long delta) {
+        long sum = current + delta;
+        return sum != 0 ? sum : null;
+    }
+
+    /**
+     * Mutable counters; only touched while holding the service's lock.
+     */
+    private static final class State {
+
+        final Map<Long, TechnologyRef> technologies = new HashMap<>();
+
+        final Map<Long, ProjectRef> projects = new HashMap<>();
+
+        // Technology ID -> linked projects
+        final Map<Long, Long> projectCounts = new HashMap<>();
+
+        // Technology ID -> creation month -> linked projects created that month
+        final Map<Long, Map<YearMonth, Long>> monthly = new HashMap<>();
+
+        void putTechnology(Long id, String name, String category) {
+            technologies.put(id, new TechnologyRef(name, category));
+        }
+
+        void removeTechnology(Long id) {
+            technologies.remove(id);
+            projectCounts.remove(id);
+            monthly.remove(id);
+            projects.replaceAll((projectId, project) -> {
+                if (!project.technologies().contains(id)) {
+                    return project;
+                }
+                Set<Long> remaining = new HashSet<>(project.technologies());
+                remaining.remove(id);
+                return new ProjectRef(project.created(), Set.copyOf(remaining));
+            });
+        }
+
+        void putProject(Long id, YearMonth created, Set<Long> links) {
+            removeProject(id);
+            projects.put(id, new ProjectRef(created, Set.copyOf(links)));
+            links.forEach(technologyId -> count(technologyId, created, 1));
+        }
+
+        void removeProject(Long id) {
+            ProjectRef old = projects.remove(id);
+            if (old != null) {
+                old.technologies().forEach(technologyId -> count(technologyId, old.created(), -1));
+            }
+        }
+
+        private void count(Long technologyId, YearMonth created, long delta) {
+            projectCounts.merge(technologyId, delta, TechnologyStatistics::sumOrRemove);
+            if (created != null) {
+                Map<YearMonth, Long> months = monthly.computeIfAbsent(technologyId, key -> new HashMap<>());
+                months.merge(created, delta, TechnologyStatistics::sumOrRemove);
+                if (months.isEmpty()) {
+                    monthly.remove(technologyId);
+                }
+            }
+        }
+    }
+
+    /**
+     * Read-only view derived from a {@link State}.
+     */
+    private record Snapshot(List<TechnologyUsage> usage, List<CategoryUsage> categories, List<Long> projectRanking,
+                            Map<Long, Map<YearMonth, Long>> trends, Map<YearMonth, Long> allProjects) {
+
+        static final Snapshot EMPTY = new Snapshot(List.of(), List.of(), List.of(), Map.of(), Map.of());
+
+        static Snapshot of(State state) {
+            List<TechnologyUsage> usage = state.technologies.entrySet().stream()
+                    .map(entry -> new TechnologyUsage(entry.getKey(), entry.getValue().name(), entry.getValue().category(),
+                            state.projectCounts.getOrDefault(entry.getKey(), 0L)))
+                    .sorted(BY_PROJECTS)
+                    .toList();
+
+            Map<String, Long> technologiesPerCategory = new LinkedHashMap<>();
+            Map<String, Set<Long>> projectsPerCategory = new HashMap<>();
+            state.technologies.values().stream()
+                    .filter(technology -> hasCategory(technology.category()))
+                    .forEach(technology -> {
+                        technologiesPerCategory.merge(technology.category(), 1L, Long::sum);
+                        projectsPerCategory.putIfAbsent(technology.category(), new HashSet<>());
+                    });
+            state.projects.forEach((projectId, project) -> project.technologies().forEach(technologyId -> {
+                TechnologyRef technology = state.technologies.get(technologyId);
+                if (technology != null && hasCategory(technology.category())) {
+                    projectsPerCategory.get(technology.category()).add(projectId);
+                }
+            }));
+            List<CategoryUsage> categories = technologiesPerCategory.entrySet().stream()
+                    .map(entry -> new CategoryUsage(entry.getKey(), entry.getValue(),
+                            projectsPerCategory.get(entry.getKey()).size()))
+                    .sorted(BY_CATEGORY_PROJECTS)
+                    .toList();
+
+            List<Long> projectRanking = state.projects.entrySet().stream()
+                    .sorted(Comparator.<Map.Entry<Long, ProjectRef>>comparingInt(entry -> entry.getValue().technologies().size())
+                            .reversed()
+                            .thenComparing(Map.Entry::getKey))
+                    .map(Map.Entry::getKey)
+                    .toList();
+
+            Map<Long, Map<YearMonth, Long>> trends = state.monthly.entrySet().stream()
+                    .collect(Collectors.toUnmodifiableMap(Map.Entry::getKey, entry -> Map.copyOf(entry.getValue())));
+            Map<YearMonth, Long> allProjects = state.projects.values().stream()
+                    .filter(project -> project.created() != null)
+                    .collect(Collectors.groupingBy(ProjectRef::created, Collectors.counting()));
+
+            return new Snapshot(usage, categories, projectRanking, trends, Map.copyOf(allProjects));
+        }
+
+        private static boolean hasCategory(String category) {
+            return category != null && !category.isBlank();
+        }
+    }
+}
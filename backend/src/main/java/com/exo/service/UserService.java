@@ -1,21 +1,23 @@
 package com.exo.service;
 
+import com.exo.dto.AuthPrincipal;
+import com.exo.dto.UserProfileCard;
 import com.exo.model.User;
 import com.exo.model.Project;
 import com.exo.model.Certificate;
 import com.exo.model.Course;
 import com.exo.model.CV;
 import com.exo.repository.UserRepository;
+import org.hibernate.Hibernate;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
-import java.sql.Blob;
-import java.sql.SQLException;
 import java.util.List;
 import java.util.Optional;
 import com.exo.dto.UpdateUserBasicInfoDTO;
@@ -25,9 +27,20 @@ import com.exo.dto.UpdateUserSocialLinksDTO;
 @Transactional(readOnly = true)
 public class UserService implements UserDetailsService {
 
+    private static final String DEFAULT_PFP = "/assets/defaultProfilePicture.png";
+
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private MediaService mediaService;
+
+    @Autowired
+    private ImageVariantService imageVariantService;
+
+    @Autowired
+    private MediaCache mediaCache;
+
     /* ==========================
      *      BASIC CRUD
      * ==========================
@@ -38,21 +51,39 @@ public class UserService implements UserDetailsService {
         return userRepository.save(user);
     }
 
+    /**
+     * Full profile: the user with every collection loaded, so it can be
+     * serialized outside the transaction. Collections are batch-fetched one
+     * query each instead of one cartesian join.
+     */
     public Optional<User> findByUsername(String username) {
-        return Optional.ofNullable(userRepository.findByUsername(username));
+        return Optional.ofNullable(initializeProfile(userRepository.findByUsername(username)));
     }
 
     public User findByEmail(String email) {
-        return userRepository.findByEmail(email);
+        return initializeProfile(userRepository.findByEmail(email));
     }
 
     public List<User> findAll() {
-        return userRepository.findAll();
+        List<User> users = userRepository.findAll();
+        users.forEach(this::initializeProfile);
+        return users;
+    }
+
+    // Public profile card: scalar columns only
+    public UserProfileCard findCardByUsername(String username) {
+        return userRepository.findCardByUsername(username);
     }
 
     @Transactional
     public void deleteUser(String username) {
+        User user = userRepository.findByUsername(username);
+        if (user != null) {
+            mediaService.release(user.getPfpHash());
+            user.getGalleryHashes().forEach(mediaService::release);
+        }
         userRepository.deleteById(username);
+        mediaCache.evict(MediaCache.key("user", username, "pfp"));
     }
 
     /* ==========================
@@ -61,7 +92,7 @@ public class UserService implements UserDetailsService {
      */
 
     public boolean isUsernameAvailable(String username) {
-        return userRepository.findByUsername(username) == null;
+        return !userRepository.existsById(username);
     }
 
     public boolean isEmailAvailable(String email) {
@@ -73,28 +104,37 @@ public class UserService implements UserDetailsService {
      * ==========================
      */
     
-    public byte[] getProfilePicture(String username) throws SQLException, IOException {
+    // Outside the class-level read-only transaction: cache hits need no connection,
+    // and the lazy import below writes through its own transactions
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public String getProfilePicture(String username) {
+        return mediaCache.hash(MediaCache.key("user", username, "pfp"), () -> loadProfilePicture(username));
+    }
+
+    private String loadProfilePicture(String username) {
+        String storedHash = userRepository.findPfpHashByUsername(username);
+        if (storedHash != null) {
+            return storedHash;
+        }
+
         User user = userRepository.findByUsername(username);
         if (user == null) {
             return null;
         }
 
-        Blob pfpBlob = user.getPfp();
+        String pfpHash = user.getPfpHash();
 
-        // Lazily load from stored path if blob is not present
-        if (pfpBlob == null && user.getPfpString() != null) {
+        // Lazily import from stored path if the picture is not yet in the media store
+        if (pfpHash == null && user.getPfpString() != null) {
             try {
-                pfpBlob = user.localImageToBlob(user.getPfpString(), "/assets/defaultProfilePicture.png");
-                user.setPfp(pfpBlob);
+                pfpHash = mediaService.importAsset(user.getPfpString(), DEFAULT_PFP);
+                user.setPfpHash(mediaService.replace(null, pfpHash));
                 userRepository.save(user);
             } catch (Exception ignored) {
             }
         }
 
-        if (pfpBlob != null) {
-            return pfpBlob.getBytes(1, (int) pfpBlob.length());
-        }
-        return null;
+        return pfpHash;
     }
 
     /* ==========================
@@ -103,22 +143,27 @@ public class UserService implements UserDetailsService {
      */
 
     @Transactional
-    public User uploadProfilePicture(String username, MultipartFile file) throws IOException, SQLException {
+    public User uploadProfilePicture(String username, MultipartFile file) throws IOException {
         User user = userRepository.findByUsername(username);
         if (user != null) {
-            user.setPfp(new javax.sql.rowset.serial.SerialBlob(file.getBytes()));
-            user.setPfpString("/api/users/" + username + "/pfp");
+            String hash = mediaService.store(file);
+            imageVariantService.generateAsync(hash);
+            user.setPfpHash(mediaService.replace(user.getPfpHash(), hash));
+            mediaCache.evict(MediaCache.key("user", username, "pfp"));
+            user.setPfpString(MediaService.versionedPath("/api/users/" + username + "/pfp", hash));
             return userRepository.save(user);
         }
         return null;
     }
 
     @Transactional
-    public User updateProfilePicture(String username, String imagePath) throws IOException, SQLException {
+    public User updateProfilePicture(String username, String imagePath) throws IOException {
         User user = userRepository.findByUsername(username);
         if (user != null) {
+            String hash = mediaService.importAsset(imagePath, DEFAULT_PFP);
             user.setPfpString(imagePath);
-            user.setPfp(user.localImageToBlob(imagePath));
+            user.setPfpHash(mediaService.replace(user.getPfpHash(), hash));
+            mediaCache.evict(MediaCache.key("user", username, "pfp"));
             return userRepository.save(user);
         }
         return null;
@@ -282,10 +327,12 @@ public class UserService implements UserDetailsService {
      */
 
     @Transactional
-    public User addGalleryImage(String username, String imagePath) throws IOException, SQLException {
+    public User addGalleryImage(String username, String imagePath) throws IOException {
         User user = userRepository.findByUsername(username);
         if (user != null) {
-            user.addGalleryImage(imagePath);
+            String hash = mediaService.importAsset(imagePath, DEFAULT_PFP);
+            mediaService.retain(hash);
+            user.addGalleryImage(hash);
             return userRepository.save(user);
         }
         return null;
@@ -295,7 +342,7 @@ public class UserService implements UserDetailsService {
     public User removeGalleryImage(String username, int index) {
         User user = userRepository.findByUsername(username);
         if (user != null) {
-            user.removeGalleryImage(index);
+            mediaService.release(user.removeGalleryImage(index));
             return userRepository.save(user);
         }
         return null;
@@ -442,18 +489,42 @@ public class UserService implements UserDetailsService {
      */
 
     @Override
-    public User loadUserByUsername(String username) throws UsernameNotFoundException {
-        return userRepository.findByUsername(username);
+    public AuthPrincipal loadUserByUsername(String username) throws UsernameNotFoundException {
+        AuthPrincipal principal = userRepository.findPrincipalByUsername(username);
+        if (principal == null) {
+            throw new UsernameNotFoundException("User not found: " + username);
+        }
+        return principal;
     }
 
     @Transactional
     public User removeProfilePicture(String username) {
         User user = userRepository.findByUsername(username);
         if (user != null) {
-            user.setPfp(null);
-            user.setPfpString("/assets/defaultProfilePicture.png");
+            mediaService.release(user.getPfpHash());
+            user.setPfpHash(null);
+            user.setPfpString(DEFAULT_PFP);
+            mediaCache.evict(MediaCache.key("user", username, "pfp"));
             return userRepository.save(user);
         }
         return null;
     }
+
+    /* ==========================
+     *         HELPERS
+     * ==========================
+     */
+
+    private User initializeProfile(User user) {
+        if (user != null) {
+            Hibernate.initialize(user.getGalleryHashes());
+            Hibernate.initialize(user.getProjects());
+            Hibernate.initialize(user.getCertificates());
+            Hibernate.initialize(user.getCourses());
+            Hibernate.initialize(user.getCv());
+            Hibernate.initialize(user.getLikes());
+            Hibernate.initialize(user.getDislikes());
+        }
+        return user;
+    }
 }
@@ -0,0 +1,282 @@
+package com.exo.service;
+
+import com.exo.model.MediaObject;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class MediaDeliveryServiceTest {
+
+    private static final String HASH = "0123456789abcdef".repeat(4);
+
+    private static final String VARIANT = "fedcba9876543210".repeat(4);
+
+    private static final String ETAG = "\"" + HASH + "\"";
+
+    private static final byte[] CONTENT = "0123456789".getBytes(StandardCharsets.US_ASCII);
+
+    private static final String IMMUTABLE = "max-age=31536000, public, immutable";
+
+    private static final String REVALIDATE = "no-cache";
+
+    @Mock
+    private MediaService mediaService;
+
+    @Mock
+    private ImageVariantService imageVariantService;
+
+    @Mock
+    private MediaCache mediaCache;
+
+    @InjectMocks
+    private MediaDeliveryService mediaDeliveryService;
+
+    private MockHttpServletRequest request;
+
+    private MockHttpServletResponse response;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        request = new MockHttpServletRequest("GET", "/api/media");
+        response = new MockHttpServletResponse();
+        lenient().when(imageVariantService.resolve(HASH, 0)).thenReturn(new ImageVariantService.Resolution(HASH, true));
+        lenient().when(mediaCache.find(anyString())).thenAnswer(invocation -> Optional.of(cached(invocation.getArgument(0))));
+    }
+
+    /* ==========================
+     *        FULL BODY
+     * ==========================
+     */
+
+    @Test
+    void servesTheWholeObjectWithAStrongEtag() throws Exception {
+        deliver();
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getContentAsByteArray()).isEqualTo(CONTENT);
+        assertThat(response.getHeader(HttpHeaders.ETAG)).isEqualTo(ETAG);
+        assertThat(response.getHeader(HttpHeaders.ACCEPT_RANGES)).isEqualTo("bytes");
+        assertThat(response.getContentType()).isEqualTo("image/png");
+    }
+
+    @Test
+    void missingMediaIsNotFound() throws Exception {
+        when(mediaCache.find(HASH)).thenReturn(Optional.empty());
+
+        deliver();
+
+        assertThat(response.getStatus()).isEqualTo(404);
+    }
+
+    @Test
+    void headSendsNoBody() throws Exception {
+        request.setMethod("HEAD");
+
+        deliver();
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getContentLengthLong()).isEqualTo(CONTENT.length);
+        assertThat(response.getContentAsByteArray()).isEmpty();
+    }
+
+    /* ==========================
+     *       CONDITIONALS
+     * ==========================
+     */
+
+    @Test
+    void matchingIfNoneMatchIsNotModified() throws Exception {
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, ETAG);
+
+        deliver();
+
+        assertThat(response.getStatus()).isEqualTo(304);
+        assertThat(response.getContentAsByteArray()).isEmpty();
+        assertThat(response.getHeader(HttpHeaders.ETAG)).isEqualTo(ETAG);
+    }
+
+    @Test
+    void staleIfNoneMatchGetsTheBody() throws Exception {
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"" + VARIANT + "\"");
+
+        deliver();
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getContentAsByteArray()).isEqualTo(CONTENT);
+    }
+
+    @Test
+    void ifModifiedSinceAloneNeverShortCircuits() throws Exception {
+        request.addHeader(HttpHeaders.IF_MODIFIED_SINCE, Instant.now().plusSeconds(3600).toEpochMilli());
+
+        deliver();
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getHeader(HttpHeaders.LAST_MODIFIED)).isNull();
+    }
+
+    /* ==========================
+     *          RANGES
+     * ==========================
+     */
+
+    @Test
+    void singleRangeIsPartialContent() throws Exception {
+        request.addHeader(HttpHeaders.RANGE, "bytes=2-5");
+
+        deliver();
+
+        assertThat(response.getStatus()).isEqualTo(206);
+        assertThat(response.getHeader(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes 2-5/10");
+        assertThat(response.getContentAsString()).isEqualTo("2345");
+    }
+
+    @Test
+    void suffixRangeServesTheTail() throws Exception {
+        request.addHeader(HttpHeaders.RANGE, "bytes=-3");
+
+        deliver();
+
+        assertThat(response.getStatus()).isEqualTo(206);
+        assertThat(response.getContentAsString()).isEqualTo("789");
+    }
+
+    @Test
+    void unsatisfiableRangeIs416() throws Exception {
+        request.addHeader(HttpHeaders.RANGE, "bytes=20-30");
+
+        deliver();
+
+        assertThat(response.getStatus()).isEqualTo(416);
+        assertThat(response.getHeader(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes */10");
+    }
+
+    @Test
+    void multipleRangesGetTheWholeObject() throws Exception {
+        request.addHeader(HttpHeaders.RANGE, "bytes=0-1,4-5");
+
+        deliver();
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getContentAsByteArray()).isEqualTo(CONTENT);
+    }
+
+    @Test
+    void ifRangeWithTheCurrentEtagHonoursTheRange() throws Exception {
+        request.addHeader(HttpHeaders.RANGE, "bytes=0-1");
+        request.addHeader(HttpHeaders.IF_RANGE, ETAG);
+
+        deliver();
+
+        assertThat(response.getStatus()).isEqualTo(206);
+        assertThat(response.getContentAsString()).isEqualTo("01");
+    }
+
+    @Test
+    void ifRangeWithAnOldValidatorGetsTheWholeObject() throws Exception {
+        request.addHeader(HttpHeaders.RANGE, "bytes=0-1");
+        request.addHeader(HttpHeaders.IF_RANGE, "\"" + VARIANT + "\"");
+
+        deliver();
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getContentAsByteArray()).isEqualTo(CONTENT);
+    }
+
+    /* ==========================
+     *       CACHE CONTROL
+     * ==========================
+     */
+
+    @Test
+    void unversionedUrlsRevalidate() throws Exception {
+        deliver();
+
+        assertThat(response.getHeader(HttpHeaders.CACHE_CONTROL)).isEqualTo(REVALIDATE);
+    }
+
+    @Test
+    void matchingVersionIsImmutable() throws Exception {
+        request.setParameter("v", HASH.substring(0, MediaService.VERSION_LENGTH));
+
+        deliver();
+
+        assertThat(response.getHeader(HttpHeaders.CACHE_CONTROL)).isEqualTo(IMMUTABLE);
+    }
+
+    @Test
+    void outdatedVersionRevalidates() throws Exception {
+        request.setParameter("v", VARIANT.substring(0, MediaService.VERSION_LENGTH));
+
+        deliver();
+
+        assertThat(response.getHeader(HttpHeaders.CACHE_CONTROL)).isEqualTo(REVALIDATE);
+    }
+
+    @Test
+    void existingVariantIsImmutableUnderTheVersionedUrl() throws Exception {
+        request.setParameter("v", HASH.substring(0, MediaService.VERSION_LENGTH));
+        request.setParameter("w", "160");
+        when(imageVariantService.resolve(HASH, 160)).thenReturn(new ImageVariantService.Resolution(VARIANT, true));
+
+        deliver();
+
+        assertThat(response.getHeader(HttpHeaders.ETAG)).isEqualTo("\"" + VARIANT + "\"");
+        assertThat(response.getHeader(HttpHeaders.CACHE_CONTROL)).isEqualTo(IMMUTABLE);
+    }
+
+    @Test
+    void originalStandingInForAPendingVariantRevalidates() throws Exception {
+        request.setParameter("v", HASH.substring(0, MediaService.VERSION_LENGTH));
+        request.setParameter("w", "160");
+        when(imageVariantService.resolve(HASH, 160)).thenReturn(new ImageVariantService.Resolution(HASH, false));
+
+        deliver();
+
+        assertThat(response.getHeader(HttpHeaders.ETAG)).isEqualTo(ETAG);
+        assertThat(response.getHeader(HttpHeaders.CACHE_CONTROL)).isEqualTo(REVALIDATE);
+    }
+
+    @Test
+    void originalServedForARuledOutBucketIsImmutable() throws Exception {
+        request.setParameter("v", HASH.substring(0, MediaService.VERSION_LENGTH));
+        request.setParameter("w", "160");
+        when(imageVariantService.resolve(HASH, 160)).thenReturn(new ImageVariantService.Resolution(HASH, true));
+
+        deliver();
+
+        assertThat(response.getHeader(HttpHeaders.CACHE_CONTROL)).isEqualTo(IMMUTABLE);
+    }
+
+    /* ==========================
+     *          HELPERS
+     * ==========================
+     */
+
+    private void deliver() throws Exception {
+        mediaDeliveryService.deliver(() -> HASH, MediaType.APPLICATION_OCTET_STREAM, request, response);
+    }
+
+    private static MediaCache.CachedMedia cached(String hash) {
+        MediaObject media = new MediaObject(hash, CONTENT.length, "image/png");
+        return new MediaCache.CachedMedia(media, ByteBuffer.wrap(CONTENT).asReadOnlyBuffer());
+    }
+}
@@ -0,0 +1,318 @@
+package com.exo.service;
+
+import com.exo.model.MediaObject;
+import com.exo.repository.MediaObjectRepository;
+import com.exo.repository.MediaVariantRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class MediaServiceTest {
+
+    private static final String HASH = "ab".repeat(32);
+
+    private static final long GRACE_MINUTES = 60;
+
+    @Mock
+    private MediaObjectRepository mediaObjectRepository;
+
+    @Mock
+    private MediaStorage mediaStorage;
+
+    @Mock
+    private MediaVariantRepository mediaVariantRepository;
+
+    @InjectMocks
+    private MediaService mediaService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(mediaService, "gcGraceMinutes", GRACE_MINUTES);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    /* ==========================
+     *        REFERENCES
+     * ==========================
+     */
+
+    @Test
+    void retainAndReleaseAdjustTheCount() {
+        mediaService.retain(HASH);
+        mediaService.release(HASH);
+
+        verify(mediaObjectRepository).incrementRefCount(HASH);
+        verify(mediaObjectRepository).decrementRefCount(eq(HASH), any(LocalDateTime.class));
+    }
+
+    @Test
+    void releaseStampsTheStartOfTheGracePeriod() {
+        LocalDateTime before = LocalDateTime.now();
+        mediaService.release(HASH);
+
+        ArgumentCaptor<LocalDateTime> touched = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(mediaObjectRepository).decrementRefCount(eq(HASH), touched.capture());
+        assertThat(touched.getValue()).isAfterOrEqualTo(before);
+    }
+
+    @Test
+    void nullHashesAreIgnored() {
+        mediaService.retain(null);
+        mediaService.release(null);
+
+        verifyNoInteractions(mediaObjectRepository);
+    }
+
+    @Test
+    void replaceMovesTheReference() {
+        String other = "cd".repeat(32);
+
+        assertThat(mediaService.replace(HASH, other)).isEqualTo(other);
+
+        verify(mediaObjectRepository).incrementRefCount(other);
+        verify(mediaObjectRepository).decrementRefCount(eq(HASH), any(LocalDateTime.class));
+    }
+
+    @Test
+    void replaceWithTheSameHashIsANoOp() {
+        assertThat(mediaService.replace(HASH, HASH)).isEqualTo(HASH);
+
+        verifyNoInteractions(mediaObjectRepository);
+    }
+
+    /* ==========================
+     *          STORING
+     * ==========================
+     */
+
+    @Test
+    void storingNewContentAlwaysWritesTheFile() throws Exception {
+        String hash = inTransaction(() -> store("new content")).result();
+
+        verify(mediaObjectRepository).save(any(MediaObject.class));
+        verify(mediaStorage).put(eq(hash), any(Path.class));
+        verify(mediaStorage, never()).exists(anyString());
+    }
+
+    @Test
+    void storingKnownContentRestartsItsGracePeriod() throws Exception {
+        when(mediaObjectRepository.touch(anyCollection(), any(LocalDateTime.class))).thenReturn(1);
+        when(mediaStorage.exists(anyString())).thenReturn(true);
+
+        inTransaction(() -> store("known content"));
+
+        verify(mediaObjectRepository).touch(anyCollection(), any(LocalDateTime.class));
+        verify(mediaObjectRepository, never()).save(any());
+        verify(mediaStorage, never()).put(anyString(), any());
+    }
+
+    /* ==========================
+     *        RECONCILING
+     * ==========================
+     */
+
+    @Test
+    void reconcileSelectsOrphansByTheGraceWindow() throws Exception {
+        LocalDateTime before = LocalDateTime.now();
+        inTransaction(() -> {
+            mediaService.reconcile();
+            return null;
+        });
+
+        ArgumentCaptor<LocalDateTime> cutoff = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(mediaObjectRepository).findUnreferencedSince(cutoff.capture());
+        assertThat(cutoff.getValue()).isCloseTo(before.minusMinutes(GRACE_MINUTES), within(5, ChronoUnit.SECONDS));
+    }
+
+    @Test
+    void reconcileStartsTheGraceWindowWhenACountDropsToZero() throws Exception {
+        MediaObject media = new MediaObject(HASH, 10, "image/png");
+        media.setRefCount(2);
+        media.setLastTouched(LocalDateTime.now().minusDays(30));
+        when(mediaObjectRepository.findAll()).thenReturn(List.of(media));
+
+        inTransaction(() -> {
+            mediaService.reconcile();
+            return null;
+        });
+
+        assertThat(media.getRefCount()).isZero();
+        assertThat(media.getLastTouched()).isCloseTo(LocalDateTime.now(), within(5, ChronoUnit.SECONDS));
+    }
+
+    @Test
+    void reconcileDeletesTheFileOnTheNextPassAfterCommit() throws Exception {
+        orphan();
+        when(mediaObjectRepository.deleteIfUnreferenced(eq(HASH), any())).thenReturn(1);
+
+        Transaction<?> first = reconcile();
+        verify(mediaVariantRepository).deleteBySourceHash(HASH);
+        verify(mediaStorage, never()).delete(anyString());
+        first.commit();
+
+        reconcile();
+        verify(mediaStorage).delete(HASH);
+    }
+
+    @Test
+    void rolledBackReconcileKeepsTheFile() throws Exception {
+        orphan();
+        when(mediaObjectRepository.deleteIfUnreferenced(eq(HASH), any())).thenReturn(1);
+
+        reconcile().rollback();
+        reconcile();
+
+        verify(mediaStorage, never()).delete(anyString());
+    }
+
+    @Test
+    void orphanRetainedConcurrentlyIsKept() throws Exception {
+        orphan();
+        when(mediaObjectRepository.deleteIfUnreferenced(eq(HASH), any())).thenReturn(0);
+
+        reconcile().commit();
+        reconcile();
+
+        verify(mediaVariantRepository, never()).deleteBySourceHash(anyString());
+        verify(mediaStorage, never()).delete(anyString());
+    }
+
+    @Test
+    void fileIsKeptWhileTheSameContentIsBeingStored() throws Exception {
+        String hash = sha256("re-uploaded content");
+        orphan(hash);
+        when(mediaObjectRepository.deleteIfUnreferenced(eq(hash), any())).thenReturn(1);
+        reconcile().commit();
+
+        // The re-upload finds no row, inserts one and has not committed when the next pass runs
+        Transaction<String> upload = inTransaction(() -> store("re-uploaded content"));
+        reconcile();
+        verify(mediaStorage, never()).delete(anyString());
+
+        upload.commit();
+        verify(mediaStorage).put(eq(hash), any(Path.class));
+    }
+
+    @Test
+    void fileIsKeptWhenTheContentWasStoredAgainSinceTheRowWasDeleted() throws Exception {
+        orphan();
+        when(mediaObjectRepository.deleteIfUnreferenced(eq(HASH), any())).thenReturn(1);
+        reconcile().commit();
+
+        // Committed by another transaction; only a locking read is guaranteed to see it
+        when(mediaObjectRepository.findLockedByHash(HASH)).thenReturn(Optional.of(new MediaObject(HASH, 10, "image/png")));
+        reconcile();
+
+        verify(mediaStorage, never()).delete(anyString());
+    }
+
+    @Test
+    void rolledBackStoreQueuesItsFileForDeletion() throws Exception {
+        String hash = sha256("abandoned upload");
+
+        inTransaction(() -> store("abandoned upload")).rollback();
+        reconcile();
+
+        verify(mediaStorage).delete(hash);
+    }
+
+    @Test
+    void rolledBackStoreKeepsAFileOthersStillUse() throws Exception {
+        String hash = sha256("shared content");
+        when(mediaObjectRepository.findLockedByHash(hash)).thenReturn(Optional.of(new MediaObject(hash, 14, null)));
+
+        inTransaction(() -> store("shared content")).rollback();
+        reconcile();
+
+        verify(mediaStorage, never()).delete(anyString());
+    }
+
+    /* ==========================
+     *          HELPERS
+     * ==========================
+     */
+
+    // Work done inside a simulated transaction, completed later so transactions can interleave
+    private record Transaction<T>(T result, List<TransactionSynchronization> synchronizations) {
+
+        void commit() {
+            synchronizations.forEach(TransactionSynchronization::afterCommit);
+            synchronizations.forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        }
+
+        void rollback() {
+            synchronizations.forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        }
+    }
+
+    private <T> Transaction<T> inTransaction(Callable<T> work) throws Exception {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            T result = work.call();
+            return new Transaction<>(result, TransactionSynchronizationManager.getSynchronizations());
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private Transaction<?> reconcile() throws Exception {
+        return inTransaction(() -> {
+            mediaService.reconcile();
+            return null;
+        });
+    }
+
+    private String store(String content) throws Exception {
+        return mediaService.store(new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)), "file.bin");
+    }
+
+    private void orphan() {
+        orphan(HASH);
+    }
+
+    private void orphan(String hash) {
+        MediaObject orphan = new MediaObject(hash, 10, "image/png");
+        when(mediaObjectRepository.findUnreferencedSince(any())).thenReturn(List.of(orphan), List.of());
+    }
+
+    private static String sha256(String content) throws Exception {
+        return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content.getBytes(StandardCharsets.UTF_8)));
+    }
+}
@@ -0,0 +1,70 @@
+package com.exo.benchmarks;
+
+import com.exo.dto.AuthPrincipal;
+import com.exo.model.Role;
+import com.exo.repository.MediaObjectRepository;
+import com.exo.repository.UserRepository;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Proxy;
+import java.util.function.BiFunction;
+
+/**
+ * Wiring helpers for benchmarking services outside a Spring context.
+ */
+final class Fixtures {
+
+    // Same format as jwt.secret.key; benchmark-only value
+    static final String SECRET = "rCzPiNvfC49cGMWgI+aFylutlltJgOgVA7M/5gtHhozDrajlRW8D31yCfSa+VTDAjBYKEe7ew4/17k+5vPonaw==";
+
+    static final long ONE_HOUR = 3_600_000L;
+
+    private Fixtures() {
+    }
+
+    /**
+     * Sets an {@code @Autowired}/{@code @Value} field the way Spring would.
+     */
+    static void inject(Object target, String fieldName, Object value) {
+        Field field = ReflectionUtils.findField(target.getClass(), fieldName);
+        if (field == null) {
+            throw new IllegalArgumentException("No field " + fieldName + " on " + target.getClass());
+        }
+        ReflectionUtils.makeAccessible(field);
+        ReflectionUtils.setField(field, target, value);
+    }
+
+    /**
+     * A repository whose only supported query answers as if {@code username}
+     * were stored with {@code role}; stands in for one primary-key lookup.
+     */
+    static UserRepository userRepository(String username, Role role) {
+        return stub(UserRepository.class, (method, args) -> switch (method) {
+            case "findPrincipalByUsername" -> username.equals(args[0]) ? new AuthPrincipal(username, null, role) : null;
+            default -> throw new UnsupportedOperationException(method);
+        });
+    }
+
+    /**
+     * A media repository that reports every object as already stored, i.e.
+     * the steady state where uploads and seeds deduplicate.
+     */
+    static MediaObjectRepository mediaObjectRepository() {
+        return stub(MediaObjectRepository.class, (method, args) -> switch (method) {
+            case "existsById" -> true;
+            case "save" -> args[0];
+            default -> throw new UnsupportedOperationException(method);
+        });
+    }
+
+    private static <T> T stub(Class<T> type, BiFunction<String, Object[], Object> handler) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "toString" -> type.getSimpleName() + " stub";
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    default -> handler.apply(method.getName(), args);
+                }));
+    }
+}
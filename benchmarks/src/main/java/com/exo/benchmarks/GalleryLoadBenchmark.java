@@ -0,0 +1,144 @@
+package com.exo.benchmarks;
+
+import com.exo.config.ConnectionLimitingDataSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Gallery-heavy request mix on Tomcat's default platform pool (200 threads)
+ * versus one virtual thread per request behind {@link ConnectionLimitingDataSource}.
+ * <p>
+ * Each simulated request looks up the image's hash over JDBC unless the
+ * media cache already holds it ({@code cacheHitPercent}), then spends
+ * {@code streamMillis} writing the bytes to the client. The database is a
+ * 10-connection pool where each lookup takes 2 ms. Scores are requests per
+ * second. This models the scheduling only; {@link GalleryLoadTest} drives a
+ * running server.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class GalleryLoadBenchmark {
+
+    private static final int REQUESTS = 2000;
+
+    private static final int POOL_SIZE = 10;
+
+    private static final int TOMCAT_THREADS = 200;
+
+    private static final long QUERY_MILLIS = 2;
+
+    @Param({"platform", "virtual"})
+    public String mode;
+
+    @Param({"0", "90"})
+    public int cacheHitPercent;
+
+    @Param({"20"})
+    public long streamMillis;
+
+    private ExecutorService executor;
+
+    private DataSource dataSource;
+
+    @Setup
+    public void setUp() {
+        DataSource pool = new SimulatedPool(POOL_SIZE);
+        if ("virtual".equals(mode)) {
+            executor = Executors.newVirtualThreadPerTaskExecutor();
+            dataSource = new ConnectionLimitingDataSource(pool, POOL_SIZE, 30_000);
+        } else {
+            executor = Executors.newFixedThreadPool(TOMCAT_THREADS);
+            dataSource = pool;
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(REQUESTS)
+    public void galleryRequests() throws Exception {
+        List<Future<?>> requests = new ArrayList<>(REQUESTS);
+        for (int i = 0; i < REQUESTS; i++) {
+            requests.add(executor.submit(this::serve));
+        }
+        for (Future<?> request : requests) {
+            request.get();
+        }
+    }
+
+    private Void serve() throws SQLException, InterruptedException {
+        if (ThreadLocalRandom.current().nextInt(100) >= cacheHitPercent) {
+            try (Connection connection = dataSource.getConnection()) {
+                Thread.sleep(QUERY_MILLIS);
+            }
+        }
+        Thread.sleep(streamMillis);
+        return null;
+    }
+
+    /**
+     * A fixed number of connections; callers block until one is returned.
+     */
+    private static final class SimulatedPool extends AbstractDataSource {
+
+        private final Semaphore connections;
+
+        SimulatedPool(int size) {
+            this.connections = new Semaphore(size, true);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            try {
+                connections.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new SQLException(e);
+            }
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                    (proxy, method, args) -> {
+                        if ("close".equals(method.getName())) {
+                            connections.release();
+                        }
+                        return null;
+                    });
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return getConnection();
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package com.exo.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Closed-loop HTTP load against a running backend's gallery endpoints.
+ * Run it once against a server started with {@code VIRTUAL_THREADS=false}
+ * and once with {@code VIRTUAL_THREADS=true}, then compare the numbers:
+ * <pre>
+ * java -cp benchmarks/target/benchmarks.jar com.exo.benchmarks.GalleryLoadTest \
+ *     http://localhost:8080 [clients=400] [seconds=30] [width=480]
+ * </pre>
+ * Every client repeatedly fetches a random gallery image of a random
+ * project and reads the body to the end. Clients are virtual threads, so
+ * the harness itself is never the limit.
+ */
+public final class GalleryLoadTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private GalleryLoadTest() {
+    }
+
+    private record Image(long projectId, int index) {
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 1) {
+            System.err.println("Usage: GalleryLoadTest <base-url> [clients] [seconds] [width]");
+            System.exit(2);
+        }
+        String baseUrl = args[0].replaceAll("/+$", "");
+        int clients = args.length > 1 ? Integer.parseInt(args[1]) : 400;
+        int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 30;
+        int width = args.length > 3 ? Integer.parseInt(args[3]) : 480;
+
+        HttpClient http = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+        List<Image> images = discover(http, baseUrl);
+        if (images.isEmpty()) {
+            System.err.println("No gallery images found at " + baseUrl);
+            System.exit(1);
+        }
+        System.out.printf("%d gallery images, %d clients, %d s%n", images.size(), clients, seconds);
+
+        LongAdder ok = new LongAdder();
+        LongAdder rejected = new LongAdder();
+        LongAdder failed = new LongAdder();
+        LongAdder bytes = new LongAdder();
+        List<long[]> latencies = new ArrayList<>();
+        long deadline = System.nanoTime() + seconds * 1_000_000_000L;
+
+        try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < clients; i++) {
+                long[] samples = new long[1 << 16];
+                latencies.add(samples);
+                workers.submit(() -> {
+                    int n = 0;
+                    while (System.nanoTime() < deadline) {
+                        Image image = images.get(ThreadLocalRandom.current().nextInt(images.size()));
+                        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/projects/"
+                                + image.projectId() + "/gallery/" + image.index() + "?w=" + width)).build();
+                        long start = System.nanoTime();
+                        try {
+                            HttpResponse<InputStream> response = http.send(request, HttpResponse.BodyHandlers.ofInputStream());
+                            try (InputStream body = response.body()) {
+                                bytes.add(body.transferTo(OutputStreamSink.INSTANCE));
+                            }
+                            if (response.statusCode() == 200) {
+                                ok.increment();
+                                samples[n++ & (samples.length - 1)] = System.nanoTime() - start;
+                            } else if (response.statusCode() == 503) {
+                                rejected.increment();
+                            } else {
+                                failed.increment();
+                            }
+                        } catch (IOException e) {
+                            failed.increment();
+                        }
+                    }
+                    return null;
+                });
+            }
+        }
+
+        long[] all = latencies.stream().flatMapToLong(Arrays::stream).filter(l -> l > 0).sorted().toArray();
+        System.out.printf("requests/s: %.1f%n", ok.sum() / (double) seconds);
+        System.out.printf("MB/s:       %.1f%n", bytes.sum() / (double) seconds / (1 << 20));
+        System.out.printf("p50 ms:     %.1f%n", percentile(all, 0.50));
+        System.out.printf("p99 ms:     %.1f%n", percentile(all, 0.99));
+        System.out.printf("503s: %d, errors: %d%n", rejected.sum(), failed.sum());
+    }
+
+    private static List<Image> discover(HttpClient http, String baseUrl) throws IOException, InterruptedException {
+        List<Image> images = new ArrayList<>();
+        for (JsonNode project : get(http, baseUrl + "/api/projects?page=0&size=100").path("content")) {
+            long id = project.path("id").asLong();
+            int count = get(http, baseUrl + "/api/projects/" + id + "/gallery-paths").size();
+            for (int index = 0; index < count; index++) {
+                images.add(new Image(id, index));
+            }
+        }
+        return images;
+    }
+
+    private static JsonNode get(HttpClient http, String url) throws IOException, InterruptedException {
+        HttpResponse<byte[]> response = http.send(HttpRequest.newBuilder(URI.create(url)).build(),
+                HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() != 200) {
+            throw new IOException("GET " + url + " returned " + response.statusCode());
+        }
+        return MAPPER.readTree(response.body());
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        return sorted[(int) Math.min(sorted.length - 1, Math.round(p * (sorted.length - 1)))] / 1_000_000.0;
+    }
+
+    // Discards response bodies while still reading them off the wire
+    private static final class OutputStreamSink extends java.io.OutputStream {
+
+        static final OutputStreamSink INSTANCE = new OutputStreamSink();
+
+        @Override
+        public void write(int b) {
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.exo.benchmarks;
+
+import com.exo.config.JwtAuthenticationFilter;
+import com.exo.dto.AuthPrincipal;
+import com.exo.model.Role;
+import com.exo.service.AuthPrincipalService;
+import com.exo.service.JwtService;
+import jakarta.servlet.ServletException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end cost of {@link JwtAuthenticationFilter} per request: token
+ * extraction, verification, principal resolution and security context setup.
+ * The user lookup is a stub, so {@code adminTokenUncached} measures
+ * everything except the database round-trip itself.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtAuthenticationFilterBenchmark {
+
+    private JwtAuthenticationFilter cachedFilter;
+
+    private JwtAuthenticationFilter uncachedFilter;
+
+    private String userToken;
+
+    private String adminToken;
+
+    @Setup
+    public void setUp() {
+        JwtService jwtService = new JwtService(Fixtures.SECRET, Fixtures.ONE_HOUR, Fixtures.ONE_HOUR, 1024);
+        JwtService uncachedJwtService = new JwtService(Fixtures.SECRET, Fixtures.ONE_HOUR, Fixtures.ONE_HOUR, 0);
+
+        cachedFilter = new JwtAuthenticationFilter(principalService(jwtService, 30));
+        uncachedFilter = new JwtAuthenticationFilter(principalService(uncachedJwtService, 0));
+
+        userToken = jwtService.generateAccessToken(new AuthPrincipal("visitor", null, Role.USER));
+        adminToken = jwtService.generateAccessToken(new AuthPrincipal("etheko", null, Role.ADMIN));
+    }
+
+    @Benchmark
+    public Object noToken() throws ServletException, IOException {
+        return run(cachedFilter, null);
+    }
+
+    @Benchmark
+    public Object userTokenCached() throws ServletException, IOException {
+        return run(cachedFilter, userToken);
+    }
+
+    @Benchmark
+    public Object adminTokenCached() throws ServletException, IOException {
+        return run(cachedFilter, adminToken);
+    }
+
+    @Benchmark
+    public Object adminTokenUncached() throws ServletException, IOException {
+        return run(uncachedFilter, adminToken);
+    }
+
+    private Object run(JwtAuthenticationFilter filter, String token) throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/projects/1");
+        if (token != null) {
+            request.addHeader("Authorization", "Bearer " + token);
+        }
+        try {
+            filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+            return SecurityContextHolder.getContext().getAuthentication();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    private static AuthPrincipalService principalService(JwtService jwtService, long ttlSeconds) {
+        AuthPrincipalService service = new AuthPrincipalService(ttlSeconds, 10_000);
+        Fixtures.inject(service, "jwtService", jwtService);
+        Fixtures.inject(service, "userRepository", Fixtures.userRepository("etheko", Role.ADMIN));
+        return service;
+    }
+}
@@ -0,0 +1,92 @@
+package com.exo.benchmarks;
+
+import com.exo.dto.AuthPrincipal;
+import com.exo.model.Role;
+import com.exo.service.JwtService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.crypto.SecretKey;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request cost of issuing and verifying access tokens.
+ * <ul>
+ *   <li>{@code issueAccessToken}: signing a new token at login.</li>
+ *   <li>{@code legacy}: the previous JwtService flow, which decoded the key
+ *   and built a parser on every call and parsed the token three times
+ *   (extractUsername, then isTokenValid's username and expiry checks).</li>
+ *   <li>{@code verifyUncached}: one parse with the prebuilt key and parser.</li>
+ *   <li>{@code verifyCached}: a token already seen by the verified-token cache.</li>
+ * </ul>
+ * Run with {@code java -jar benchmarks/target/benchmarks.jar JwtServiceBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtServiceBenchmark {
+
+    private JwtService uncached;
+
+    private JwtService cached;
+
+    private String token;
+
+    private AuthPrincipal principal;
+
+    @Setup
+    public void setUp() {
+        uncached = new JwtService(Fixtures.SECRET, Fixtures.ONE_HOUR, Fixtures.ONE_HOUR, 0);
+        cached = new JwtService(Fixtures.SECRET, Fixtures.ONE_HOUR, Fixtures.ONE_HOUR, 1024);
+        principal = new AuthPrincipal("etheko", null, Role.ADMIN);
+        token = uncached.generateAccessToken(principal);
+        cached.verify(token);
+    }
+
+    @Benchmark
+    public String issueAccessToken() {
+        return uncached.generateAccessToken(principal);
+    }
+
+    @Benchmark
+    public boolean legacy() {
+        String username = legacyClaims(token).getSubject();
+        boolean sameUser = legacyClaims(token).getSubject().equals(username);
+        return sameUser && !legacyClaims(token).getExpiration().before(new Date());
+    }
+
+    @Benchmark
+    public JwtService.VerifiedToken verifyUncached() {
+        return uncached.verify(token);
+    }
+
+    @Benchmark
+    public JwtService.VerifiedToken verifyCached() {
+        return cached.verify(token);
+    }
+
+    private static Claims legacyClaims(String token) {
+        SecretKey key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(Fixtures.SECRET.trim()));
+        return Jwts.parser()
+                .verifyWith(key)
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+    }
+}
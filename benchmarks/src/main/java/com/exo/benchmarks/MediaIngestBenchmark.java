@@ -0,0 +1,85 @@
+package com.exo.benchmarks;
+
+import com.exo.service.LocalFileSystemMediaStorage;
+import com.exo.service.MediaService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.util.FileSystemUtils;
+
+import javax.sql.rowset.serial.SerialBlob;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Blob;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ingesting a bundled image. {@code legacyLocalImageToBlob} is what the
+ * entities' former {@code localImageToBlob} helpers did (read the whole file,
+ * wrap it in a {@code SerialBlob}); {@code store} is the content-addressed
+ * path that replaced them (stream, SHA-256, sniff type, deduplicate).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MediaIngestBenchmark {
+
+    private static final String ASSET = "/static/assets/defaultProjectHeader.png";
+
+    private Path root;
+
+    private MediaService mediaService;
+
+    private byte[] asset;
+
+    @Setup
+    public void setUp() throws IOException {
+        try (InputStream in = MediaService.class.getResourceAsStream(ASSET)) {
+            if (in == null) {
+                throw new IOException("Missing benchmark asset " + ASSET);
+            }
+            asset = in.readAllBytes();
+        }
+
+        root = Files.createTempDirectory("exo-media-bench-");
+        LocalFileSystemMediaStorage storage = new LocalFileSystemMediaStorage();
+        Fixtures.inject(storage, "rootPath", root.toString());
+        storage.init();
+
+        mediaService = new MediaService();
+        Fixtures.inject(mediaService, "mediaStorage", storage);
+        Fixtures.inject(mediaService, "mediaObjectRepository", Fixtures.mediaObjectRepository());
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        FileSystemUtils.deleteRecursively(root);
+    }
+
+    @Benchmark
+    public Blob legacyLocalImageToBlob() throws IOException, SQLException {
+        try (InputStream in = MediaService.class.getResourceAsStream(ASSET)) {
+            return new SerialBlob(in.readAllBytes());
+        }
+    }
+
+    @Benchmark
+    public String store() throws IOException {
+        return mediaService.store(new ByteArrayInputStream(asset), "defaultProjectHeader.png");
+    }
+}
@@ -0,0 +1,60 @@
+package com.exo.benchmarks;
+
+import com.exo.service.PostService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code PostService.calculateReadingMinutes}, run on every post create and
+ * update. The method is private; a method handle calls it without reflection
+ * overhead in the measured path.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PostReadingTimeBenchmark {
+
+    @Param({"200", "2000"})
+    private int words;
+
+    private MethodHandle calculateReadingMinutes;
+
+    private PostService postService;
+
+    private String content;
+
+    @Setup
+    public void setUp() throws ReflectiveOperationException {
+        postService = new PostService();
+        calculateReadingMinutes = MethodHandles.privateLookupIn(PostService.class, MethodHandles.lookup())
+                .findVirtual(PostService.class, "calculateReadingMinutes", MethodType.methodType(int.class, String.class));
+
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            text.append(i % 12 == 11 ? "sentence.\n\n" : "word ");
+        }
+        content = text.toString();
+    }
+
+    @Benchmark
+    public int calculateReadingMinutes() throws Throwable {
+        return (int) calculateReadingMinutes.invokeExact(postService, content);
+    }
+}
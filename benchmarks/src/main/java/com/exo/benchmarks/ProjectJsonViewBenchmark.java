@@ -0,0 +1,87 @@
+package com.exo.benchmarks;
+
+import com.exo.model.Project;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of a {@link Project} under each {@code @JsonView},
+ * using an ObjectMapper configured like Spring Boot's (views exclude
+ * unannotated properties).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProjectJsonViewBenchmark {
+
+    private Project project;
+
+    private ObjectWriter basicInfo;
+
+    private ObjectWriter galleryInfo;
+
+    private ObjectWriter socialInfo;
+
+    private ObjectWriter noView;
+
+    @Setup
+    public void setUp() {
+        List<String> gallery = new ArrayList<>();
+        for (int i = 0; i < 11; i++) {
+            gallery.add("/api/projects/1/gallery/" + i + "?v=0123456789ab");
+        }
+        project = new Project("Bookmarks Forums",
+                "A forum for sharing and discussing bookmarks, with tagging, search and moderation tools. ".repeat(6),
+                true, "/assets/projects/bookmarks-forums/header.png",
+                new ArrayList<>(List.of("Java", "Spring Boot", "React", "TypeScript", "MySQL", "Docker")),
+                "https://demo.example.com", "https://example.com",
+                "@etheko", "etheko", "etheko", "@etheko", "etheko@mastodon.social", "etheko.bsky.social", "@etheko",
+                "/assets/projects/bookmarks-forums/icon.png", gallery);
+        project.setId(1L);
+
+        ObjectMapper mapper = Jackson2ObjectMapperBuilder.json().build();
+        basicInfo = mapper.writerWithView(Project.BasicInfo.class);
+        galleryInfo = mapper.writerWithView(Project.GalleryInfo.class);
+        socialInfo = mapper.writerWithView(Project.SocialInfo.class);
+        noView = mapper.writer();
+    }
+
+    @Benchmark
+    public byte[] basicInfo() throws JsonProcessingException {
+        return basicInfo.writeValueAsBytes(project);
+    }
+
+    @Benchmark
+    public byte[] galleryInfo() throws JsonProcessingException {
+        return galleryInfo.writeValueAsBytes(project);
+    }
+
+    @Benchmark
+    public byte[] socialInfo() throws JsonProcessingException {
+        return socialInfo.writeValueAsBytes(project);
+    }
+
+    @Benchmark
+    public byte[] noView() throws JsonProcessingException {
+        return noView.writeValueAsBytes(project);
+    }
+}
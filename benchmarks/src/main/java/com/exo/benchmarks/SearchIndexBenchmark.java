@@ -0,0 +1,79 @@
+package com.exo.benchmarks;
+
+import com.exo.dto.SearchDocument;
+import com.exo.dto.SearchHit;
+import com.exo.service.SearchIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link SearchIndex} queries over a synthetic corpus of {@code documents}
+ * entries drawn from a fixed vocabulary: an exact single-word query, a short
+ * prefix that expands to many terms, and a three-word query.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SearchIndexBenchmark {
+
+    private static final String[] VOCABULARY = {
+            "java", "javascript", "spring", "react", "kubernetes", "docker", "postgres", "mysql",
+            "security", "portfolio", "design", "diseño", "backend", "frontend", "cache", "index",
+            "search", "render", "stream", "media", "image", "variant", "token", "cluster"
+    };
+
+    @Param({"1000", "10000"})
+    private int documents;
+
+    private SearchIndex index;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        index = new SearchIndex();
+        for (long id = 0; id < documents; id++) {
+            index.put(new SearchDocument("post", id, "Post " + id, null, List.of(
+                    new SearchDocument.Field(words(random, 4), 3f),
+                    new SearchDocument.Field(words(random, 200), 1f))));
+        }
+    }
+
+    @Benchmark
+    public List<SearchHit> exactWord() {
+        return index.search("kubernetes", null, 20);
+    }
+
+    @Benchmark
+    public List<SearchHit> shortPrefix() {
+        return index.search("ja", null, 20);
+    }
+
+    @Benchmark
+    public List<SearchHit> threeWords() {
+        return index.search("spring security cache", null, 20);
+    }
+
+    private static String words(Random random, int count) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            text.append(VOCABULARY[random.nextInt(VOCABULARY.length)]).append(' ');
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,92 @@
+package com.exo.benchmarks;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time from process launch to the first successful response, for comparing
+ * backend launch configurations. Each run starts the given command, polls
+ * {@code url} until it answers 200, then stops the process:
+ * <pre>
+ * cd backend/target
+ * java -cp ../../benchmarks/target/benchmarks.jar com.exo.benchmarks.StartupTimeTest \
+ *     http://localhost:8080/api/portfolio 5 -- java -jar app.jar
+ * java -cp ../../benchmarks/target/benchmarks.jar com.exo.benchmarks.StartupTimeTest \
+ *     http://localhost:8080/api/portfolio 5 -- java -XX:SharedArchiveFile=app.jsa -Dspring.aot.enabled=true -jar app.jar
+ * </pre>
+ * {@code app.jar} and {@code app.jsa} come from {@code mvn -Pstartup package}
+ * and the training run in the Dockerfile. The database must be reachable and
+ * already seeded, so every run measures the same work.
+ */
+public final class StartupTimeTest {
+
+    private static final Duration POLL_INTERVAL = Duration.ofMillis(50);
+
+    private static final Duration TIMEOUT = Duration.ofMinutes(3);
+
+    private StartupTimeTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int separator = Arrays.asList(args).indexOf("--");
+        if (separator < 2 || separator == args.length - 1) {
+            System.err.println("Usage: StartupTimeTest <url> <runs> -- <command...>");
+            System.exit(2);
+        }
+        URI url = URI.create(args[0]);
+        int runs = Integer.parseInt(args[1]);
+        List<String> command = List.of(Arrays.copyOfRange(args, separator + 1, args.length));
+
+        HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+        List<Long> times = new ArrayList<>();
+        for (int run = 1; run <= runs; run++) {
+            long millis = measure(http, url, command);
+            times.add(millis);
+            System.out.printf("run %d: %d ms%n", run, millis);
+        }
+
+        long[] sorted = times.stream().mapToLong(Long::longValue).sorted().toArray();
+        System.out.printf("time to first request: min %d ms, median %d ms, max %d ms%n",
+                sorted[0], sorted[sorted.length / 2], sorted[sorted.length - 1]);
+    }
+
+    private static long measure(HttpClient http, URI url, List<String> command) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(url).timeout(Duration.ofSeconds(10)).build();
+        long started = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.appendTo(Path.of("startup-time.log").toFile()))
+                .start();
+        try {
+            while (System.nanoTime() - started < TIMEOUT.toNanos()) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException("Process exited with " + process.exitValue() + "; see startup-time.log");
+                }
+                try {
+                    HttpResponse<Void> response = http.send(request, HttpResponse.BodyHandlers.discarding());
+                    if (response.statusCode() == 200) {
+                        return (System.nanoTime() - started) / 1_000_000;
+                    }
+                } catch (IOException e) {
+                    // Not listening yet
+                }
+                Thread.sleep(POLL_INTERVAL.toMillis());
+            }
+            throw new IllegalStateException("No 200 from " + url + " within " + TIMEOUT.toSeconds() + " s");
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+        }
+    }
+}
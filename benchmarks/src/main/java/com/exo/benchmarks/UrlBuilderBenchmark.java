@@ -0,0 +1,49 @@
+package com.exo.benchmarks;
+
+import com.exo.model.Project;
+import com.exo.model.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The social URL builders on {@link Project} and {@link User}, exercised
+ * through the constructors that call them with a mix of bare handles,
+ * {@code @handles} and full URLs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UrlBuilderBenchmark {
+
+    private final List<String> technologies = List.of("Java", "React");
+
+    @Benchmark
+    public Project project() {
+        return new Project("EXO", "Portfolio", true, null, technologies, null, null,
+                "@etheko", "https://instagram.com/etheko", "etheko", "@etheko",
+                "etheko@mastodon.social", "etheko.bsky.social", "@etheko", null, null);
+    }
+
+    @Benchmark
+    public User user() {
+        return new User("etheko", "secret", "Etheko", "etheko@example.com", null,
+                "Real", "First", "Second", LocalDate.of(2000, 1, 1),
+                "@etheko", "etheko", "https://facebook.com/etheko", "https://twitter.com/etheko",
+                "etheko@mastodon.social", "@etheko.bsky.social", "etheko", "Real First Second",
+                "Phrase", "Description");
+    }
+}
@@ -0,0 +1,34 @@
+import api from './api';
+import type { Section } from '../types/Section';
+import type { Project } from '../types/Project';
+import type { Technology } from '../types/Technology';
+import type { CV } from '../types/CV';
+
+export interface Portfolio {
+    profile: {
+        username: string;
+        nick: string;
+        realName: string;
+        firstSurname: string;
+        pfpString: string;
+        distinctivePhrase: string;
+        description: string;
+        github: string;
+        linkedIn: string;
+    } | null;
+    sections: Section[];
+    recentProjects: Project[];
+    technologiesByCategory: Record<string, Technology[]>;
+    latestCv: CV | null;
+    popularPosts: { id: number, slug: string, title: string, excerpt: string, coverImagePath: string, views: number, likes: number, readingMinutes: number, publishedAt: string, published: boolean }[];
+}
+
+class PortfolioService {
+    // Everything the landing page needs for first paint, in one request
+    async getPortfolio(): Promise<Portfolio> {
+        const response = await api.get<Portfolio>('/portfolio');
+        return response.data;
+    }
+}
+
+export default new PortfolioService();
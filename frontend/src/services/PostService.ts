@@ -188,15 +188,13 @@ class PostService {
      */
 
     // Increment post views
-    async incrementViews(id: number): Promise<Post> {
-        const response = await api.post<Post>(`/posts/${id}/view`);
-        return response.data;
+    async incrementViews(id: number): Promise<void> {
+        await api.post(`/posts/${id}/view`);
     }
 
     // Increment post likes
-    async incrementLikes(id: number): Promise<Post> {
-        const response = await api.post<Post>(`/posts/${id}/like`);
-        return response.data;
+    async incrementLikes(id: number): Promise<void> {
+        await api.post(`/posts/${id}/like`);
     }
 
     // Get most viewed posts
@@ -67,9 +67,9 @@ class ProjectService {
         return response.data;
     }
 
-    async findByTechnologies(technologies: string[], page = 0, size = 10): Promise<{ content: Project[], totalElements: number, totalPages: number }> {
+    async findByTechnologies(technologies: string[], page = 0, size = 10, match: 'any' | 'all' = 'any'): Promise<{ content: Project[], totalElements: number, totalPages: number }> {
         const response = await api.get('/projects/by-technologies', {
-            params: { technologies, page, size }
+            params: { technologies, match, page, size }
         });
         return response.data;
     }
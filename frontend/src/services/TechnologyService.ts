@@ -48,6 +48,14 @@ class TechnologyService {
         return response.data;
     }
 
+    // Typeahead suggestions served from the backend's in-memory index
+    async autocomplete(q: string, kind?: ('technology' | 'category' | 'tag')[], limit = 10): Promise<{ value: string, kind: string, count: number }[]> {
+        const response = await api.get('/autocomplete', {
+            params: { q, kind: kind?.join(','), limit }
+        });
+        return response.data;
+    }
+
     // Icon management
     getIconUrl(technologyId: number): string {
         return `${api.defaults.baseURL}/technologies/${technologyId}/icon`;
@@ -89,6 +97,26 @@ class TechnologyService {
         const response = await api.get<string[]>('/technologies/categories');
         return response.data;
     }
+
+    // Usage statistics
+    async getUsage(limit = 50): Promise<{ id: number, name: string, category: string | null, projects: number }[]> {
+        const response = await api.get('/technologies/statistics/usage', {
+            params: { limit }
+        });
+        return response.data;
+    }
+
+    async getCategoryBreakdown(): Promise<{ category: string, technologies: number, projects: number }[]> {
+        const response = await api.get('/technologies/statistics/categories');
+        return response.data;
+    }
+
+    async getTrend(technology?: string, months = 12): Promise<{ period: string, projects: number }[]> {
+        const response = await api.get('/technologies/statistics/trend', {
+            params: { technology, months }
+        });
+        return response.data;
+    }
 }
 
 export default new TechnologyService();